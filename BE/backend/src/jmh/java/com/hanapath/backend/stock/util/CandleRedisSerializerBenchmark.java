@@ -0,0 +1,65 @@
+package com.hanapath.backend.stock.util;
+
+import com.hanapath.backend.stock.dto.CandleDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캔들 1개 직렬화/역직렬화 비용: 바이너리 인코딩 vs 기존 JSON(GenericJackson2JsonRedisSerializer)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CandleRedisSerializerBenchmark {
+
+    private final CandleRedisSerializer binary = new CandleRedisSerializer();
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+
+    private CandleDto candle;
+    private byte[] binaryBytes;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() {
+        candle = CandleDto.builder()
+                .date("20250627")
+                .time("090100")
+                .open(71000)
+                .high(72300)
+                .low(70800)
+                .close(71500)
+                .volume(12_345_678L)
+                .ticker("005930")
+                .build();
+        binaryBytes = binary.serialize(candle);
+        jsonBytes = json.serialize(candle);
+    }
+
+    @Benchmark
+    public byte[] binarySerialize() {
+        return binary.serialize(candle);
+    }
+
+    @Benchmark
+    public CandleDto binaryDeserialize() {
+        return binary.deserialize(binaryBytes);
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize() {
+        return json.serialize(candle);
+    }
+
+    @Benchmark
+    public Object jsonDeserialize() {
+        return json.deserialize(jsonBytes);
+    }
+}
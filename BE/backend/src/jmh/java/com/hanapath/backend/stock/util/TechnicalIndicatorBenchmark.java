@@ -0,0 +1,92 @@
+package com.hanapath.backend.stock.util;
+
+import com.hanapath.backend.stock.dto.CandleSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일봉 2000개 시계열에서 보조지표 전체 재계산과 마지막 캔들만 이어서 계산하는 비용 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TechnicalIndicatorBenchmark {
+
+    private static final int SIZE = 2000;
+    private static final List<String> SPECS = List.of(
+            "sma:20", "ema:12", "rsi:14", "macd:12:26:9", "bb:20:2", "vma:20", "vwap:20");
+
+    private CandleSeries series;
+    private TechnicalIndicator[] confirmed;
+    private double[][][] outputs;
+
+    @Setup
+    public void setUp() {
+        series = randomSeries(SIZE, 42);
+        confirmed = new TechnicalIndicator[SPECS.size()];
+        outputs = new double[SPECS.size()][][];
+        for (int i = 0; i < SPECS.size(); i++) {
+            confirmed[i] = TechnicalIndicator.parse(SPECS.get(i));
+            outputs[i] = new double[confirmed[i].lines().length][SIZE];
+            // 마지막 캔들 직전까지 확정 상태로 계산해 둠
+            for (int index = 0; index < SIZE - 1; index++) {
+                confirmed[i].update(series, index, outputs[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public double[][][] fullRecompute() {
+        double[][][] result = new double[SPECS.size()][][];
+        for (int i = 0; i < SPECS.size(); i++) {
+            TechnicalIndicator indicator = TechnicalIndicator.parse(SPECS.get(i));
+            result[i] = new double[indicator.lines().length][SIZE];
+            for (int index = 0; index < SIZE; index++) {
+                indicator.update(series, index, result[i]);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[][][] incrementalLastCandle() {
+        for (int i = 0; i < confirmed.length; i++) {
+            confirmed[i].copy().update(series, SIZE - 1, outputs[i]);
+        }
+        return outputs;
+    }
+
+    private static CandleSeries randomSeries(int size, long seed) {
+        Random random = new Random(seed);
+        int[] dates = new int[size];
+        int[] opens = new int[size];
+        int[] highs = new int[size];
+        int[] lows = new int[size];
+        int[] closes = new int[size];
+        long[] volumes = new long[size];
+        LocalDate date = LocalDate.of(2015, 1, 2);
+        int close = 70_000;
+        for (int i = 0; i < size; i++) {
+            dates[i] = Integer.parseInt(date.format(DateTimeFormatter.BASIC_ISO_DATE));
+            date = date.plusDays(1);
+            close = Math.max(1_000, close + (random.nextInt(41) - 20) * 100);
+            closes[i] = close;
+            opens[i] = close + (random.nextInt(21) - 10) * 100;
+            highs[i] = Math.max(opens[i], close) + random.nextInt(10) * 100;
+            lows[i] = Math.min(opens[i], close) - random.nextInt(10) * 100;
+            volumes[i] = 5_000_000L + random.nextInt(20_000_000);
+        }
+        return CandleSeries.of("005930", dates, opens, highs, lows, closes, volumes, size);
+    }
+}
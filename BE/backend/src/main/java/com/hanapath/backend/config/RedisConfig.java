@@ -1,5 +1,7 @@
 package com.hanapath.backend.config;
 
+import com.hanapath.backend.stock.dto.CandleDto;
+import com.hanapath.backend.stock.util.CandleRedisSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,6 +9,7 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.web.client.RestTemplate;
@@ -48,6 +51,28 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * 캔들 ZSET 전용 템플릿 (멤버는 바이너리 인코딩, 예전 JSON 멤버도 읽기 가능)
+     */
+    @Bean
+    public RedisTemplate<String, CandleDto> candleRedisTemplate() {
+        RedisTemplate<String, CandleDto> template = new RedisTemplate<>();
+        template.setConnectionFactory(redisConnectionFactory());
+
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new CandleRedisSerializer());
+
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        return container;
+    }
+
     @Bean
     public RestTemplate gptRestTemplate() {
         return new RestTemplate();
@@ -0,0 +1,74 @@
+package com.hanapath.backend.config;
+
+import com.hanapath.backend.users.util.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+/**
+ * STOMP 연결 인증
+ * - CONNECT 프레임의 Authorization 헤더(Bearer JWT)로 세션 사용자 설정 (사용자 이름은 사용자 ID)
+ * - 토큰 없는 연결은 공개 시세 토픽(/topic/**)만 구독 가능
+ * - 사용자별 큐는 /user/queue/**로만 구독 가능하고 인증된 세션만 허용 (/queue/** 직접 구독 차단)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtUtil jwtUtil;
+    private final UserDetailsService userDetailsService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            authenticate(accessor);
+        } else if (accessor.getCommand() == StompCommand.SUBSCRIBE) {
+            String destination = accessor.getDestination();
+            if (destination == null) {
+                return message;
+            }
+            if (destination.startsWith("/queue/")) {
+                throw new AccessDeniedException("사용자 큐는 /user/queue로만 구독할 수 있습니다.");
+            }
+            if (destination.startsWith("/user/") && accessor.getUser() == null) {
+                throw new AccessDeniedException("인증이 필요한 구독입니다: " + destination);
+            }
+        }
+        return message;
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return;
+        }
+        try {
+            String jwt = authHeader.substring(7);
+            if (!jwtUtil.validateToken(jwt)) {
+                log.warn("STOMP 연결 토큰이 유효하지 않음 - 세션: {}", accessor.getSessionId());
+                return;
+            }
+            UserDetails userDetails = userDetailsService.loadUserByUsername(jwtUtil.extractEmail(jwt));
+            accessor.setUser(new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities()));
+        } catch (Exception e) {
+            log.warn("STOMP 연결 인증 실패 - 세션: {}, {}", accessor.getSessionId(), e.getMessage());
+        }
+    }
+}
@@ -36,6 +36,7 @@ public class WebSecurityConfig {
                         .requestMatchers("/api/store/purchase/**").authenticated()
                         .requestMatchers("/api/store/purchase-history/**").authenticated() 
                         .requestMatchers("/api/store/gifticons/**").authenticated()
+                        .requestMatchers("/api/stock/alerts/**").authenticated()
                         .requestMatchers("/api/stock/**").permitAll() 
                         .requestMatchers("/api/investment/performance/**").authenticated() 
                         .requestMatchers("/api/investment/**").authenticated() 
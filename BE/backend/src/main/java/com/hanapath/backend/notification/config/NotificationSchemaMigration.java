@@ -0,0 +1,81 @@
+package com.hanapath.backend.notification.config;
+
+import com.hanapath.backend.notification.entity.Notification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * notifications 테이블의 ENUM 컬럼 확장
+ * - Hibernate는 @Enumerated(STRING)를 MySQL ENUM 컬럼으로 만들지만 ddl-auto: update는 기존 ENUM에 값을 추가하지 않음
+ *   → 새 알림 타입/카테고리(PRICE_ALERT, STOCK 등)를 저장하면 실패하므로 시작 시 누락된 값이 있으면 ALTER TABLE 실행
+ * - 컬럼이 ENUM이 아니거나(VARCHAR 등) 모든 값이 이미 있으면 아무것도 하지 않음
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationSchemaMigration implements CommandLineRunner {
+
+    private static final String TABLE = "notifications";
+    private static final Pattern ENUM_VALUE = Pattern.compile("'([^']*)'");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        widenEnumColumn("type", Notification.NotificationType.values());
+        widenEnumColumn("category", Notification.NotificationCategory.values());
+    }
+
+    private void widenEnumColumn(String column, Enum<?>[] values) {
+        try {
+            List<String> columnTypes = jdbcTemplate.queryForList(
+                    "SELECT COLUMN_TYPE FROM information_schema.COLUMNS " +
+                            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?",
+                    String.class, TABLE, column);
+            if (columnTypes.isEmpty()) {
+                return;
+            }
+            String columnType = columnTypes.get(0);
+            if (!columnType.toLowerCase().startsWith("enum(")) {
+                return;
+            }
+            List<String> missing = Arrays.stream(values)
+                    .map(Enum::name)
+                    .filter(name -> !columnType.contains("'" + name + "'"))
+                    .collect(Collectors.toList());
+            if (missing.isEmpty()) {
+                return;
+            }
+
+            // 기존 값은 순서 그대로 두고 누락된 값만 뒤에 추가 (저장된 행의 값이 사라지지 않도록)
+            Set<String> merged = new LinkedHashSet<>();
+            Matcher matcher = ENUM_VALUE.matcher(columnType);
+            while (matcher.find()) {
+                merged.add(matcher.group(1));
+            }
+            merged.addAll(missing);
+            String enumValues = merged.stream()
+                    .map(value -> "'" + value + "'")
+                    .collect(Collectors.joining(","));
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " MODIFY COLUMN " + column +
+                    " ENUM(" + enumValues + ") NOT NULL");
+            log.info("{}.{} ENUM 값 추가: {}", TABLE, column, missing);
+        } catch (Exception e) {
+            log.error("{}.{} ENUM 컬럼 확장 실패", TABLE, column, e);
+        }
+    }
+}
@@ -54,6 +54,7 @@ public class Notification {
         GIFT_RECEIVED,          // 기프티콘 수령
         SAVINGS_GOAL,           // 저축 목표 달성
         ALLOWANCE_RECEIVED,     // 용돈 수령
+        PRICE_ALERT,            // 주식 가격 알림
         OTHER                   // 기타
     }
 
@@ -61,6 +62,7 @@ public class Notification {
         RELATIONSHIP,   // 관계
         GIFT,          // 기프티콘
         SAVINGS,       // 저축/용돈
+        STOCK,         // 주식
         OTHER          // 기타
     }
 }
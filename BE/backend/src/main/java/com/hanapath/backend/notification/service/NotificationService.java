@@ -126,6 +126,52 @@ public class NotificationService {
         createNotification(createDto);
     }
 
+    /**
+     * 알림 일괄 생성 (요청 순서대로 결과 반환)
+     * - 사용자는 조회하지 않고 참조만 걸어 한 트랜잭션에서 saveAll
+     */
+    @Transactional
+    public List<NotificationDto.ResponseDto> createNotifications(List<NotificationDto.CreateDto> createDtos) {
+        List<Notification> notifications = createDtos.stream()
+                .map(createDto -> Notification.builder()
+                        .user(userRepository.getReferenceById(createDto.getUserId()))
+                        .title(createDto.getTitle())
+                        .description(createDto.getDescription())
+                        .type(createDto.getType())
+                        .category(createDto.getCategory())
+                        .relatedData(createDto.getRelatedData())
+                        .isRead(false)
+                        .build())
+                .collect(Collectors.toList());
+
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        log.info("알림 일괄 생성 완료 - {}건", saved.size());
+        return saved.stream()
+                .map(NotificationDto.ResponseDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 주식 가격 알림 내용 (저장은 createNotifications로)
+     */
+    public NotificationDto.CreateDto priceAlertNotification(Long userId, Long alertId, String ticker, String stockName,
+                                                            boolean above, int targetPrice, int price) {
+        String title = String.format("%s 가격 알림", stockName);
+        String description = String.format("%s(%s)이 목표가 %,d원 %s에 도달했습니다.\n체결가 %,d원",
+                stockName, ticker, targetPrice, above ? "이상" : "이하", price);
+
+        String relatedData = String.format("{\"alertId\": %d, \"ticker\": \"%s\"}", alertId, ticker);
+
+        return NotificationDto.CreateDto.builder()
+                .userId(userId)
+                .title(title)
+                .description(description)
+                .type(Notification.NotificationType.PRICE_ALERT)
+                .category(Notification.NotificationCategory.STOCK)
+                .relatedData(relatedData)
+                .build();
+    }
+
     /**
      * 사용자별 알림 조회
      */
@@ -21,14 +21,21 @@ public class DataImportController {
     private String csvFilePath;
     
     @PostMapping("/import-csv")
-    public ResponseEntity<Map<String, String>> importCsvData() {
+    public ResponseEntity<Map<String, Object>> importCsvData() {
         try {
             log.info("CSV 데이터 임포트 시작");
             csvDataImportService.importHistoricalDataFromCsv();
             
             return ResponseEntity.ok(Map.of(
                 "status", "success",
-                "message", "CSV 데이터 임포트 완료"
+                "message", "CSV 데이터 임포트 완료",
+                "result", csvDataImportService.getProgress()
+            ));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(Map.of(
+                "status", "running",
+                "message", e.getMessage(),
+                "result", csvDataImportService.getProgress()
             ));
         } catch (Exception e) {
             log.error("CSV 임포트 실패", e);
@@ -41,10 +48,12 @@ public class DataImportController {
     
     @GetMapping("/import-status")
     public ResponseEntity<Map<String, Object>> getImportStatus() {
-        // 임포트 상태 확인용 
+        // 임포트 상태 확인용 (진행 중이면 처리 건수와 초당 저장 건수 포함)
+        Map<String, Object> progress = csvDataImportService.getProgress();
         return ResponseEntity.ok(Map.of(
-            "status", "ready",
-            "csvPath", csvFilePath
+            "status", Boolean.TRUE.equals(progress.get("running")) ? "running" : "ready",
+            "csvPath", csvFilePath,
+            "progress", progress
         ));
     }
 }
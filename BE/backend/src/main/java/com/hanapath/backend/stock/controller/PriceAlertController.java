@@ -0,0 +1,66 @@
+package com.hanapath.backend.stock.controller;
+
+import com.hanapath.backend.stock.dto.PriceAlertDto;
+import com.hanapath.backend.stock.service.PriceAlertService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 가격 알림 (인증 필요, 사용자 ID는 JWT 인증 정보에서만 가져옴)
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/stock/alerts")
+@Slf4j
+public class PriceAlertController {
+
+    private final PriceAlertService priceAlertService;
+
+    /**
+     * 내 가격 알림 목록 (대기 중 + 발생한 알림)
+     */
+    @GetMapping
+    public ResponseEntity<List<PriceAlertDto.Response>> getAlerts(@AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(priceAlertService.getAlerts(userIdOf(userDetails)));
+    }
+
+    /**
+     * 가격 알림 등록 (발생 시 알림 목록과 /user/queue/alerts로 전달)
+     */
+    @PostMapping
+    public ResponseEntity<?> createAlert(@AuthenticationPrincipal UserDetails userDetails,
+                                         @RequestBody PriceAlertDto.CreateRequest request) {
+        Long userId = userIdOf(userDetails);
+        try {
+            return ResponseEntity.ok(priceAlertService.createAlert(userId, request));
+        } catch (IllegalArgumentException e) {
+            log.warn("가격 알림 등록 실패 - 사용자: {}, {}", userId, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 가격 알림 삭제 (본인 알림만)
+     */
+    @DeleteMapping("/{alertId}")
+    public ResponseEntity<Map<String, String>> deleteAlert(@AuthenticationPrincipal UserDetails userDetails,
+                                                           @PathVariable Long alertId) {
+        try {
+            priceAlertService.deleteAlert(userIdOf(userDetails), alertId);
+            return ResponseEntity.ok(Map.of("message", "가격 알림을 삭제했습니다."));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static Long userIdOf(UserDetails userDetails) {
+        return Long.parseLong(userDetails.getUsername());
+    }
+}
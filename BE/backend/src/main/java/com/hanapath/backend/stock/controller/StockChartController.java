@@ -1,12 +1,18 @@
 package com.hanapath.backend.stock.controller;
 
 import com.hanapath.backend.stock.dto.CandleDto;
+import com.hanapath.backend.stock.dto.StockBatchItemDto;
+import com.hanapath.backend.stock.dto.IndicatorSeriesDto;
 import com.hanapath.backend.stock.dto.StockInfoDto;
 import com.hanapath.backend.stock.entity.StockTick;
-import com.hanapath.backend.stock.repository.StockTickRepository;
+import com.hanapath.backend.stock.service.HistoricalDataRefreshService;
+import com.hanapath.backend.stock.service.IndicatorService;
+import com.hanapath.backend.stock.service.IntradayBarAggregator;
 import com.hanapath.backend.stock.service.StockChartService;
 import com.hanapath.backend.stock.service.StockDataInitializationService;
 import com.hanapath.backend.stock.service.StockHistoricalDataService;
+import com.hanapath.backend.stock.service.StockInfoService;
+import com.hanapath.backend.stock.service.StockTickStoreService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -15,8 +21,13 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @RestController
 @RequiredArgsConstructor
@@ -24,19 +35,99 @@ import java.util.Map;
 @RequestMapping("/api/stock/chart")
 public class StockChartController {
 
-    private final StockTickRepository stockTickRepository;
+    private static final int MAX_TICK_POINTS = 10_000;
+    private static final int MAX_BATCH_TICKERS = 50;
+
+    private final StockTickStoreService tickStoreService;
+    private final IntradayBarAggregator barAggregator;
     private final StockChartService stockChartService;
     private final StockHistoricalDataService historicalDataService;
     private final StockDataInitializationService initializationService;
+    private final HistoricalDataRefreshService refreshService;
+    private final StockInfoService stockInfoService;
+    private final IndicatorService indicatorService;
+
+    /**
+     * 여러 종목의 일봉과 종목 정보를 한 번에 조회 (관심종목/보유종목 화면용)
+     * - tickers: 쉼표로 구분, 중복 제거 후 최대 50개
+     * - include: daily, info 중 필요한 것만 (기본 둘 다)
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<List<StockBatchItemDto>> getBatch(@RequestParam List<String> tickers,
+                                                            @RequestParam(defaultValue = "30") int period,
+                                                            @RequestParam(defaultValue = "daily,info") List<String> include) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String ticker : tickers) {
+            String normalized = ticker.trim().toUpperCase();
+            if (normalized.matches("[0-9][0-9A-Z]{5}")) {
+                unique.add(normalized);
+            }
+        }
+        if (unique.isEmpty() || unique.size() > MAX_BATCH_TICKERS) {
+            log.warn("일괄 조회 종목 수 오류: {}개", unique.size());
+            return ResponseEntity.badRequest().build();
+        }
+
+        int maxPeriod = Math.min(Math.max(period, 1), 2000);
+        // 두 조회를 모두 시작한 뒤 기다림 → 최악의 대기 시간이 합이 아니라 둘 중 큰 값
+        Supplier<Map<String, List<CandleDto>>> dailyRequest = include.contains("daily")
+                ? stockChartService.requestDailyCharts(unique, maxPeriod)
+                : Map::of;
+        Supplier<Map<String, StockInfoDto>> infoRequest = include.contains("info")
+                ? stockChartService.requestStockInfos(unique)
+                : Map::of;
+        Map<String, List<CandleDto>> daily = dailyRequest.get();
+        Map<String, StockInfoDto> infos = infoRequest.get();
+
+        List<StockBatchItemDto> items = new ArrayList<>(unique.size());
+        for (String ticker : unique) {
+            items.add(StockBatchItemDto.builder()
+                    .ticker(ticker)
+                    .daily(daily.get(ticker))
+                    .info(infos.get(ticker))
+                    .build());
+        }
+        return ResponseEntity.ok(items);
+    }
 
     /**
-     * 종목의 실시간 체결 데이터를 특정 시간 범위로 조회 
+     * 종목의 실시간 체결 데이터를 특정 시간 범위로 조회
+     * - 기본으로 다운샘플링됨: 체결이 maxPoints건(기본 2000)보다 많으면 가격 선 모양을 유지하도록 LTTB로 줄임
+     *   (예전처럼 범위 안 체결 전체가 필요하면 maxPoints를 최대 10000까지 지정, 그 이상은 ticks/candles 사용)
+     * - 호가 10단 배열은 depth=true일 때만 포함
      */
     @GetMapping("/{ticker}")
     public List<StockTick> getChartData(@PathVariable String ticker,
                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
-                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
-        return stockTickRepository.findByTickerAndTimestampBetween(ticker, start, end);
+                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                        @RequestParam(defaultValue = "2000") int maxPoints,
+                                        @RequestParam(defaultValue = "false") boolean depth) {
+        int points = Math.min(Math.max(maxPoints, 3), MAX_TICK_POINTS);
+        return tickStoreService.getTicks(ticker, start, end, points, depth);
+    }
+
+    /**
+     * 체결 범위를 최대 maxPoints개 봉으로 묶어 조회 (구간 폭 = 기간 / maxPoints, 최소 1초)
+     */
+    @GetMapping("/{ticker}/ticks/candles")
+    public List<CandleDto> getTickCandles(@PathVariable String ticker,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                          @RequestParam(defaultValue = "300") int maxPoints) {
+        int points = Math.min(Math.max(maxPoints, 1), MAX_TICK_POINTS);
+        return tickStoreService.getTickCandles(ticker, start, end, points);
+    }
+
+    /**
+     * 실시간 체결로 만든 분봉 조회 (interval: 1, 5, 15분 / 진행 중인 봉 포함)
+     */
+    @GetMapping("/{ticker}/intraday")
+    public List<CandleDto> getIntradayChart(@PathVariable String ticker,
+                                            @RequestParam(defaultValue = "1") int interval,
+                                            @RequestParam(defaultValue = "120") int count) {
+        boolean supported = Arrays.stream(IntradayBarAggregator.INTERVALS).anyMatch(i -> i == interval);
+        int maxCount = Math.min(Math.max(count, 1), 1000);
+        return barAggregator.getBars(ticker, supported ? interval : 1, maxCount);
     }
 
     /**
@@ -49,6 +140,22 @@ public class StockChartController {
         return stockChartService.getDailyChart(ticker, maxPeriod);
     }
 
+    /**
+     * 일봉 보조지표 조회 (types 예: sma:20,ema:12,rsi:14,macd:12:26:9,bb:20:2,vma:20,vwap:20)
+     */
+    @GetMapping("/{ticker}/indicators")
+    public ResponseEntity<IndicatorSeriesDto> getIndicators(@PathVariable String ticker,
+                                                            @RequestParam(defaultValue = "sma:20") List<String> types,
+                                                            @RequestParam(defaultValue = "120") int count) {
+        int maxCount = Math.min(Math.max(count, 1), 2000);
+        try {
+            return ResponseEntity.ok(indicatorService.getIndicators(ticker, types, maxCount));
+        } catch (IllegalArgumentException e) {
+            log.warn("보조지표 요청 형식 오류: {} - {}", types, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * 종목의 기본 정보 (현재가, 시가총액 등)를 조회
      */
@@ -64,7 +171,9 @@ public class StockChartController {
      */
     @GetMapping("/cache/stats")
     public ResponseEntity<Map<String, Object>> getCacheStats() {
-        Map<String, Object> stats = historicalDataService.getCacheStats();
+        Map<String, Object> stats = new HashMap<>(historicalDataService.getCacheStats());
+        stats.put("stockInfoCache", stockInfoService.getStats());
+        stats.put("kisFetch", stockChartService.getFetchStats());
         return ResponseEntity.ok(stats);
     }
 
@@ -77,6 +186,13 @@ public class StockChartController {
         return ResponseEntity.ok(status);
     }
 
+    /**
+     * 마지막 일봉 정기 갱신 결과 (갱신/보충 건수, 소요 시간)
+     */
+    @GetMapping("/cache/refresh-status")
+    public ResponseEntity<Map<String, Object>> getRefreshStatus() {
+        return ResponseEntity.ok(refreshService.getLastResult());
+    }
 
     /**
      * 특정 종목 캐시 존재 여부 확인
@@ -206,4 +322,26 @@ public class StockChartController {
         }
         return stockChartService.getWeeklyChart(ticker, weeks);
     }
-}
\ No newline at end of file
+
+    // ----------- 월봉/연봉 차트 API (일봉으로 생성) -----------
+
+    /**
+     * 종목의 월봉 차트 조회
+     */
+    @GetMapping("/{ticker}/monthly")
+    public List<CandleDto> getMonthlyChart(@PathVariable String ticker,
+                                           @RequestParam(defaultValue = "12") int period) {
+        int maxPeriod = Math.min(period, 64);
+        return stockChartService.getMonthlyChart(ticker, maxPeriod);
+    }
+
+    /**
+     * 종목의 연봉 차트 조회
+     */
+    @GetMapping("/{ticker}/yearly")
+    public List<CandleDto> getYearlyChart(@PathVariable String ticker,
+                                          @RequestParam(defaultValue = "5") int period) {
+        int maxPeriod = Math.min(period, 5);
+        return stockChartService.getYearlyChart(ticker, maxPeriod);
+    }
+}
@@ -0,0 +1,32 @@
+package com.hanapath.backend.stock.controller;
+
+import com.hanapath.backend.stock.dto.StockRankingDto;
+import com.hanapath.backend.stock.service.StockRankingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/stock/rankings")
+@Slf4j
+public class StockRankingController {
+
+    private final StockRankingService rankingService;
+
+    /**
+     * 실시간 종목 순위 스냅샷 (metric: gainers, losers, volume, value)
+     * - 이후 변경분은 /topic/stock/rankings/{metric} 구독으로 수신
+     */
+    @GetMapping("/{metric}")
+    public ResponseEntity<StockRankingDto> getRanking(@PathVariable String metric,
+                                                      @RequestParam(defaultValue = "30") int limit) {
+        try {
+            return ResponseEntity.ok(rankingService.getRanking(metric, limit));
+        } catch (IllegalArgumentException e) {
+            log.warn("순위 요청 형식 오류: {}", metric);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
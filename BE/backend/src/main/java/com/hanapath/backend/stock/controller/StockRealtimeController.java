@@ -1,85 +1,94 @@
 package com.hanapath.backend.stock.controller;
 
+import com.hanapath.backend.stock.dto.MarketFrameDto;
 import com.hanapath.backend.stock.dto.RealtimeStockDto;
 import com.hanapath.backend.stock.dto.StockDetailDto;
 import com.hanapath.backend.stock.dto.TradeExecutionDto;
 import com.hanapath.backend.stock.publisher.StockRealtimePublisher;
-import com.hanapath.backend.stock.service.ActiveSubscriptionService;
+import com.hanapath.backend.stock.service.MarketSnapshotService;
+import com.hanapath.backend.stock.service.PriceAlertService;
+import com.hanapath.backend.stock.service.RealtimeIngestService;
+import com.hanapath.backend.stock.service.StockRankingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/stock")
 public class StockRealtimeController {
 
+    private final RealtimeIngestService ingestService;
     private final StockRealtimePublisher publisher;
-    private final ActiveSubscriptionService subscriptionService;
+    private final MarketSnapshotService marketSnapshotService;
+    private final StockRankingService rankingService;
+    private final PriceAlertService priceAlertService;
 
     @PostMapping("/realtime/summary")
     public ResponseEntity<Void> receiveSummary(@RequestBody RealtimeStockDto dto) {
         // WebSocket으로 브로드캐스트
-        publisher.sendSummary(dto);
+        ingestService.handleSummary(dto);
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/realtime/detail")
     public ResponseEntity<Void> receiveDetail(@RequestBody StockDetailDto dto) {
-        String currentTime = java.time.LocalTime.now().toString().substring(0, 8);
-        
-        // 활성 구독자 체크
-        boolean hasSubscribers = subscriptionService.hasActiveSubscribers(dto.getTicker());
-        System.out.println(String.format("[%s] 호가 데이터 체크: %s - 활성구독자: %s", 
-            currentTime, dto.getTicker(), hasSubscribers ? "있음" : "없음"));
-        
-        if (hasSubscribers) {
-            System.out.println(String.format("[%s] 호가 데이터 브로드캐스트: %s - 현재가: %s원, 거래량: %s, 매도1호가: %s, 매수1호가: %s, 매도1잔량: %s, 매수1잔량: %s", 
-                currentTime, dto.getTicker(), 
-                dto.getPrice() != 0 ? String.format("%,d", dto.getPrice()) : "0",
-                dto.getVolume() != 0 ? String.format("%,d", dto.getVolume()) : "0",
-                !dto.getAskPrices().isEmpty() && dto.getAskPrices().get(0) != 0 ? String.format("%,d", dto.getAskPrices().get(0)) : "0",
-                !dto.getBidPrices().isEmpty() && dto.getBidPrices().get(0) != 0 ? String.format("%,d", dto.getBidPrices().get(0)) : "0",
-                !dto.getAskVolumes().isEmpty() && dto.getAskVolumes().get(0) != 0 ? String.format("%,d", dto.getAskVolumes().get(0)) : "0",
-                !dto.getBidVolumes().isEmpty() && dto.getBidVolumes().get(0) != 0 ? String.format("%,d", dto.getBidVolumes().get(0)) : "0"
-            ));
-            
-            // WebSocket으로 브로드캐스트
-            publisher.sendDetail(dto);
-        } else {
-            System.out.println(String.format("[%s] %s 호가 데이터 스킵 - 활성 구독자 없음", currentTime, dto.getTicker()));
-        }
-        
+        ingestService.handleDetail(dto);
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/realtime/execution")
     public ResponseEntity<Void> receiveExecution(@RequestBody TradeExecutionDto dto) {
-        String currentTime = java.time.LocalTime.now().toString().substring(0, 8);
-        
-        // 활성 구독자 체크
-        boolean hasSubscribers = subscriptionService.hasActiveSubscribers(dto.getTicker());
-        System.out.println(String.format("[%s] 체결 데이터 체크: %s - 활성구독자: %s", 
-            currentTime, dto.getTicker(), hasSubscribers ? "있음" : "없음"));
-        
-        if (hasSubscribers) {
-            System.out.println(String.format("[%s] 체결가 데이터 브로드캐스트: %s - 체결가: %s원, 체결량: %s주, 구분: %s, 시간: %s", 
-                currentTime, dto.getTicker(), 
-                String.format("%,d", dto.getPrice()),
-                String.format("%,d", dto.getVolume()),
-                dto.getTradeType(),
-                dto.getTime()
-            ));
-            
-            // WebSocket으로 브로드캐스트
-            publisher.sendExecution(dto);
-        } else {
-            System.out.println(String.format("[%s] %s 체결 데이터 스킵 - 활성 구독자 없음", currentTime, dto.getTicker()));
-        }
-        
+        ingestService.handleExecution(dto);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * 여러 건의 요약/호가/체결 이벤트를 한 번에 수신
+     * - JSON 배열 또는 NDJSON 본문, 이벤트 형식: {"seq": 1, "type": "detail", "data": {...}}
+     * - 응답: {"ackSeq": 첫 거절 전까지 연속 처리한 마지막 seq, "accepted": 처리 건수,
+     *         "rejected": 거절 건수, "rejectedSeqs": 거절된 seq 목록}
+     */
+    @PostMapping(value = "/realtime/batch",
+            consumes = {"application/json", "application/x-ndjson", "text/plain"})
+    public ResponseEntity<Map<String, Object>> receiveBatch(@RequestBody String body) {
+        return ResponseEntity.ok(ingestService.ingestBatch(body));
+    }
+
+    /**
+     * 시장 전체 시세 스냅샷 (delta 순서가 어긋났을 때 다시 받는 용도)
+     */
+    @GetMapping("/market/snapshot")
+    public ResponseEntity<MarketFrameDto> getMarketSnapshot() {
+        return ResponseEntity.ok(marketSnapshotService.getSnapshot());
+    }
+
+    /**
+     * /app/stock/market 구독 시 전체 스냅샷을 한 번 응답
+     * - 이후 /topic/stock/market의 delta를 baseSeq가 맞는 것부터 적용
+     */
+    @SubscribeMapping("/stock/market")
+    public MarketFrameDto subscribeMarketSnapshot() {
+        return marketSnapshotService.getSnapshot();
+    }
+
+    /**
+     * 실시간 브로드캐스트 현황 (목적지별 전송 건수/초당 건수/직렬화 시간/구독자 수)
+     */
+    @GetMapping("/realtime/metrics")
+    public ResponseEntity<Map<String, Object>> getRealtimeMetrics() {
+        Map<String, Object> stats = new HashMap<>(publisher.getStats());
+        stats.put("market", marketSnapshotService.getStats());
+        stats.put("rankings", rankingService.getStats());
+        stats.put("priceAlerts", priceAlertService.getStats());
+        return ResponseEntity.ok(stats);
+    }
 }
@@ -0,0 +1,25 @@
+package com.hanapath.backend.stock.controller;
+
+import com.hanapath.backend.stock.dto.StockSearchResultDto;
+import com.hanapath.backend.stock.service.StockSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/stock/search")
+public class StockSearchController {
+
+    private final StockSearchService stockSearchService;
+
+    /**
+     * 종목 자동완성 검색 (종목코드, 종목명, 초성)
+     */
+    @GetMapping
+    public List<StockSearchResultDto> search(@RequestParam String q,
+                                             @RequestParam(defaultValue = "10") int limit) {
+        return stockSearchService.search(q, limit);
+    }
+}
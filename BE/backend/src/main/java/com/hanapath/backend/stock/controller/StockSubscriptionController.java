@@ -6,6 +6,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/stock/subscription")
@@ -43,4 +45,20 @@ public class StockSubscriptionController {
         log.info("현재 활성 구독 종목 수: {}", count);
         return ResponseEntity.ok(count);
     }
-} 
\ No newline at end of file
+
+    /**
+     * 종목별 구독 현황 (구독 수, KIS 구독 여부, 해제 대기 여부)
+     */
+    @GetMapping("/status/{ticker}")
+    public ResponseEntity<Map<String, Object>> getTickerStatus(@PathVariable String ticker) {
+        return ResponseEntity.ok(subscriptionService.getTickerStatus(ticker));
+    }
+
+    /**
+     * 전체 종목 구독 현황
+     */
+    @GetMapping("/status/tickers")
+    public ResponseEntity<Map<String, Map<String, Object>>> getAllTickerStatus() {
+        return ResponseEntity.ok(subscriptionService.getAllStatus());
+    }
+}
@@ -0,0 +1,139 @@
+package com.hanapath.backend.stock.dto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 종목 1개의 캔들 시계열 (오래된 순, 변경 불가)
+ * - CandleDto 목록 대신 컬럼별 기본형 배열로 보관
+ */
+public final class CandleSeries {
+
+    private final String ticker;
+    private final int[] dates;      // yyyyMMdd
+    private final int[] opens;
+    private final int[] highs;
+    private final int[] lows;
+    private final int[] closes;
+    private final long[] volumes;
+
+    private CandleSeries(String ticker, int[] dates, int[] opens, int[] highs, int[] lows, int[] closes, long[] volumes) {
+        this.ticker = ticker;
+        this.dates = dates;
+        this.opens = opens;
+        this.highs = highs;
+        this.lows = lows;
+        this.closes = closes;
+        this.volumes = volumes;
+    }
+
+    /**
+     * 날짜 오름차순 CandleDto 목록으로 생성
+     */
+    public static CandleSeries of(String ticker, List<CandleDto> candles) {
+        int size = candles.size();
+        int[] dates = new int[size];
+        int[] opens = new int[size];
+        int[] highs = new int[size];
+        int[] lows = new int[size];
+        int[] closes = new int[size];
+        long[] volumes = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            CandleDto candle = candles.get(i);
+            dates[i] = Integer.parseInt(candle.getDate());
+            opens[i] = candle.getOpen();
+            highs[i] = candle.getHigh();
+            lows[i] = candle.getLow();
+            closes[i] = candle.getClose();
+            volumes[i] = candle.getVolume();
+        }
+        return new CandleSeries(ticker, dates, opens, highs, lows, closes, volumes);
+    }
+
+    /**
+     * 컬럼 배열의 앞 length건으로 생성 (배열은 복사)
+     */
+    public static CandleSeries of(String ticker, int[] dates, int[] opens, int[] highs, int[] lows,
+                                  int[] closes, long[] volumes, int length) {
+        return new CandleSeries(ticker,
+                Arrays.copyOf(dates, length),
+                Arrays.copyOf(opens, length),
+                Arrays.copyOf(highs, length),
+                Arrays.copyOf(lows, length),
+                Arrays.copyOf(closes, length),
+                Arrays.copyOf(volumes, length));
+    }
+
+    public String getTicker() {
+        return ticker;
+    }
+
+    public int size() {
+        return dates.length;
+    }
+
+    public boolean isEmpty() {
+        return dates.length == 0;
+    }
+
+    public int dateAt(int index) {
+        return dates[index];
+    }
+
+    public int openAt(int index) {
+        return opens[index];
+    }
+
+    public int highAt(int index) {
+        return highs[index];
+    }
+
+    public int lowAt(int index) {
+        return lows[index];
+    }
+
+    public int closeAt(int index) {
+        return closes[index];
+    }
+
+    public long volumeAt(int index) {
+        return volumes[index];
+    }
+
+    /**
+     * 최신 count건을 CandleDto 목록으로 변환 (오래된 순)
+     */
+    public List<CandleDto> latest(int count) {
+        int from = Math.max(0, dates.length - count);
+        return toCandles(from, dates.length);
+    }
+
+    /**
+     * [fromIndex, toIndex) 구간을 CandleDto 목록으로 변환
+     */
+    public List<CandleDto> toCandles(int fromIndex, int toIndex) {
+        List<CandleDto> candles = new ArrayList<>(Math.max(0, toIndex - fromIndex));
+        for (int i = fromIndex; i < toIndex; i++) {
+            candles.add(CandleDto.builder()
+                    .ticker(ticker)
+                    .date(String.valueOf(dates[i]))
+                    .time("")
+                    .open(opens[i])
+                    .high(highs[i])
+                    .low(lows[i])
+                    .close(closes[i])
+                    .volume(volumes[i])
+                    .build());
+        }
+        return candles;
+    }
+
+    /**
+     * 메모리 사용량 추정치 (bytes)
+     */
+    public int weight() {
+        return 64 + dates.length * (4 * 5 + 8);
+    }
+}
@@ -0,0 +1,19 @@
+package com.hanapath.backend.stock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndicatorSeriesDto {
+    private String ticker;                                      // 종목코드
+    private List<String> dates;                                 // 날짜 (YYYYMMDD, 오래된 순)
+    private Map<String, Map<String, List<Double>>> indicators;  // 지표 키 → 선 이름 → 값 (값이 없는 구간은 null)
+}
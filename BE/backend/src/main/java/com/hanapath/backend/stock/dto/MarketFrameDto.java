@@ -0,0 +1,31 @@
+package com.hanapath.backend.stock.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시장 전체 시세 프레임 (/topic/stock/market)
+ * - snapshot: 전체 종목, delta: 직전 프레임 이후 바뀐 종목의 바뀐 필드만
+ * - 종목은 정수 ID로 전달하고 ID → [종목코드, 종목명]은 symbols로 처음 한 번만 전달
+ * - rows: [ID, 변경 필드 비트, 값...] (값은 비트 순서대로 변경된 필드만)
+ *   비트 1=현재가, 2=등락률(×100), 4=누적거래량, 8=시각(epoch ms)
+ * - delta의 baseSeq가 클라이언트가 가진 seq와 다르면 스냅샷을 다시 받아야 함
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class MarketFrameDto {
+    private String type;                       // snapshot | delta
+    private long seq;                          // 이 프레임을 적용한 뒤의 버전
+    private long baseSeq;                      // delta를 적용할 수 있는 직전 버전
+    private Map<Integer, String[]> symbols;    // 새로 등장한 종목 ID → [종목코드, 종목명]
+    private List<long[]> rows;
+}
@@ -0,0 +1,68 @@
+package com.hanapath.backend.stock.dto;
+
+import com.hanapath.backend.stock.entity.PriceAlert;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+public class PriceAlertDto {
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CreateRequest {
+        private String ticker;
+        private Integer targetPrice;
+        private String direction; // ABOVE/BELOW (생략하면 최근 체결가 기준으로 결정)
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private Long id;
+        private String ticker;
+        private String name;
+        private String direction;
+        private Integer targetPrice;
+        private Integer triggeredPrice;
+        private LocalDateTime triggeredAt;
+        private LocalDateTime createdAt;
+
+        public static Response from(PriceAlert alert, String name) {
+            return Response.builder()
+                    .id(alert.getId())
+                    .ticker(alert.getTicker())
+                    .name(name)
+                    .direction(alert.getDirection().name())
+                    .targetPrice(alert.getTargetPrice())
+                    .triggeredPrice(alert.getTriggeredPrice())
+                    .triggeredAt(alert.getTriggeredAt())
+                    .createdAt(alert.getCreatedAt())
+                    .build();
+        }
+    }
+
+    /**
+     * /user/queue/alerts로 전송하는 발생 알림
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Triggered {
+        private Long alertId;
+        private Long notificationId;
+        private String ticker;
+        private String name;
+        private String direction;
+        private Integer targetPrice;
+        private Integer price;
+        private Long timestamp;
+    }
+}
@@ -1,13 +1,17 @@
 package com.hanapath.backend.stock.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.util.List;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 @Builder
 public class RealtimeStockDto {
     private String ticker;
@@ -15,6 +19,7 @@ public class RealtimeStockDto {
     private Integer price;
     private Float rate;
     private Long volume;
+    private Long tradingValue; // 누적 거래대금 (원, 현재가 메시지에만 있음)
     private List<Integer> askPrices; // 매도호가 10단
     private List<Integer> bidPrices; // 매수호가 10단
     private List<Long> askVolumes; // 매도잔량 10단
@@ -0,0 +1,20 @@
+package com.hanapath.backend.stock.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockBatchItemDto {
+    private String ticker;         // 종목코드
+    private StockInfoDto info;     // 종목 정보 (include에 info가 있을 때)
+    private List<CandleDto> daily; // 일봉 (include에 daily가 있을 때, 오래된 순)
+}
@@ -4,9 +4,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.extern.jackson.Jacksonized;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
 @NoArgsConstructor
 @AllArgsConstructor
 public class StockInfoDto {
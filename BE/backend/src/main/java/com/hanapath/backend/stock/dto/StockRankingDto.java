@@ -0,0 +1,19 @@
+package com.hanapath.backend.stock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockRankingDto {
+    private String metric;                    // gainers, losers, volume, value
+    private long seq;                         // 순위 변경 시마다 증가
+    private Long timestamp;
+    private List<StockRankingItemDto> items;  // 1위부터
+}
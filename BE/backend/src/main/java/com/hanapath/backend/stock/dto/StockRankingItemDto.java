@@ -0,0 +1,22 @@
+package com.hanapath.backend.stock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockRankingItemDto {
+    private int rank;
+    private String ticker;
+    private String name;
+    private Integer price;       // 현재가
+    private Float rate;          // 등락률 (%)
+    private Long volume;         // 누적 거래량
+    private Long tradingValue;   // 누적 거래대금 (시세에 없으면 현재가 × 거래량 증가분 합으로 추정)
+}
@@ -0,0 +1,16 @@
+package com.hanapath.backend.stock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSearchResultDto {
+    private String ticker;      // 종목코드
+    private String name;        // 종목명
+    private String matchType;   // CODE, CODE_PREFIX, NAME_PREFIX, NAME_CONTAINS, CHOSUNG
+}
@@ -0,0 +1,56 @@
+package com.hanapath.backend.stock.entity;
+
+import com.hanapath.backend.users.entity.User;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 가격 알림 (목표가 도달 시 1회 알림 후 비활성)
+ */
+@Entity
+@Table(name = "price_alerts", indexes = {
+        @Index(name = "idx_price_alert_user", columnList = "user_id"),
+        @Index(name = "idx_price_alert_active", columnList = "triggered_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false, length = 10)
+    private String ticker;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Direction direction; // ABOVE: 목표가 이상, BELOW: 목표가 이하
+
+    @Column(nullable = false)
+    private Integer targetPrice;
+
+    @Column
+    private Integer triggeredPrice; // 알림이 발생한 체결가
+
+    @Column(name = "triggered_at")
+    private LocalDateTime triggeredAt; // null이면 대기 중
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    public enum Direction {
+        ABOVE,  // 체결가 >= 목표가
+        BELOW   // 체결가 <= 목표가
+    }
+}
@@ -0,0 +1,31 @@
+package com.hanapath.backend.stock.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * 실시간 체결로 만든 분봉 (마감된 봉만 저장)
+ * - interval: 분 단위 (1, 5, 15)
+ */
+@Document(collection = "stock_intraday_bars")
+@CompoundIndex(name = "ticker_interval_start", def = "{'ticker': 1, 'interval': 1, 'start': 1}", unique = true)
+@Getter @Setter @Builder
+@AllArgsConstructor @NoArgsConstructor
+public class StockIntradayBar {
+
+    @Id
+    private String id;
+
+    private String ticker;
+    private int interval;
+    private LocalDateTime start;
+    private int open;
+    private int high;
+    private int low;
+    private int close;
+    private long volume;
+}
@@ -0,0 +1,31 @@
+package com.hanapath.backend.stock.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 종목별 1분 단위 체결 묶음
+ * - 체결 1건마다 문서를 만들지 않고 분 단위 문서의 배열에 추가
+ * - prices/volumes/times는 같은 인덱스끼리 한 체결 (times: epoch ms)
+ */
+@Document(collection = "stock_tick_buckets")
+@CompoundIndex(name = "ticker_bucket_start", def = "{'ticker': 1, 'bucketStart': 1}", unique = true)
+@Getter @Setter @Builder
+@AllArgsConstructor @NoArgsConstructor
+public class StockTickBucket {
+
+    @Id
+    private String id;
+
+    private String ticker;
+    private LocalDateTime bucketStart;
+    private int count;
+    private List<Integer> prices;
+    private List<Long> volumes;
+    private List<Long> times;
+}
@@ -1,37 +1,224 @@
 package com.hanapath.backend.stock.publisher;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hanapath.backend.stock.dto.CandleDto;
+import com.hanapath.backend.stock.dto.MarketFrameDto;
 import com.hanapath.backend.stock.dto.RealtimeStockDto;
 import com.hanapath.backend.stock.dto.StockDetailDto;
+import com.hanapath.backend.stock.dto.StockRankingDto;
 import com.hanapath.backend.stock.dto.TradeExecutionDto;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
 
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class StockRealtimePublisher {
 
+    private static final String SUMMARY_TOPIC = "/topic/stock/summary";
+    private static final String MARKET_TOPIC = "/topic/stock/market";
+    private static final String ALERT_QUEUE = "/queue/alerts";
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final StompDestinationTracker destinationTracker;
+    private final ObjectMapper objectMapper;
+
+    // 종목별 최신 호가 (전송 전 새 호가가 오면 덮어씀)
+    private final ConcurrentHashMap<String, AtomicReference<StockDetailDto>> latestDetails = new ConcurrentHashMap<>();
+    private final Set<String> dirtyTickers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong detailsReceived = new AtomicLong();
+    private final AtomicLong detailsSent = new AtomicLong();
+
+    // 목적지별 전송 통계
+    private final ConcurrentHashMap<String, DestinationStats> destinationStats = new ConcurrentHashMap<>();
 
     public void sendSummary(RealtimeStockDto dto) {
-        messagingTemplate.convertAndSend("/topic/stock/summary", dto);
+        broadcast(SUMMARY_TOPIC, dto);
+    }
+
+    /**
+     * 시장 전체 시세 delta 프레임 전송
+     */
+    public boolean sendMarketFrame(MarketFrameDto frame) {
+        return broadcast(MARKET_TOPIC, frame);
+    }
+
+    /**
+     * 종목 순위 전송 (metric: gainers, losers, volume, value)
+     */
+    public void sendRankings(String metric, StockRankingDto ranking) {
+        broadcast("/topic/stock/rankings/" + metric, ranking);
     }
 
+    /**
+     * 사용자별 가격 알림 전송 (인증된 STOMP 세션의 /user/queue/alerts로만 전달)
+     */
+    public void sendAlert(long userId, Object alert) {
+        try {
+            messagingTemplate.convertAndSendToUser(String.valueOf(userId), ALERT_QUEUE, alert);
+        } catch (Exception e) {
+            log.warn("가격 알림 전송 실패 - 사용자: {}", userId, e);
+        }
+    }
+
+    public boolean hasMarketSubscribers() {
+        return destinationTracker.subscriberCount(MARKET_TOPIC) > 0;
+    }
+
+    /**
+     * 호가는 바로 보내지 않고 종목별 최신값만 보관, flushDetails에서 일괄 전송
+     */
     public void sendDetail(StockDetailDto dto) {
-        String topic = "/topic/stock/" + dto.getTicker();
-        String currentTime = java.time.LocalTime.now().toString().substring(0, 8);
-        System.out.println(String.format("[%s] WebSocket 호가 브로드캐스트: %s → %s (현재가: %s원)", 
-            currentTime, dto.getTicker(), topic, 
-            dto.getPrice() != 0 ? String.format("%,d", dto.getPrice()) : "0"));
-        messagingTemplate.convertAndSend(topic, dto);
+        detailsReceived.incrementAndGet();
+        latestDetails.computeIfAbsent(dto.getTicker(), k -> new AtomicReference<>()).set(dto);
+        dirtyTickers.add(dto.getTicker());
     }
 
+    /**
+     * 체결은 한 건도 합치지 않고 즉시 전송
+     */
     public void sendExecution(TradeExecutionDto dto) {
         String topic = "/topic/stock/" + dto.getTicker() + "/execution";
-        String currentTime = java.time.LocalTime.now().toString().substring(0, 8);
-        System.out.println(String.format("[%s] WebSocket 체결 브로드캐스트: %s → %s (체결가: %s원, 구분: %s)", 
-            currentTime, dto.getTicker(), topic, 
-            String.format("%,d", dto.getPrice()), dto.getTradeType()));
-        messagingTemplate.convertAndSend(topic, dto);
+        log.debug("WebSocket 체결 브로드캐스트: {} → {} (체결가: {}원, 구분: {})",
+                dto.getTicker(), topic, dto.getPrice(), dto.getTradeType());
+        broadcast(topic, dto);
+    }
+
+    /**
+     * 실시간 분봉 갱신 전송 (interval: 분 단위)
+     */
+    public void sendBar(String ticker, int interval, CandleDto bar) {
+        broadcast("/topic/stock/" + ticker + "/bars/" + interval + "m", bar);
+    }
+
+    /**
+     * 변경된 종목의 최신 호가만 전송 (기본 100ms = 10Hz)
+     */
+    @Scheduled(fixedRateString = "${app.realtime.detail-flush-ms:100}")
+    public void flushDetails() {
+        Iterator<String> iterator = dirtyTickers.iterator();
+        while (iterator.hasNext()) {
+            String ticker = iterator.next();
+            // 꺼내기 전에 dirty 표시를 지워야 그 사이 들어온 호가가 다음 주기에 빠지지 않음
+            iterator.remove();
+
+            AtomicReference<StockDetailDto> slot = latestDetails.get(ticker);
+            StockDetailDto dto = slot != null ? slot.getAndSet(null) : null;
+            if (dto == null) {
+                continue;
+            }
+            if (broadcast("/topic/stock/" + ticker, dto)) {
+                detailsSent.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * payload를 JSON으로 한 번만 직렬화해 byte[] 메시지로 전송
+     * - 메시지 컨버터를 거치지 않고, 브로커는 같은 메시지를 모든 구독자에게 전달
+     * - 구독자가 없는 목적지는 직렬화 자체를 건너뜀
+     */
+    private boolean broadcast(String destination, Object payload) {
+        DestinationStats stats = destinationStats.computeIfAbsent(destination, k -> new DestinationStats());
+        int subscribers = destinationTracker.subscriberCount(destination);
+        if (subscribers == 0) {
+            stats.skipped.increment();
+            return false;
+        }
+
+        try {
+            long start = System.nanoTime();
+            byte[] body = objectMapper.writeValueAsBytes(payload);
+            stats.encodeNanos.add(System.nanoTime() - start);
+
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            accessor.setLeaveMutable(true);
+            Message<byte[]> message = MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+            messagingTemplate.send(destination, message);
+
+            stats.messages.increment();
+            stats.bytes.add(body.length);
+            stats.deliveries.add(subscribers);
+            return true;
+        } catch (Exception e) {
+            log.warn("WebSocket 브로드캐스트 실패: {}", destination, e);
+            return false;
+        }
+    }
+
+    /**
+     * 1초마다 목적지별 초당 전송 건수 갱신
+     */
+    @Scheduled(fixedRate = 1000)
+    public void updateRates() {
+        destinationStats.values().forEach(DestinationStats::roll);
+    }
+
+    /**
+     * 호가 합치기 현황과 목적지별 전송 통계
+     * - encodeMicrosAvg: 메시지 1건 직렬화 평균 시간
+     * - fanOutAvg: 메시지 1건이 전달된 평균 구독자 수
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        long received = detailsReceived.get();
+        long sent = detailsSent.get();
+        stats.put("detailsReceived", received);
+        stats.put("detailsSent", sent);
+        stats.put("pendingTickers", dirtyTickers.size());
+        stats.put("sessions", destinationTracker.sessionCount());
+
+        Map<String, Object> destinations = new HashMap<>();
+        destinationStats.forEach((destination, destStats) -> destinations.put(destination, destStats.toMap()));
+        stats.put("destinations", destinations);
+        return stats;
+    }
+
+    private static class DestinationStats {
+        private final LongAdder messages = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder deliveries = new LongAdder();
+        private final LongAdder encodeNanos = new LongAdder();
+
+        private volatile long lastMessages;
+        private volatile long messagesPerSecond;
+
+        private void roll() {
+            long current = messages.sum();
+            messagesPerSecond = current - lastMessages;
+            lastMessages = current;
+        }
+
+        private Map<String, Object> toMap() {
+            long sent = messages.sum();
+            Map<String, Object> map = new HashMap<>();
+            map.put("messages", sent);
+            map.put("skippedNoSubscribers", skipped.sum());
+            map.put("bytes", bytes.sum());
+            map.put("messagesPerSecond", messagesPerSecond);
+            map.put("encodeMicrosAvg", sent > 0 ? encodeNanos.sum() / 1000.0 / sent : 0.0);
+            map.put("fanOutAvg", sent > 0 ? (double) deliveries.sum() / sent : 0.0);
+            return map;
+        }
     }
 }
@@ -0,0 +1,113 @@
+package com.hanapath.backend.stock.publisher;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * STOMP 구독 이벤트로 목적지(destination)별 구독 수 집계
+ * - 세션별 구독 ID → 목적지를 기억해 두었다가 구독 해제/연결 종료 시 차감
+ * - 등록된 Listener에 세션 단위 구독/해제를 전달 (연결 종료 시 남은 구독 모두 해제로 전달)
+ */
+@Slf4j
+@Component
+public class StompDestinationTracker {
+
+    // 세션 ID → (구독 ID → 목적지)
+    private final ConcurrentHashMap<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicInteger> destinationCounts = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 세션 구독 변경 수신
+     */
+    public interface Listener {
+        void onSubscribe(String sessionId, String destination);
+
+        void onUnsubscribe(String sessionId, String destination);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        String destination = accessor.getDestination();
+        if (sessionId == null || subscriptionId == null || destination == null) {
+            return;
+        }
+
+        String previous = sessionSubscriptions
+                .computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        if (previous != null) {
+            removed(sessionId, previous);
+        }
+        destinationCounts.compute(destination, (k, count) -> {
+            AtomicInteger current = count != null ? count : new AtomicInteger();
+            current.incrementAndGet();
+            return current;
+        });
+        for (Listener listener : listeners) {
+            listener.onSubscribe(sessionId, destination);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = sessionSubscriptions.get(accessor.getSessionId());
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        String destination = subscriptions.remove(accessor.getSubscriptionId());
+        if (destination != null) {
+            removed(accessor.getSessionId(), destination);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(destination -> removed(event.getSessionId(), destination));
+        }
+    }
+
+    /**
+     * 해당 목적지 구독 수 (구독 없으면 0)
+     */
+    public int subscriberCount(String destination) {
+        AtomicInteger count = destinationCounts.get(destination);
+        return count != null ? count.get() : 0;
+    }
+
+    public int sessionCount() {
+        return sessionSubscriptions.size();
+    }
+
+    private void removed(String sessionId, String destination) {
+        decrement(destination);
+        for (Listener listener : listeners) {
+            listener.onUnsubscribe(sessionId, destination);
+        }
+    }
+
+    private void decrement(String destination) {
+        destinationCounts.computeIfPresent(destination, (k, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+}
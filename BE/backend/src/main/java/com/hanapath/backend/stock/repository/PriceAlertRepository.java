@@ -0,0 +1,37 @@
+package com.hanapath.backend.stock.repository;
+
+import com.hanapath.backend.stock.entity.PriceAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PriceAlertRepository extends JpaRepository<PriceAlert, Long> {
+
+    List<PriceAlert> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    long countByUserIdAndTriggeredAtIsNull(Long userId);
+
+    // 대기 중인 알림 (메모리 색인 적재용, 엔티티 대신 필요한 컬럼만 조회)
+    @Query("SELECT a.id, a.user.id, a.ticker, a.direction, a.targetPrice FROM PriceAlert a WHERE a.triggeredAt IS NULL")
+    List<Object[]> findActiveAlertRows();
+
+    // 발생 처리 (이미 발생했거나 삭제된 알림은 제외)
+    @Modifying
+    @Transactional
+    @Query("UPDATE PriceAlert a SET a.triggeredAt = :triggeredAt, a.triggeredPrice = :price " +
+            "WHERE a.id IN :ids AND a.triggeredAt IS NULL")
+    int markTriggered(@Param("ids") Collection<Long> ids,
+                      @Param("price") int price,
+                      @Param("triggeredAt") LocalDateTime triggeredAt);
+
+    // markTriggered로 이번에 발생 처리된 알림 ID (같은 발생 시각으로 갱신된 행)
+    @Query("SELECT a.id FROM PriceAlert a WHERE a.id IN :ids AND a.triggeredAt = :triggeredAt")
+    List<Long> findIdsTriggeredAt(@Param("ids") Collection<Long> ids,
+                                  @Param("triggeredAt") LocalDateTime triggeredAt);
+}
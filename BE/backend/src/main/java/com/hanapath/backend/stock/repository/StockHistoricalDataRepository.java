@@ -28,7 +28,12 @@ public interface StockHistoricalDataRepository extends JpaRepository<StockHistor
     
     // 특정 종목의 데이터 개수 조회
     long countByTicker(String ticker);
-}
-
-
 
+    // 특정 종목의 기간 내 저장된 날짜 목록 (빈 날짜 확인용)
+    @Query("SELECT h.date FROM StockHistoricalData h WHERE h.ticker = :ticker AND h.date >= :startDate AND h.date <= :endDate")
+    List<String> findDatesByTickerAndDateBetween(
+        @Param("ticker") String ticker,
+        @Param("startDate") String startDate,
+        @Param("endDate") String endDate
+    );
+}
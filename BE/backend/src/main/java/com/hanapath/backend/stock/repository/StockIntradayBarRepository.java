@@ -0,0 +1,12 @@
+package com.hanapath.backend.stock.repository;
+
+import com.hanapath.backend.stock.entity.StockIntradayBar;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockIntradayBarRepository extends MongoRepository<StockIntradayBar, String> {
+    List<StockIntradayBar> findByTickerAndIntervalAndStartBeforeOrderByStartDesc(String ticker, int interval, LocalDateTime before, Pageable pageable);
+}
@@ -2,10 +2,16 @@ package com.hanapath.backend.stock.repository;
 
 import com.hanapath.backend.stock.entity.StockMaster;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface StockMasterRepository extends JpaRepository<StockMaster, Long> {
     Optional<StockMaster> findByTicker(String ticker);
     boolean existsByTicker(String ticker);
+
+    // 종목 마스터 변경 확인용 (검색 색인 재생성 여부)
+    @Query("SELECT MAX(m.updatedAt) FROM StockMaster m")
+    LocalDateTime findLatestUpdatedAt();
 }
@@ -1,81 +1,255 @@
 package com.hanapath.backend.stock.service;
 
-import lombok.RequiredArgsConstructor;
+import com.hanapath.backend.stock.publisher.StompDestinationTracker;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * 종목별 실시간 구독 관리 (KIS 웹소켓 구독은 Python 클라이언트가 담당)
+ * - STOMP 구독/구독 해제/연결 종료 이벤트로 (세션, 종목)별 구독 수를 집계
+ * - 종목의 첫 구독자가 생기면 KIS 구독, 마지막 구독자가 빠지면 잠시 기다린 뒤 해제
+ *   (그 사이 다시 구독하면 해제를 취소해 화면 전환마다 KIS 구독 슬롯을 다시 잡지 않음)
+ * - REST 구독은 일정 시간 유지되는 임대로 처리 (해제 요청 없이 닫힌 화면이 구독을 붙잡지 않도록)
+ * - 종목별 상태 변경은 ConcurrentHashMap.compute 안에서만 하므로 첫 구독 요청이 중복 전송되지 않음
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
-public class ActiveSubscriptionService {
-    
-    // 종목별 활성 구독자 수
-    private final ConcurrentHashMap<String, AtomicInteger> activeSubscribers = new ConcurrentHashMap<>();
-    
+public class ActiveSubscriptionService implements StompDestinationTracker.Listener {
+
+    private static final Pattern TICKER_DESTINATION = Pattern.compile("^/topic/stock/([0-9][0-9A-Z]{5})(/.*)?$");
+    private static final String REST_HOLDER = "rest";
+
+    private final StompDestinationTracker destinationTracker;
+    private final long unsubscribeDebounceMs;
+    private final long restLeaseMs;
+
+    // 종목별 구독 상태
+    private final ConcurrentHashMap<String, TickerSubscription> subscriptions = new ConcurrentHashMap<>();
+
+    // 구독 해제 예약과 Python 클라이언트 요청을 한 스레드에서 순서대로 처리
+    private final ScheduledExecutorService bridgeExecutor = Executors.newSingleThreadScheduledExecutor();
+
     // Python 클라이언트 API URL
     @Value("${app.urls.python-api}")
     private String pythonApiUrl;
-    
+
     private final RestTemplate restTemplate = new RestTemplate();
-    
+
+    public ActiveSubscriptionService(StompDestinationTracker destinationTracker,
+                                     @Value("${app.realtime.subscription.unsubscribe-debounce-ms:30000}") long unsubscribeDebounceMs,
+                                     @Value("${app.realtime.subscription.rest-lease-ms:300000}") long restLeaseMs) {
+        this.destinationTracker = destinationTracker;
+        this.unsubscribeDebounceMs = unsubscribeDebounceMs;
+        this.restLeaseMs = restLeaseMs;
+    }
+
+    @PostConstruct
+    public void registerListener() {
+        destinationTracker.addListener(this);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bridgeExecutor.shutdownNow();
+    }
+
+    @Override
+    public void onSubscribe(String sessionId, String destination) {
+        String ticker = tickerOf(destination);
+        if (ticker != null) {
+            acquire(ticker, sessionId);
+        }
+    }
+
+    @Override
+    public void onUnsubscribe(String sessionId, String destination) {
+        String ticker = tickerOf(destination);
+        if (ticker != null) {
+            release(ticker, sessionId, 1);
+        }
+    }
+
     /**
-     * 종목 구독 시작
+     * 종목 구독 시작 (REST, 임대 시간 동안 유지되고 다시 호출하면 연장)
      */
     public void subscribe(String ticker) {
-        boolean isFirstSubscriber = !activeSubscribers.containsKey(ticker);
-        activeSubscribers.computeIfAbsent(ticker, k -> new AtomicInteger(0)).incrementAndGet();
-        
-        log.info("{} 구독 시작 - 현재 구독자 수: {}", ticker, activeSubscribers.get(ticker).get());
-        log.info("전체 활성 구독 종목: {}", activeSubscribers.keySet());
-        System.out.println(String.format("[%s] %s 구독 활성화 - 구독자: %d명", 
-            java.time.LocalTime.now().toString().substring(0, 8),
-            ticker, 
-            activeSubscribers.get(ticker).get()));
-            
-        // 첫 번째 구독자인 경우 Python 클라이언트에 구독 요청
-        if (isFirstSubscriber) {
-            requestPythonSubscription(ticker);
-        }
+        long leaseUntil = System.currentTimeMillis() + restLeaseMs;
+        acquire(ticker, REST_HOLDER);
+        subscriptions.computeIfPresent(ticker, (k, state) -> {
+            state.restLeaseUntil = Math.max(state.restLeaseUntil, leaseUntil);
+            return state;
+        });
     }
-    
+
     /**
-     * 종목 구독 해제
+     * 종목 구독 해제 (REST)
      */
     public void unsubscribe(String ticker) {
-        AtomicInteger count = activeSubscribers.get(ticker);
-        if (count != null) {
-            int newCount = count.decrementAndGet();
-            if (newCount <= 0) {
-                activeSubscribers.remove(ticker);
-                log.info("{} 구독 해제 완료 - 구독자 없음", ticker);
-                // 마지막 구독자가 해제된 경우 Python 클라이언트에 구독 해제 요청
-                requestPythonUnsubscription(ticker);
-            } else {
-                log.info("{} 구독자 감소 - 현재 구독자 수: {}", ticker, newCount);
-            }
-        }
+        release(ticker, REST_HOLDER, 1);
     }
-    
+
     /**
      * 해당 종목에 활성 구독자가 있는지 확인
      */
     public boolean hasActiveSubscribers(String ticker) {
-        AtomicInteger count = activeSubscribers.get(ticker);
-        return count != null && count.get() > 0;
+        TickerSubscription state = subscriptions.get(ticker);
+        return state != null && state.totalRefs > 0;
     }
-    
+
     /**
      * 현재 활성 구독 종목 수 반환
      */
     public int getActiveStockCount() {
-        return activeSubscribers.size();
+        int count = 0;
+        for (TickerSubscription state : subscriptions.values()) {
+            if (state.totalRefs > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 종목별 구독 현황 (구독 주체 수, 구독 수, KIS 구독 여부, 해제 대기 여부)
+     */
+    public Map<String, Object> getTickerStatus(String ticker) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("ticker", ticker);
+        subscriptions.compute(ticker, (k, state) -> {
+            status.put("holders", state != null ? state.refs.size() : 0);
+            status.put("subscriptions", state != null ? state.totalRefs : 0);
+            status.put("kisSubscribed", state != null && state.kisSubscribed);
+            status.put("pendingUnsubscribe", state != null && state.pendingUnsubscribe != null);
+            status.put("restLeaseUntil", state != null ? state.restLeaseUntil : 0L);
+            return state;
+        });
+        return status;
+    }
+
+    /**
+     * 전체 종목 구독 현황 (종목코드 순)
+     */
+    public Map<String, Map<String, Object>> getAllStatus() {
+        Map<String, Map<String, Object>> result = new TreeMap<>();
+        for (String ticker : subscriptions.keySet()) {
+            result.put(ticker, getTickerStatus(ticker));
+        }
+        return result;
+    }
+
+    /**
+     * 만료된 REST 구독 임대 정리
+     */
+    @Scheduled(fixedRate = 30_000)
+    public void expireRestLeases() {
+        long now = System.currentTimeMillis();
+        for (String ticker : subscriptions.keySet()) {
+            subscriptions.computeIfPresent(ticker, (k, state) -> {
+                Integer restRefs = state.refs.get(REST_HOLDER);
+                if (restRefs != null && state.restLeaseUntil < now) {
+                    log.info("{} REST 구독 임대 만료 ({}건 해제)", ticker, restRefs);
+                    releaseLocked(ticker, state, REST_HOLDER, restRefs);
+                }
+                return state;
+            });
+        }
+    }
+
+    private void acquire(String ticker, String holder) {
+        subscriptions.compute(ticker, (k, current) -> {
+            TickerSubscription state = current != null ? current : new TickerSubscription();
+            state.refs.merge(holder, 1, Integer::sum);
+            state.totalRefs++;
+
+            if (state.pendingUnsubscribe != null) {
+                // 해제 대기 중 다시 구독 → KIS 구독 유지
+                state.pendingUnsubscribe.cancel(false);
+                state.pendingUnsubscribe = null;
+                log.info("{} 재구독으로 구독 해제 취소", ticker);
+            } else if (!state.kisSubscribed) {
+                state.kisSubscribed = true;
+                bridgeExecutor.execute(() -> requestPythonSubscription(ticker));
+            }
+            log.info("{} 구독 시작 - 현재 구독 {}건 (구독 주체 {}곳)", ticker, state.totalRefs, state.refs.size());
+            return state;
+        });
+    }
+
+    private void release(String ticker, String holder, int refs) {
+        subscriptions.computeIfPresent(ticker, (k, state) -> {
+            releaseLocked(ticker, state, holder, refs);
+            return state;
+        });
     }
-    
+
+    /**
+     * 구독 수 감소, 0이 되면 구독 해제 예약 (subscriptions.compute 안에서 호출)
+     */
+    private void releaseLocked(String ticker, TickerSubscription state, String holder, int refs) {
+        Integer held = state.refs.get(holder);
+        if (held == null) {
+            return;
+        }
+        int removed = Math.min(held, refs);
+        if (held - removed <= 0) {
+            state.refs.remove(holder);
+        } else {
+            state.refs.put(holder, held - removed);
+        }
+        state.totalRefs -= removed;
+
+        if (state.totalRefs > 0) {
+            log.info("{} 구독자 감소 - 현재 구독 {}건", ticker, state.totalRefs);
+            return;
+        }
+        if (state.kisSubscribed && state.pendingUnsubscribe == null) {
+            log.info("{} 구독자 없음 - {}ms 후 구독 해제 예정", ticker, unsubscribeDebounceMs);
+            long token = ++state.pendingToken;
+            state.pendingUnsubscribe = bridgeExecutor.schedule(
+                    () -> completeUnsubscribe(ticker, token), unsubscribeDebounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 대기 시간 동안 다시 구독되지 않았으면 KIS 구독 해제 (bridgeExecutor에서 실행)
+     */
+    private void completeUnsubscribe(String ticker, long token) {
+        boolean[] unsubscribe = new boolean[1];
+        subscriptions.computeIfPresent(ticker, (k, state) -> {
+            if (state.totalRefs > 0 || state.pendingToken != token || state.pendingUnsubscribe == null) {
+                // 대기 중 재구독되었거나 새 해제 예약으로 대체됨
+                return state;
+            }
+            unsubscribe[0] = state.kisSubscribed;
+            return null;
+        });
+        if (unsubscribe[0]) {
+            log.info("{} 구독 해제 완료 - 구독자 없음", ticker);
+            requestPythonUnsubscription(ticker);
+        }
+    }
+
+    private static String tickerOf(String destination) {
+        Matcher matcher = TICKER_DESTINATION.matcher(destination);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
     /**
      * Python 클라이언트에 구독 요청
      */
@@ -84,14 +258,11 @@ public class ActiveSubscriptionService {
             String url = pythonApiUrl + "/subscribe/" + ticker;
             restTemplate.postForObject(url, null, String.class);
             log.info("Python 클라이언트에 {} 구독 요청 전송 성공", ticker);
-            System.out.println(String.format("[%s] Python 클라이언트에 %s 구독 요청", 
-                java.time.LocalTime.now().toString().substring(0, 8), ticker));
         } catch (Exception e) {
             log.error("Python 클라이언트 구독 요청 실패: {} - {}", ticker, e.getMessage());
-            System.out.println(String.format("Python 클라이언트 구독 요청 실패: %s - %s", ticker, e.getMessage()));
         }
     }
-    
+
     /**
      * Python 클라이언트에 구독 해제 요청
      */
@@ -100,11 +271,20 @@ public class ActiveSubscriptionService {
             String url = pythonApiUrl + "/unsubscribe/" + ticker;
             restTemplate.postForObject(url, null, String.class);
             log.info("Python 클라이언트에 {} 구독 해제 요청 전송 성공", ticker);
-            System.out.println(String.format("[%s] Python 클라이언트에 %s 구독 해제 요청", 
-                java.time.LocalTime.now().toString().substring(0, 8), ticker));
         } catch (Exception e) {
             log.error("Python 클라이언트 구독 해제 요청 실패: {} - {}", ticker, e.getMessage());
-            System.out.println(String.format("Python 클라이언트 구독 해제 요청 실패: %s - %s", ticker, e.getMessage()));
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * 종목 1개의 구독 상태 (subscriptions.compute 안에서만 변경)
+     */
+    private static class TickerSubscription {
+        private final Map<String, Integer> refs = new HashMap<>();  // 구독 주체(세션 ID 또는 rest) → 구독 수
+        private volatile int totalRefs;
+        private boolean kisSubscribed;
+        private ScheduledFuture<?> pendingUnsubscribe;
+        private long pendingToken;
+        private long restLeaseUntil;
+    }
+}
@@ -0,0 +1,172 @@
+package com.hanapath.backend.stock.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.hanapath.backend.stock.dto.CandleSeries;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Redis 앞단의 JVM 내 캔들 캐시 (종목/차트 종류별 CandleSeries)
+ * - 전체 크기(추정 bytes)와 TTL로 제한
+ * - 어느 인스턴스에서든 캔들이 추가되면 Redis pub/sub으로 무효화 메시지를 받아 제거
+ *   (메시지에 보낸 인스턴스 ID를 붙여 자기가 보낸 메시지는 무시)
+ */
+@Slf4j
+@Component
+public class CandleNearCache implements MessageListener {
+
+    private static final String INVALIDATION_CHANNEL = "stock:candles:invalidate";
+    private static final char SENDER_SEPARATOR = '|';
+
+    // 무효화 메시지 발신 인스턴스 구분용
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Cache<String, Entry> cache;
+
+    // 키별 무효화 세대 (읽는 도중 무효화된 오래된 시계열이 다시 들어가지 않도록)
+    private final ConcurrentHashMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public CandleNearCache(RedisTemplate<String, Object> redisTemplate,
+                           RedisMessageListenerContainer listenerContainer,
+                           @Value("${app.chart.near-cache.max-weight-bytes:67108864}") long maxWeightBytes,
+                           @Value("${app.chart.near-cache.ttl-ms:300000}") long ttlMs) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String key, Entry entry) -> entry.series.weight())
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * 최신 count건 이상을 담고 있거나 전체 시계열이면 반환, 아니면 null
+     */
+    public CandleSeries get(String chartType, String ticker, int count) {
+        Entry entry = cache.getIfPresent(key(chartType, ticker));
+        if (entry == null) {
+            return null;
+        }
+        if (entry.complete || entry.series.size() >= count) {
+            return entry.series;
+        }
+        return null;
+    }
+
+    /**
+     * Redis에서 읽기 전에 현재 세대를 확인
+     */
+    public long generation(String chartType, String ticker) {
+        return generations.computeIfAbsent(key(chartType, ticker), k -> new AtomicLong()).get();
+    }
+
+    /**
+     * Redis에서 읽은 시계열 저장 (읽는 사이 무효화되었으면 버림)
+     * - complete: 요청한 건수보다 적게 내려와 Redis에 있는 전부인 경우
+     * - 세대 확인은 compute 안에서 함 (무효화는 세대를 올린 뒤 항목을 지우므로
+     *   확인을 통과해 들어간 항목은 뒤이은 invalidate에 지워지고, 이후의 put은 확인에서 걸러짐)
+     */
+    public void put(String chartType, String ticker, CandleSeries series, boolean complete, long generation) {
+        String key = key(chartType, ticker);
+        AtomicLong current = generations.computeIfAbsent(key, k -> new AtomicLong());
+        cache.asMap().compute(key, (k, existing) -> {
+            if (current.get() != generation) {
+                return existing;
+            }
+            if (existing != null && (existing.complete || existing.series.size() > series.size())) {
+                return existing;
+            }
+            return new Entry(series, complete);
+        });
+    }
+
+    /**
+     * 로컬 캐시 제거 후 다른 인스턴스에도 무효화 전파
+     */
+    public void invalidate(String chartType, String ticker) {
+        String key = key(chartType, ticker);
+        invalidateLocal(key);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, instanceId + SENDER_SEPARATOR + key);
+        } catch (Exception e) {
+            log.warn("캔들 캐시 무효화 메시지 전송 실패: {}", key, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object payload = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (!(payload instanceof String)) {
+            return;
+        }
+        String text = (String) payload;
+        int separator = text.indexOf(SENDER_SEPARATOR);
+        if (separator < 0) {
+            invalidateLocal(text);
+            return;
+        }
+        if (!instanceId.equals(text.substring(0, separator))) {
+            invalidateLocal(text.substring(separator + 1));
+        }
+    }
+
+    private void invalidateLocal(String key) {
+        generations.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+        cache.invalidate(key);
+    }
+
+    /**
+     * 적중/미스/제거 통계
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("entries", cache.estimatedSize());
+        result.put("weightBytes", cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L));
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+
+    private String key(String chartType, String ticker) {
+        return chartType + ":" + ticker;
+    }
+
+    private static class Entry {
+        private final CandleSeries series;
+        private final boolean complete;
+
+        private Entry(CandleSeries series, boolean complete) {
+            this.series = series;
+            this.complete = complete;
+        }
+    }
+}
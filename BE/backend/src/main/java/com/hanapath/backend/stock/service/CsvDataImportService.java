@@ -1,44 +1,99 @@
 package com.hanapath.backend.stock.service;
 
-import com.hanapath.backend.stock.entity.StockHistoricalData;
 import com.hanapath.backend.stock.entity.StockMaster;
-import com.hanapath.backend.stock.repository.StockHistoricalDataRepository;
 import com.hanapath.backend.stock.repository.StockMasterRepository;
 import com.hanapath.backend.stock.util.StockNameMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.DateTimeException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * CSV 과거 시세 대량 적재 (stock_historical_data)
+ * - 파일을 1MB 버퍼 단위로 읽어 컬럼마다 문자열을 만들지 않고 바로 숫자로 변환
+ * - 이미 저장된 (종목, 날짜)와 종목 마스터 id는 시작 시 한 번에 읽어 메모리에서 확인
+ * - 저장은 여러 행을 묶은 INSERT ... ON DUPLICATE KEY 문을 작성 스레드 여러 개가 나눠 실행
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CsvDataImportService {
 
-    private final StockHistoricalDataRepository historicalDataRepository;
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+    private static final int MAX_LINE_LENGTH = 256;
+    private static final int PROGRESS_LOG_INTERVAL = 500_000;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO stock_historical_data (stock_master_id, ticker, date, open, high, low, close, volume, created_at) VALUES ";
+    private static final String INSERT_ROW = "(?,?,?,?,?,?,?,?,NOW())";
+    // 동시에 다른 경로(정기 갱신 등)로 들어온 행은 그대로 둠
+    private static final String INSERT_SUFFIX = " ON DUPLICATE KEY UPDATE id = id";
+
+    private final JdbcTemplate jdbcTemplate;
     private final StockMasterRepository stockMasterRepository;
     private final StockNameMapper stockNameMapper;
-    
+
     @Value("${app.paths.csv-file}")
     private String csvFilePath;
-    
-    private static final DateTimeFormatter CSV_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd");
-    private static final DateTimeFormatter DB_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
-    
+
+    @Value("${app.data.import.rows-per-statement:1000}")
+    private int rowsPerStatement;
+
+    @Value("${app.data.import.writer-threads:3}")
+    private int writerThreads;
+
+    // 행 수별 INSERT 문 (마지막 배치만 크기가 다름)
+    private final Map<Integer, String> insertSqlCache = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong linesRead = new AtomicLong();
+    private final AtomicLong rowsQueued = new AtomicLong();
+    private final AtomicLong rowsSaved = new AtomicLong();
+    private final AtomicLong duplicateSkipped = new AtomicLong();
+    private final AtomicLong invalidRows = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+    private volatile long startTime;
+    private volatile long finishTime;
 
     public void importHistoricalDataFromCsv() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("이미 CSV 임포트가 진행 중입니다");
+        }
+        try {
+            runImport();
+        } finally {
+            finishTime = System.currentTimeMillis();
+            running.set(false);
+        }
+    }
+
+    private void runImport() {
         log.info("CSV 파일에서 히스토리 데이터 임포트 시작: {}", csvFilePath);
-        
+
         // 파일 존재 확인
         java.io.File csvFile = new java.io.File(csvFilePath);
         if (!csvFile.exists()) {
@@ -46,127 +101,430 @@ public class CsvDataImportService {
             throw new RuntimeException("CSV 파일을 찾을 수 없습니다: " + csvFilePath);
         }
         log.info("CSV 파일 확인 완료: {} (크기: {} bytes)", csvFilePath, csvFile.length());
-        
-        List<StockHistoricalData> batchData = new ArrayList<>();
-        int totalProcessed = 0;
-        int totalSaved = 0;
-        int duplicateSkipped = 0;
-        int batchSize = 100; // 더 작은 배치로 트랜잭션 안정성 향상
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(csvFilePath))) {
-            String line;
-            boolean isHeader = true;
-            
-            while ((line = reader.readLine()) != null) {
-                if (isHeader) {
-                    log.info("CSV 헤더: {}", line);
-                    isHeader = false;
-                    continue; // 헤더 스킵: date,close,open,high,low,volume,ticker
+
+        resetProgress();
+        Map<String, Long> stockMasterIds = loadStockMasterIds();
+        Map<String, BitSet> existingDates = loadExistingDates();
+        log.info("기존 데이터 적재 완료 - 종목 마스터 {}개, 저장된 종목 {}개 ({}ms)",
+                stockMasterIds.size(), existingDates.size(), System.currentTimeMillis() - startTime);
+
+        int threads = Math.max(1, writerThreads);
+        BlockingQueue<RowBatch> queue = new ArrayBlockingQueue<>(threads * 4);
+        ExecutorService writers = Executors.newFixedThreadPool(threads);
+        List<Future<?>> writerResults = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            writerResults.add(writers.submit(() -> writeBatches(queue)));
+        }
+
+        try (InputStream input = new FileInputStream(csvFile)) {
+            readRows(input, queue, stockMasterIds, existingDates);
+        } catch (IOException e) {
+            log.error("CSV 파일 읽기 실패: {}", e.getMessage());
+            throw new RuntimeException("CSV 파일 임포트 실패", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("CSV 파일 임포트 중단", e);
+        } finally {
+            // 작성 스레드마다 종료 신호 전달 후 대기
+            try {
+                for (int i = 0; i < threads; i++) {
+                    queue.put(RowBatch.END);
+                }
+                for (Future<?> result : writerResults) {
+                    result.get();
+                }
+            } catch (Exception e) {
+                log.error("CSV 저장 스레드 종료 대기 실패", e);
+            }
+            writers.shutdownNow();
+        }
+
+        log.info("CSV 임포트 완료: {}", getProgress());
+    }
+
+    /**
+     * 큰 버퍼 단위로 읽어 줄을 나누고 배치에 담음 (순서: date,close,open,high,low,volume,ticker)
+     */
+    private void readRows(InputStream input, BlockingQueue<RowBatch> queue,
+                          Map<String, Long> stockMasterIds, Map<String, BitSet> existingDates)
+            throws IOException, InterruptedException {
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        byte[] line = new byte[MAX_LINE_LENGTH];
+        int[] bounds = new int[8];
+        int length = 0;
+        boolean overflow = false;
+        boolean header = true;
+        RowBatch batch = new RowBatch(rowsPerStatement);
+        TickerCache tickers = new TickerCache();
+
+        int read;
+        boolean eof = false;
+        while (!eof) {
+            read = input.read(buffer);
+            if (read == -1) {
+                eof = true;
+                if (length == 0) {
+                    break;
+                }
+                // 마지막 줄에 줄바꿈이 없는 경우
+                buffer[0] = '\n';
+                read = 1;
+            }
+
+            for (int i = 0; i < read; i++) {
+                byte b = buffer[i];
+                if (b != '\n') {
+                    if (length < MAX_LINE_LENGTH) {
+                        line[length++] = b;
+                    } else {
+                        overflow = true;
+                    }
+                    continue;
+                }
+
+                int end = length;
+                if (end > 0 && line[end - 1] == '\r') {
+                    end--;
+                }
+                length = 0;
+
+                if (header) {
+                    log.info("CSV 헤더: {}", new String(line, 0, end, StandardCharsets.UTF_8));
+                    header = false;
+                    overflow = false;
+                    continue;
+                }
+                if (end == 0) {
+                    continue;
                 }
-                
-                String[] columns = line.split(",");
-                if (columns.length < 7) {
-                    log.warn("잘못된 데이터 형식 (컬럼 부족): {}", line);
+                long lines = linesRead.incrementAndGet();
+                if (overflow) {
+                    overflow = false;
+                    invalidRows.incrementAndGet();
                     continue;
                 }
-                
+
+                if (!parseRow(line, end, bounds, batch, tickers, stockMasterIds, existingDates)) {
+                    invalidRows.incrementAndGet();
+                }
+                if (batch.size == batch.capacity) {
+                    rowsQueued.addAndGet(batch.size);
+                    queue.put(batch);
+                    batch = new RowBatch(rowsPerStatement);
+                }
+                if (lines % PROGRESS_LOG_INTERVAL == 0) {
+                    log.info("CSV 임포트 진행: {}", getProgress());
+                }
+            }
+        }
+
+        if (batch.size > 0) {
+            rowsQueued.addAndGet(batch.size);
+            queue.put(batch);
+        }
+    }
+
+    /**
+     * 한 줄을 파싱해 배치에 추가 (형식 오류면 false, 중복은 건너뛰고 true)
+     */
+    private boolean parseRow(byte[] line, int end, int[] bounds, RowBatch batch, TickerCache tickers,
+                             Map<String, Long> stockMasterIds, Map<String, BitSet> existingDates) {
+        int columns = 0;
+        bounds[0] = 0;
+        for (int i = 0; i < end && columns < 7; i++) {
+            if (line[i] == ',') {
+                bounds[++columns] = i + 1;
+            }
+        }
+        if (columns < 6) {
+            return false;
+        }
+        int tickerEnd = end;
+        for (int i = bounds[6]; i < end; i++) {
+            if (line[i] == ',') {
+                tickerEnd = i;
+                break;
+            }
+        }
+
+        // 날짜 yyyy/MM/dd
+        int date = parseDate(line, bounds[0], bounds[1] - 1);
+        long close = parseNumber(line, bounds[1], bounds[2] - 1);
+        long open = parseNumber(line, bounds[2], bounds[3] - 1);
+        long high = parseNumber(line, bounds[3], bounds[4] - 1);
+        long low = parseNumber(line, bounds[4], bounds[5] - 1);
+        long volume = parseNumber(line, bounds[5], bounds[6] - 1);
+        if (date < 0 || close < 0 || open < 0 || high < 0 || low < 0 || volume < 0
+                || Math.max(Math.max(close, open), Math.max(high, low)) > Integer.MAX_VALUE) {
+            return false;
+        }
+
+        String ticker = tickers.get(line, bounds[6], tickerEnd);
+        if (ticker == null) {
+            return false;
+        }
+
+        int epochDay = toEpochDay(date);
+        if (epochDay < 0) {
+            return false;
+        }
+        BitSet stored = existingDates.computeIfAbsent(ticker, k -> new BitSet());
+        if (stored.get(epochDay)) {
+            duplicateSkipped.incrementAndGet();
+            return true;
+        }
+        stored.set(epochDay);
+
+        Long stockMasterId = stockMasterIds.computeIfAbsent(ticker, this::createStockMaster);
+        batch.add(stockMasterId, ticker, date, (int) open, (int) high, (int) low, (int) close, volume);
+        return true;
+    }
+
+    /**
+     * 작성 스레드: 배치 하나를 여러 행 INSERT 한 번으로 저장
+     */
+    private void writeBatches(BlockingQueue<RowBatch> queue) {
+        try {
+            while (true) {
+                RowBatch batch = queue.take();
+                if (batch == RowBatch.END) {
+                    return;
+                }
                 try {
-                    // CSV 데이터 파싱 (순서: date,close,open,high,low,volume,ticker)
-                    String csvDate = columns[0].trim();      
-                    String closeStr = columns[1].trim();    
-                    String openStr = columns[2].trim();      
-                    String highStr = columns[3].trim();      
-                    String lowStr = columns[4].trim();      
-                    String volumeStr = columns[5].trim();    
-                    String ticker = columns[6].trim();       
-                    
-                    // 날짜 형식 변환
-                    LocalDate date = LocalDate.parse(csvDate, CSV_DATE_FORMAT);
-                    String dbDate = date.format(DB_DATE_FORMAT);
-                    
-                    // 중복 데이터 체크
-                    if (historicalDataRepository.findByTickerAndDate(ticker, dbDate).isPresent()) {
-                        duplicateSkipped++;
-                        continue; // 이미 존재하는 데이터 스킵
-                    }
-                    
-                    // StockMaster 확인 및 생성
-                    StockMaster stockMaster = ensureStockMaster(ticker);
-                    
-                    // StockHistoricalData 생성
-                    StockHistoricalData data = StockHistoricalData.builder()
-                            .stockMaster(stockMaster)
-                            .ticker(ticker)
-                            .date(dbDate)
-                            .open(Integer.parseInt(openStr))
-                            .high(Integer.parseInt(highStr))
-                            .low(Integer.parseInt(lowStr))
-                            .close(Integer.parseInt(closeStr))
-                            .volume(Long.parseLong(volumeStr))
-                            .build();
-                    
-                    batchData.add(data);
-                    totalProcessed++;
-                    
-                    // 배치 저장 (트랜잭션 분리)
-                    if (batchData.size() >= batchSize) {
-                        saveBatch(batchData);
-                        totalSaved += batchData.size();
-                        log.info("배치 저장 완료: {}건 (총 처리: {}건, 저장: {}건, 중복 스킵: {}건)", 
-                                batchData.size(), totalProcessed, totalSaved, duplicateSkipped);
-                        batchData.clear();
-                    }
-                    
+                    jdbcTemplate.update(insertSql(batch.size), ps -> batch.bind(ps));
+                    rowsSaved.addAndGet(batch.size);
                 } catch (Exception e) {
-                    log.error("데이터 처리 실패: {} - {}", line, e.getMessage());
+                    failedRows.addAndGet(batch.size);
+                    log.error("배치 저장 실패: {}건 - {}", batch.size, e.getMessage());
                 }
             }
-            
-            // 마지막 배치 저장
-            if (!batchData.isEmpty()) {
-                saveBatch(batchData);
-                totalSaved += batchData.size();
-                log.info("최종 배치 저장 완료: {}건", batchData.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String insertSql(int rows) {
+        return insertSqlCache.computeIfAbsent(rows, n -> {
+            StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + n * (INSERT_ROW.length() + 1) + INSERT_SUFFIX.length());
+            sql.append(INSERT_PREFIX);
+            for (int i = 0; i < n; i++) {
+                if (i > 0) {
+                    sql.append(',');
+                }
+                sql.append(INSERT_ROW);
+            }
+            return sql.append(INSERT_SUFFIX).toString();
+        });
+    }
+
+    private Map<String, Long> loadStockMasterIds() {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, ticker FROM stock_master",
+                rs -> {
+                    ids.put(rs.getString(2), rs.getLong(1));
+                });
+        return ids;
+    }
+
+    /**
+     * 저장된 (종목, 날짜)를 종목별 BitSet(epoch day)으로 적재 (행마다 객체를 만들지 않도록)
+     */
+    private Map<String, BitSet> loadExistingDates() {
+        Map<String, BitSet> dates = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT ticker, date FROM stock_historical_data",
+                    java.sql.ResultSet.TYPE_FORWARD_ONLY, java.sql.ResultSet.CONCUR_READ_ONLY);
+            // MySQL 드라이버는 Integer.MIN_VALUE일 때 결과를 스트리밍으로 받음
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, rs -> {
+            String date = rs.getString(2);
+            if (date == null || date.length() != 8) {
+                return;
+            }
+            int epochDay = toEpochDay(Integer.parseInt(date));
+            if (epochDay >= 0) {
+                dates.computeIfAbsent(rs.getString(1), k -> new BitSet()).set(epochDay);
+            }
+        });
+        return dates;
+    }
+
+    private Long createStockMaster(String ticker) {
+        // 종목명 매핑
+        String stockName = stockNameMapper.getStockNameByCode(ticker);
+        StockMaster newStock = stockMasterRepository.findByTicker(ticker)
+                .orElseGet(() -> stockMasterRepository.save(StockMaster.builder()
+                        .ticker(ticker)
+                        .name(stockName)
+                        .build()));
+        log.info("새 종목 등록: {} - {}", ticker, newStock.getName());
+        return newStock.getId();
+    }
+
+    /**
+     * yyyy/MM/dd → yyyyMMdd (형식 오류면 -1)
+     */
+    private static int parseDate(byte[] line, int from, int to) {
+        int value = 0;
+        int digits = 0;
+        for (int i = from; i < to; i++) {
+            byte c = line[i];
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits++;
+            } else if (c != '/' && c != '-' && c != ' ') {
+                return -1;
             }
-            
-        } catch (IOException e) {
-            log.error("CSV 파일 읽기 실패: {}", e.getMessage());
-            throw new RuntimeException("CSV 파일 임포트 실패", e);
         }
-        
-        log.info("CSV 임포트 완료 - 총 처리: {}건, 저장: {}건, 중복 스킵: {}건", 
-                totalProcessed, totalSaved, duplicateSkipped);
+        return digits == 8 ? value : -1;
     }
-    
+
     /**
-     * 배치 데이터를 별도 트랜잭션으로 저장
+     * 음이 아닌 정수 (소수점 이하는 버림, 형식 오류면 -1)
      */
-    @Transactional
-    public void saveBatch(List<StockHistoricalData> batchData) {
+    private static long parseNumber(byte[] line, int from, int to) {
+        long value = 0;
+        int digits = 0;
+        boolean fraction = false;
+        for (int i = from; i < to; i++) {
+            byte c = line[i];
+            if (c >= '0' && c <= '9') {
+                if (!fraction) {
+                    value = value * 10 + (c - '0');
+                    digits++;
+                }
+            } else if (c == '.') {
+                fraction = true;
+            } else if (c != ' ' && c != '"') {
+                return -1;
+            }
+        }
+        return digits > 0 && digits <= 18 ? value : -1;
+    }
+
+    private static int toEpochDay(int yyyyMMdd) {
         try {
-            historicalDataRepository.saveAll(batchData);
-            log.debug("배치 저장 성공: {}건", batchData.size());
-        } catch (Exception e) {
-            log.error("배치 저장 실패: {}건 - {}", batchData.size(), e.getMessage());
-            throw e;
+            long epochDay = LocalDate.of(yyyyMMdd / 10000, yyyyMMdd / 100 % 100, yyyyMMdd % 100).toEpochDay();
+            return epochDay >= 0 && epochDay <= Integer.MAX_VALUE ? (int) epochDay : -1;
+        } catch (DateTimeException e) {
+            return -1;
         }
     }
-    
-    private StockMaster ensureStockMaster(String ticker) {
-        Optional<StockMaster> existing = stockMasterRepository.findByTicker(ticker);
-        if (existing.isPresent()) {
-            return existing.get();
+
+    private void resetProgress() {
+        linesRead.set(0);
+        rowsQueued.set(0);
+        rowsSaved.set(0);
+        duplicateSkipped.set(0);
+        invalidRows.set(0);
+        failedRows.set(0);
+        startTime = System.currentTimeMillis();
+        finishTime = 0;
+    }
+
+    /**
+     * 진행 현황 (읽은 줄, 저장/중복/오류 건수, 초당 저장 건수)
+     */
+    public Map<String, Object> getProgress() {
+        boolean active = running.get();
+        long elapsedMs = startTime == 0 ? 0 : (active || finishTime == 0 ? System.currentTimeMillis() : finishTime) - startTime;
+        long saved = rowsSaved.get();
+
+        Map<String, Object> progress = new HashMap<>();
+        progress.put("running", active);
+        progress.put("linesRead", linesRead.get());
+        progress.put("rowsQueued", rowsQueued.get());
+        progress.put("rowsSaved", saved);
+        progress.put("duplicateSkipped", duplicateSkipped.get());
+        progress.put("invalidRows", invalidRows.get());
+        progress.put("failedRows", failedRows.get());
+        progress.put("elapsedMs", elapsedMs);
+        progress.put("rowsPerSecond", elapsedMs > 0 ? saved * 1000 / elapsedMs : 0);
+        return progress;
+    }
+
+    /**
+     * 직전 줄과 같은 종목코드면 같은 문자열을 재사용 (CSV는 종목별로 모여 있음)
+     */
+    private static class TickerCache {
+        private final Map<String, String> interned = new HashMap<>();
+        private byte[] lastBytes = new byte[0];
+        private String last;
+
+        private String get(byte[] line, int from, int to) {
+            while (from < to && (line[from] == ' ' || line[from] == '"')) {
+                from++;
+            }
+            while (to > from && (line[to - 1] == ' ' || line[to - 1] == '"')) {
+                to--;
+            }
+            if (to - from == 0 || to - from > 10) {
+                return null;
+            }
+            if (last != null && Arrays.equals(lastBytes, 0, lastBytes.length, line, from, to)) {
+                return last;
+            }
+            String ticker = new String(line, from, to - from, StandardCharsets.US_ASCII);
+            last = interned.computeIfAbsent(ticker, k -> k);
+            lastBytes = Arrays.copyOfRange(line, from, to);
+            return last;
+        }
+    }
+
+    /**
+     * INSERT 한 번에 담을 행 묶음 (컬럼별 배열)
+     */
+    private static class RowBatch {
+        private static final RowBatch END = new RowBatch(0);
+
+        private final int capacity;
+        private final long[] stockMasterIds;
+        private final String[] tickers;
+        private final int[] dates;
+        private final int[] opens;
+        private final int[] highs;
+        private final int[] lows;
+        private final int[] closes;
+        private final long[] volumes;
+        private int size;
+
+        private RowBatch(int capacity) {
+            this.capacity = capacity;
+            this.stockMasterIds = new long[capacity];
+            this.tickers = new String[capacity];
+            this.dates = new int[capacity];
+            this.opens = new int[capacity];
+            this.highs = new int[capacity];
+            this.lows = new int[capacity];
+            this.closes = new int[capacity];
+            this.volumes = new long[capacity];
+        }
+
+        private void add(long stockMasterId, String ticker, int date, int open, int high, int low, int close, long volume) {
+            stockMasterIds[size] = stockMasterId;
+            tickers[size] = ticker;
+            dates[size] = date;
+            opens[size] = open;
+            highs[size] = high;
+            lows[size] = low;
+            closes[size] = close;
+            volumes[size] = volume;
+            size++;
+        }
+
+        private void bind(PreparedStatement ps) throws SQLException {
+            int index = 1;
+            for (int i = 0; i < size; i++) {
+                ps.setLong(index++, stockMasterIds[i]);
+                ps.setString(index++, tickers[i]);
+                ps.setString(index++, Integer.toString(dates[i]));
+                ps.setInt(index++, opens[i]);
+                ps.setInt(index++, highs[i]);
+                ps.setInt(index++, lows[i]);
+                ps.setInt(index++, closes[i]);
+                ps.setLong(index++, volumes[i]);
+            }
         }
-        
-        // 종목명 매핑 
-        String stockName = stockNameMapper.getStockNameByCode(ticker);
-        
-        StockMaster newStock = stockMasterRepository.save(StockMaster.builder()
-                .ticker(ticker)
-                .name(stockName)
-                .build());
-        
-        log.info("새 종목 등록: {} - {}", ticker, stockName);
-        return newStock;
     }
 }
@@ -0,0 +1,268 @@
+package com.hanapath.backend.stock.service;
+
+import com.hanapath.backend.stock.dto.CandleDto;
+import com.hanapath.backend.stock.entity.StockHistoricalData;
+import com.hanapath.backend.stock.entity.StockMaster;
+import com.hanapath.backend.stock.repository.StockHistoricalDataRepository;
+import com.hanapath.backend.stock.repository.StockMasterRepository;
+import com.hanapath.backend.stock.util.MarketCalendar;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 장 마감 후 일봉 정기 갱신
+ * - 종목마다 마지막 저장 일자 이후 빠진 구간만 조회해 Redis에 누적
+ * - stock_historical_data 테이블의 최근 구간에서 빠진 거래일을 찾아 채움
+ *   (MarketCalendar가 모르는 임시 휴장일/거래정지일은 새로 받은 KIS 일봉에 없으면 Redis에 기록해 이후 건너뜀)
+ * - KIS 호출로 수 분 걸리므로 공용 스케줄러 스레드가 아닌 전용 스레드에서 실행
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HistoricalDataRefreshService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final StockChartService stockChartService;
+    private final StockHistoricalDataService historicalDataService;
+    private final StockHistoricalDataRepository historicalDataRepository;
+    private final StockMasterRepository stockMasterRepository;
+    private final MarketCalendar marketCalendar;
+
+    @Value("${app.data.auto-refresh.enabled:false}")
+    private boolean autoRefreshEnabled;
+
+    @Value("${app.data.auto-refresh.gap-lookback-days:60}")
+    private int gapLookbackDays;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Map<String, Object> lastResult = new HashMap<>();
+
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "daily-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * 평일 장 마감 후 1회 실행 (기본 16:10 KST, 휴장일은 건너뜀)
+     */
+    @Scheduled(cron = "${app.data.auto-refresh.cron:0 10 16 * * MON-FRI}", zone = "Asia/Seoul")
+    public void scheduledRefresh() {
+        if (!autoRefreshEnabled) {
+            return;
+        }
+        if (!marketCalendar.isTradingDay(LocalDate.now(MarketCalendar.KST))) {
+            log.info("휴장일이므로 일봉 정기 갱신을 건너뜀");
+            return;
+        }
+        refreshExecutor.execute(this::refreshAll);
+    }
+
+    /**
+     * 전체 종목 갱신 (동시에 한 번만 실행)
+     */
+    public Map<String, Object> refreshAll() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("일봉 정기 갱신이 이미 실행 중");
+            return lastResult;
+        }
+
+        long startTime = System.currentTimeMillis();
+        int refreshed = 0;
+        int upToDate = 0;
+        int appended = 0;
+        int backfilled = 0;
+        int failed = 0;
+
+        try {
+            LocalDate target = marketCalendar.lastClosedTradingDay();
+            Set<String> tickers = historicalDataService.getCachedDailyTickers();
+            log.info("일봉 정기 갱신 시작 - {}개 종목, 기준일 {}", tickers.size(), target);
+
+            for (String ticker : tickers) {
+                try {
+                    int added = refreshTail(ticker, target);
+                    if (added < 0) {
+                        upToDate++;
+                    } else {
+                        refreshed++;
+                        appended += added;
+                    }
+                    backfilled += backfillHistoricalGaps(ticker, target);
+                } catch (Exception e) {
+                    failed++;
+                    log.error("{} 일봉 정기 갱신 실패", ticker, e);
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("refreshedTickers", refreshed);
+        result.put("upToDateTickers", upToDate);
+        result.put("appendedCandles", appended);
+        result.put("backfilledRows", backfilled);
+        result.put("failedTickers", failed);
+        result.put("durationMs", System.currentTimeMillis() - startTime);
+        lastResult = result;
+        log.info("일봉 정기 갱신 완료: {}", result);
+        return result;
+    }
+
+    public Map<String, Object> getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * 마지막 저장일 이후 구간만 조회 (이미 최신이면 -1)
+     */
+    private int refreshTail(String ticker, LocalDate target) {
+        String lastStored = historicalDataService.getLastStoredDate(ticker);
+        if (lastStored == null) {
+            return -1;
+        }
+        LocalDate lastDate = LocalDate.parse(lastStored, DATE_FORMATTER);
+        LocalDate today = LocalDate.now(MarketCalendar.KST);
+        // 오늘 봉은 장중에 저장되었을 수 있으므로 마감 후 한 번 더 받음
+        boolean todayCandle = lastDate.equals(target) && target.equals(today);
+        if (!lastDate.isBefore(target) && !todayCandle) {
+            return -1;
+        }
+
+        // 마지막 저장일 당일부터 다시 받아 장중에 저장된 미완성 봉도 확정값으로 교체
+        int days = (int) ChronoUnit.DAYS.between(lastDate, today) + 1;
+        List<CandleDto> tail = stockChartService.refreshDailyTail(ticker, days);
+        log.info("{} 일봉 {} 이후 {}건 갱신", ticker, lastStored, tail.size());
+        return tail.size();
+    }
+
+    /**
+     * 최근 gapLookbackDays일 동안 DB에 빠진 거래일을 Redis 일봉(없으면 KIS 조회)으로 채움
+     */
+    private int backfillHistoricalGaps(String ticker, LocalDate target) {
+        if (gapLookbackDays <= 0) {
+            return 0;
+        }
+        Optional<StockMaster> stockMaster = stockMasterRepository.findByTicker(ticker);
+        if (stockMaster.isEmpty()) {
+            return 0;
+        }
+
+        LocalDate from = target.minusDays(gapLookbackDays);
+        String fromDate = from.format(DATE_FORMATTER);
+        String toDate = target.format(DATE_FORMATTER);
+
+        Set<String> stored = new HashSet<>(historicalDataRepository.findDatesByTickerAndDateBetween(ticker, fromDate, toDate));
+        if (stored.isEmpty()) {
+            // 한 번도 적재되지 않은 종목은 CSV 적재 대상이므로 건드리지 않음
+            return 0;
+        }
+
+        Set<String> absent = historicalDataService.getAbsentDailyDates(ticker, fromDate, toDate);
+        Set<String> missing = new HashSet<>();
+        for (LocalDate day : marketCalendar.tradingDaysAfter(from.minusDays(1), target)) {
+            String date = day.format(DATE_FORMATTER);
+            if (!stored.contains(date) && !absent.contains(date)) {
+                missing.add(date);
+            }
+        }
+        if (missing.isEmpty()) {
+            return 0;
+        }
+
+        String firstMissing = missing.stream().min(String::compareTo).orElse(fromDate);
+        List<CandleDto> candles = historicalDataService.getDailyDataBetween(ticker, firstMissing, toDate);
+        Set<String> cachedDates = candles.stream().map(CandleDto::getDate).collect(Collectors.toSet());
+        if (!cachedDates.containsAll(missing)) {
+            int days = (int) ChronoUnit.DAYS.between(LocalDate.parse(firstMissing, DATE_FORMATTER),
+                    LocalDate.now(MarketCalendar.KST)) + 1;
+            List<CandleDto> fresh = stockChartService.refreshDailyTail(ticker, days);
+            recordAbsentDates(ticker, missing, fresh, fromDate);
+            candles = historicalDataService.getDailyDataBetween(ticker, firstMissing, toDate);
+        }
+
+        List<StockHistoricalData> rows = new ArrayList<>();
+        for (CandleDto candle : candles) {
+            if (!missing.contains(candle.getDate())) {
+                continue;
+            }
+            rows.add(StockHistoricalData.builder()
+                    .stockMaster(stockMaster.get())
+                    .ticker(ticker)
+                    .date(candle.getDate())
+                    .open(candle.getOpen())
+                    .high(candle.getHigh())
+                    .low(candle.getLow())
+                    .close(candle.getClose())
+                    .volume(candle.getVolume())
+                    .build());
+        }
+        if (!rows.isEmpty()) {
+            historicalDataRepository.saveAll(rows);
+            log.info("{} 과거 데이터 빈 날짜 {}건 보충 (빈 거래일 {}일)", ticker, rows.size(), missing.size());
+        }
+        return rows.size();
+    }
+
+    /**
+     * 새로 받은 KIS 일봉 구간 안에 있는데 KIS에 없는 날짜는 휴장일/거래정지일로 보고 기록
+     * - 조회 실패(빈 결과)나 받은 구간 밖의 날짜는 판단하지 않음
+     * - Redis에 보관해 재시작 후에도 유지, 조회 구간(lookback)보다 오래된 기록은 정리
+     */
+    private void recordAbsentDates(String ticker, Set<String> missing, List<CandleDto> fresh, String fromDate) {
+        if (fresh.isEmpty()) {
+            return;
+        }
+        Set<String> freshDates = new HashSet<>();
+        String first = null;
+        String last = null;
+        for (CandleDto candle : fresh) {
+            freshDates.add(candle.getDate());
+            if (first == null || candle.getDate().compareTo(first) < 0) {
+                first = candle.getDate();
+            }
+            if (last == null || candle.getDate().compareTo(last) > 0) {
+                last = candle.getDate();
+            }
+        }
+
+        Set<String> notInKis = new HashSet<>();
+        for (String date : missing) {
+            if (!freshDates.contains(date) && date.compareTo(first) >= 0 && date.compareTo(last) <= 0) {
+                notInKis.add(date);
+            }
+        }
+        if (notInKis.isEmpty()) {
+            return;
+        }
+        historicalDataService.addAbsentDailyDates(ticker, notInKis, fromDate, gapLookbackDays);
+        log.info("{} KIS 일봉에 없는 날짜 {}일은 휴장일/거래정지일로 보고 이후 보충 대상에서 제외: {}",
+                ticker, notInKis.size(), notInKis);
+    }
+}
@@ -0,0 +1,181 @@
+package com.hanapath.backend.stock.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hanapath.backend.stock.dto.CandleSeries;
+import com.hanapath.backend.stock.dto.IndicatorSeriesDto;
+import com.hanapath.backend.stock.util.TechnicalIndicator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일봉 시계열 보조지표 계산 (SMA/EMA, RSI, MACD, 볼린저 밴드, 거래량 이동평균, VWAP)
+ * - 종목/지표/파라미터별로 마지막 계산 상태와 결과를 기억
+ * - 일봉이 뒤에 추가되면 추가된 캔들만 이어서 계산 (마지막 캔들은 장중에 바뀔 수 있어 매번 다시 계산)
+ * - 시계열 시작점이 바뀌거나 과거 캔들이 바뀌면 처음부터 다시 계산
+ * - 계산 상태 캐시는 항목 수가 아니라 결과 배열 크기(바이트)로 제한
+ */
+@Slf4j
+@Service
+public class IndicatorService {
+
+    private static final int MAX_DAILY_CANDLES = 2000;
+
+    private final StockHistoricalDataService historicalDataService;
+    private final StockChartService stockChartService;
+
+    // "종목:지표키" → 계산 상태
+    private final Cache<String, IndicatorTrack> tracks;
+
+    public IndicatorService(StockHistoricalDataService historicalDataService,
+                            StockChartService stockChartService,
+                            @Value("${app.stock.indicators.max-weight-bytes:67108864}") long maxWeightBytes) {
+        this.historicalDataService = historicalDataService;
+        this.stockChartService = stockChartService;
+        this.tracks = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String key, IndicatorTrack track) -> track.weight())
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .build();
+    }
+
+    /**
+     * 최신 count건 구간의 지표 값 (지표 형식이 잘못되면 IllegalArgumentException)
+     */
+    public IndicatorSeriesDto getIndicators(String ticker, List<String> specs, int count) {
+        List<TechnicalIndicator> indicators = new ArrayList<>();
+        int warmup = 0;
+        for (String spec : specs) {
+            if (spec.isBlank()) {
+                continue;
+            }
+            TechnicalIndicator indicator = TechnicalIndicator.parse(spec);
+            indicators.add(indicator);
+            warmup = Math.max(warmup, indicator.warmup());
+        }
+
+        // 지표는 보관 중인 일봉 전체로 계산해 시작점이 요청마다 달라지지 않도록 함
+        CandleSeries series = historicalDataService.getDailySeries(ticker, MAX_DAILY_CANDLES);
+        int required = Math.min(MAX_DAILY_CANDLES, count + warmup);
+        if (series.size() < required) {
+            stockChartService.getDailyChart(ticker, required);
+            series = historicalDataService.getDailySeries(ticker, MAX_DAILY_CANDLES);
+        }
+
+        int size = series.size();
+        int from = Math.max(0, size - count);
+        List<String> dates = new ArrayList<>(size - from);
+        for (int i = from; i < size; i++) {
+            dates.add(String.valueOf(series.dateAt(i)));
+        }
+
+        Map<String, Map<String, List<Double>>> values = new LinkedHashMap<>();
+        for (TechnicalIndicator indicator : indicators) {
+            IndicatorTrack track = tracks.get(ticker + ":" + indicator.key(), k -> new IndicatorTrack(indicator));
+            values.put(indicator.key(), track.values(series, from));
+        }
+
+        return IndicatorSeriesDto.builder()
+                .ticker(ticker)
+                .dates(dates)
+                .indicators(values)
+                .build();
+    }
+
+    /**
+     * 지표 하나의 누적 계산 상태
+     */
+    private static final class IndicatorTrack {
+        private final TechnicalIndicator initial;
+        private final String[] lines;
+
+        private TechnicalIndicator confirmed;  // 마지막 캔들을 제외한 구간까지 반영한 상태
+        private int confirmedSize;
+        private int firstDate;
+        private int lastConfirmedDate;
+        private int lastConfirmedClose;
+        private double[][] out;
+        private CandleSeries synced;
+
+        private IndicatorTrack(TechnicalIndicator indicator) {
+            this.initial = indicator.copy();
+            this.lines = indicator.lines();
+            this.confirmed = indicator.copy();
+            this.out = new double[lines.length][0];
+        }
+
+        /**
+         * 결과 배열이 가질 수 있는 최대 크기 (캐시 가중치, 바이트)
+         * - 배열은 시계열 크기만큼만 잡고 시계열은 MAX_DAILY_CANDLES건을 넘지 않음
+         */
+        private int weight() {
+            return lines.length * MAX_DAILY_CANDLES * Double.BYTES;
+        }
+
+        private synchronized Map<String, List<Double>> values(CandleSeries series, int from) {
+            sync(series);
+            Map<String, List<Double>> result = new LinkedHashMap<>();
+            for (int line = 0; line < lines.length; line++) {
+                List<Double> list = new ArrayList<>(series.size() - from);
+                for (int i = from; i < series.size(); i++) {
+                    double value = out[line][i];
+                    list.add(Double.isNaN(value) ? null : value);
+                }
+                result.put(lines[line], list);
+            }
+            return result;
+        }
+
+        private void sync(CandleSeries series) {
+            if (series == synced) {
+                return;
+            }
+            int size = series.size();
+            boolean appendOnly = confirmedSize > 0
+                    && size > confirmedSize
+                    && series.dateAt(0) == firstDate
+                    && series.dateAt(confirmedSize - 1) == lastConfirmedDate
+                    && series.closeAt(confirmedSize - 1) == lastConfirmedClose;
+            if (!appendOnly) {
+                confirmed = initial.copy();
+                confirmedSize = 0;
+            }
+
+            ensureCapacity(size);
+            for (int i = confirmedSize; i < size - 1; i++) {
+                confirmed.update(series, i, out);
+            }
+            if (size > 0) {
+                confirmedSize = size - 1;
+                firstDate = series.dateAt(0);
+                if (confirmedSize > 0) {
+                    lastConfirmedDate = series.dateAt(confirmedSize - 1);
+                    lastConfirmedClose = series.closeAt(confirmedSize - 1);
+                }
+                // 마지막 캔들은 확정 상태의 복사본으로 계산
+                confirmed.copy().update(series, size - 1, out);
+            }
+            synced = series;
+        }
+
+        /**
+         * 시계열 크기에 딱 맞게 확장 (일봉은 하루 1건씩 늘어나므로 여유분을 두지 않음)
+         */
+        private void ensureCapacity(int size) {
+            if (out[0].length >= size) {
+                return;
+            }
+            for (int line = 0; line < out.length; line++) {
+                out[line] = Arrays.copyOf(out[line], size);
+            }
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.hanapath.backend.stock.service;
+
+import com.hanapath.backend.stock.dto.CandleDto;
+import com.hanapath.backend.stock.dto.TradeExecutionDto;
+import com.hanapath.backend.stock.entity.StockIntradayBar;
+import com.hanapath.backend.stock.publisher.StockRealtimePublisher;
+import com.hanapath.backend.stock.repository.StockIntradayBarRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 실시간 체결로 1분/5분/15분봉을 만드는 집계기
+ * - 종목/주기마다 기본형 배열 링버퍼에 최근 봉을 보관하고, 진행 중인 봉은 체결마다 갱신
+ * - 봉은 체결이 없어도 시계(분 경계) 기준으로 마감되며, 마감된 봉은 Mongo에 저장
+ * - 진행 중인 봉은 주기적으로 /topic/stock/{ticker}/bars/{interval} 로 전송
+ */
+@Slf4j
+@Service
+public class IntradayBarAggregator {
+
+    public static final int[] INTERVALS = {1, 5, 15};
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HHmmss");
+
+    private final StockRealtimePublisher publisher;
+    private final StockIntradayBarRepository barRepository;
+    private final MongoTemplate mongoTemplate;
+    private final int ringCapacity;
+
+    // "ticker:interval" → 봉 링버퍼
+    private final ConcurrentHashMap<String, BarRing> rings = new ConcurrentHashMap<>();
+    private final Set<BarRing> updatedRings = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<StockIntradayBar> closedBars = new ConcurrentLinkedQueue<>();
+
+    public IntradayBarAggregator(StockRealtimePublisher publisher,
+                                 StockIntradayBarRepository barRepository,
+                                 MongoTemplate mongoTemplate,
+                                 @Value("${app.realtime.bars.ring-capacity:400}") int ringCapacity) {
+        this.publisher = publisher;
+        this.barRepository = barRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.ringCapacity = ringCapacity;
+    }
+
+    @PostConstruct
+    public void ensureIndexes() {
+        try {
+            mongoTemplate.indexOps(StockIntradayBar.class).createIndex(new Index()
+                    .on("ticker", Sort.Direction.ASC)
+                    .on("interval", Sort.Direction.ASC)
+                    .on("start", Sort.Direction.ASC)
+                    .unique()
+                    .named("ticker_interval_start"));
+        } catch (Exception e) {
+            log.warn("분봉 인덱스 생성 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 체결 1건을 모든 주기의 봉에 반영
+     */
+    public void onExecution(TradeExecutionDto dto) {
+        if (dto.getPrice() <= 0) {
+            return;
+        }
+        long timestamp = dto.getTimestamp() > 0 ? dto.getTimestamp() : System.currentTimeMillis();
+        for (int interval : INTERVALS) {
+            BarRing ring = rings.computeIfAbsent(dto.getTicker() + ":" + interval,
+                    k -> new BarRing(dto.getTicker(), interval, ringCapacity));
+            StockIntradayBar closed;
+            synchronized (ring) {
+                closed = ring.apply(timestamp, dto.getPrice(), dto.getVolume());
+            }
+            if (closed != null) {
+                onBarClosed(ring, closed);
+            }
+            updatedRings.add(ring);
+        }
+    }
+
+    /**
+     * 시계 기준으로 끝난 봉 마감 + 진행 중인 봉 전송 (기본 1초)
+     */
+    @Scheduled(fixedRateString = "${app.realtime.bars.publish-interval-ms:1000}")
+    public void tick() {
+        long now = System.currentTimeMillis();
+        for (BarRing ring : rings.values()) {
+            StockIntradayBar closed;
+            synchronized (ring) {
+                closed = ring.closeIfEnded(now);
+            }
+            if (closed != null) {
+                onBarClosed(ring, closed);
+            }
+        }
+
+        for (BarRing ring : updatedRings) {
+            updatedRings.remove(ring);
+            CandleDto current;
+            synchronized (ring) {
+                current = ring.currentCandle();
+            }
+            if (current != null) {
+                publisher.sendBar(ring.ticker, ring.interval, current);
+            }
+        }
+
+        persistClosedBars();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        persistClosedBars();
+    }
+
+    /**
+     * 최근 count개 분봉 (오래된 순, 진행 중인 봉 포함)
+     * - 메모리에 부족하면 Mongo에 저장된 이전 봉으로 채움
+     */
+    public List<CandleDto> getBars(String ticker, int interval, int count) {
+        List<CandleDto> bars = new ArrayList<>();
+        BarRing ring = rings.get(ticker + ":" + interval);
+        long oldestStart = Long.MAX_VALUE;
+        if (ring != null) {
+            synchronized (ring) {
+                bars.addAll(ring.latest(count));
+                oldestStart = ring.oldestStart();
+            }
+        }
+
+        int missing = count - bars.size();
+        if (missing > 0) {
+            LocalDateTime before = oldestStart == Long.MAX_VALUE
+                    ? LocalDateTime.now(KST).plusDays(1)
+                    : toDateTime(oldestStart);
+            try {
+                List<StockIntradayBar> stored = barRepository.findByTickerAndIntervalAndStartBeforeOrderByStartDesc(
+                        ticker, interval, before, PageRequest.of(0, missing));
+                List<CandleDto> older = new ArrayList<>(stored.size());
+                for (StockIntradayBar bar : stored) {
+                    older.add(toCandle(bar));
+                }
+                Collections.reverse(older);
+                older.addAll(bars);
+                bars = older;
+            } catch (Exception e) {
+                log.error("저장된 분봉 조회 실패: {} ({}분)", ticker, interval, e);
+            }
+        }
+        return bars;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("series", rings.size());
+        stats.put("pendingClosedBars", closedBars.size());
+        return stats;
+    }
+
+    private void onBarClosed(BarRing ring, StockIntradayBar closed) {
+        closedBars.add(closed);
+        // 마감된 봉도 최종값으로 한 번 더 전송
+        publisher.sendBar(ring.ticker, ring.interval, toCandle(closed));
+    }
+
+    private void persistClosedBars() {
+        if (closedBars.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StockIntradayBar.class);
+        int count = 0;
+        StockIntradayBar bar;
+        while ((bar = closedBars.poll()) != null) {
+            Query query = Query.query(Criteria.where("ticker").is(bar.getTicker())
+                    .and("interval").is(bar.getInterval())
+                    .and("start").is(bar.getStart()));
+            Update update = new Update()
+                    .set("open", bar.getOpen())
+                    .set("high", bar.getHigh())
+                    .set("low", bar.getLow())
+                    .set("close", bar.getClose())
+                    .set("volume", bar.getVolume());
+            bulk.upsert(query, update);
+            count++;
+        }
+        try {
+            bulk.execute();
+        } catch (Exception e) {
+            log.error("분봉 저장 실패 - {}건", count, e);
+        }
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), KST);
+    }
+
+    private static CandleDto toCandle(StockIntradayBar bar) {
+        return CandleDto.builder()
+                .ticker(bar.getTicker())
+                .date(bar.getStart().format(DATE_FORMATTER))
+                .time(bar.getStart().format(TIME_FORMATTER))
+                .open(bar.getOpen())
+                .high(bar.getHigh())
+                .low(bar.getLow())
+                .close(bar.getClose())
+                .volume(bar.getVolume())
+                .build();
+    }
+
+    /**
+     * 종목/주기 하나의 봉 링버퍼 (호출자가 동기화)
+     */
+    private static final class BarRing {
+        private final String ticker;
+        private final int interval;
+        private final long intervalMillis;
+
+        private final long[] starts;
+        private final int[] opens;
+        private final int[] highs;
+        private final int[] lows;
+        private final int[] closes;
+        private final long[] volumes;
+        private int head;   // 다음에 쓸 위치
+        private int size;
+
+        // 진행 중인 봉 (currentStart < 0 이면 없음)
+        private long currentStart = -1;
+        private int open;
+        private int high;
+        private int low;
+        private int close;
+        private long volume;
+
+        // 마지막으로 마감한 봉의 시작 시각 (시계 기준 마감 후에도 늦은 체결 판정에 사용)
+        private long lastClosedStart = -1;
+
+        private BarRing(String ticker, int interval, int capacity) {
+            this.ticker = ticker;
+            this.interval = interval;
+            this.intervalMillis = interval * 60_000L;
+            this.starts = new long[capacity];
+            this.opens = new int[capacity];
+            this.highs = new int[capacity];
+            this.lows = new int[capacity];
+            this.closes = new int[capacity];
+            this.volumes = new long[capacity];
+        }
+
+        /**
+         * 체결 반영, 새 구간으로 넘어가며 마감된 봉이 있으면 반환
+         */
+        private StockIntradayBar apply(long timestamp, int price, long tradeVolume) {
+            long barStart = timestamp - Math.floorMod(timestamp, intervalMillis);
+            if (barStart <= lastClosedStart || (currentStart >= 0 && barStart < currentStart)) {
+                // 이미 마감된 구간의 늦은 체결은 버림 (같은 시작 시각의 봉을 다시 열어 저장된 봉을 덮어쓰지 않도록)
+                return null;
+            }
+
+            StockIntradayBar closed = null;
+            if (currentStart >= 0 && barStart > currentStart) {
+                closed = closeCurrent();
+            }
+            if (currentStart < 0) {
+                currentStart = barStart;
+                open = price;
+                high = price;
+                low = price;
+                volume = 0;
+            }
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+            close = price;
+            volume += tradeVolume;
+            return closed;
+        }
+
+        private StockIntradayBar closeIfEnded(long now) {
+            if (currentStart >= 0 && now >= currentStart + intervalMillis) {
+                return closeCurrent();
+            }
+            return null;
+        }
+
+        private StockIntradayBar closeCurrent() {
+            starts[head] = currentStart;
+            opens[head] = open;
+            highs[head] = high;
+            lows[head] = low;
+            closes[head] = close;
+            volumes[head] = volume;
+            head = (head + 1) % starts.length;
+            size = Math.min(size + 1, starts.length);
+
+            StockIntradayBar closed = StockIntradayBar.builder()
+                    .ticker(ticker)
+                    .interval(interval)
+                    .start(toDateTime(currentStart))
+                    .open(open)
+                    .high(high)
+                    .low(low)
+                    .close(close)
+                    .volume(volume)
+                    .build();
+            lastClosedStart = currentStart;
+            currentStart = -1;
+            return closed;
+        }
+
+        private CandleDto currentCandle() {
+            return currentStart < 0 ? null : candle(currentStart, open, high, low, close, volume);
+        }
+
+        private long oldestStart() {
+            if (size > 0) {
+                return starts[(head - size + starts.length) % starts.length];
+            }
+            return currentStart >= 0 ? currentStart : Long.MAX_VALUE;
+        }
+
+        private List<CandleDto> latest(int count) {
+            int withCurrent = currentStart >= 0 ? 1 : 0;
+            int fromRing = Math.max(0, Math.min(size, count - withCurrent));
+            List<CandleDto> result = new ArrayList<>(fromRing + withCurrent);
+            for (int i = fromRing; i > 0; i--) {
+                int index = (head - i + starts.length) % starts.length;
+                result.add(candle(starts[index], opens[index], highs[index], lows[index], closes[index], volumes[index]));
+            }
+            if (withCurrent == 1 && count > 0) {
+                result.add(currentCandle());
+            }
+            return result;
+        }
+
+        private CandleDto candle(long start, int o, int h, int l, int c, long v) {
+            LocalDateTime time = toDateTime(start);
+            return CandleDto.builder()
+                    .ticker(ticker)
+                    .date(time.format(DATE_FORMATTER))
+                    .time(time.format(TIME_FORMATTER))
+                    .open(o)
+                    .high(h)
+                    .low(l)
+                    .close(c)
+                    .volume(v)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.hanapath.backend.stock.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hanapath.backend.stock.dto.CandleDto;
+import com.hanapath.backend.stock.dto.StockInfoDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * KIS REST API 차트/종목 정보 클라이언트
+ * - 하나의 WebClient로 커넥션을 재사용하고, 접근 토큰은 만료 전까지 메모리에 캐시
+ * - 기간 조회는 한 번에 100건씩 내려오므로 가장 오래된 날짜 이전으로 이어서 페이징
+ *   (페이징 전체에 chartTimeout을 두고, 넘기면 그때까지 받은 페이지만 반환)
+ * - 모든 REST 호출은 KisRateLimiter로 초당 한도를 지킴
+ */
+@Slf4j
+@Component
+public class KisChartClient {
+
+    private static final String LIVE_BASE_URL = "https://openapi.koreainvestment.com:9443";
+    private static final String MOCK_BASE_URL = "https://openapivts.koreainvestment.com:29443";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private static final int MAX_PERIOD_DAYS = 2000;
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGES = 30;
+
+    private final WebClient webClient;
+    private final String appKey;
+    private final String appSecret;
+    private final Duration requestTimeout;
+    private final Duration chartTimeout;
+    private final Mono<String> accessToken;
+    private final KisRateLimiter rateLimiter;
+
+    public KisChartClient(KisRateLimiter rateLimiter,
+                          @Value("${app.kis.env:mock}") String kisEnv,
+                          @Value("${app.kis.app-key:}") String appKey,
+                          @Value("${app.kis.app-secret:}") String appSecret,
+                          @Value("${app.kis.request-timeout-ms:10000}") long requestTimeoutMs,
+                          @Value("${app.kis.chart-timeout-ms:30000}") long chartTimeoutMs,
+                          @Value("${app.kis.base-url:}") String baseUrl) {
+        this.rateLimiter = rateLimiter;
+        this.appKey = appKey;
+        this.appSecret = appSecret;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.chartTimeout = Duration.ofMillis(chartTimeoutMs);
+        this.webClient = WebClient.builder()
+                .baseUrl(!baseUrl.isBlank() ? baseUrl : "live".equalsIgnoreCase(kisEnv) ? LIVE_BASE_URL : MOCK_BASE_URL)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+
+        // 토큰은 만료 10분 전까지 재사용, 발급 실패는 캐시하지 않음
+        this.accessToken = issueAccessToken()
+                .cache(token -> token.ttl,
+                        error -> Duration.ZERO,
+                        () -> Duration.ZERO)
+                .map(token -> token.value);
+    }
+
+    /**
+     * 앱 키가 설정되어 있어야 네이티브 클라이언트 사용 가능
+     */
+    public boolean isConfigured() {
+        return !appKey.isBlank() && !appSecret.isBlank();
+    }
+
+    /**
+     * 차트 데이터 조회 (chartType: daily, weekly / period: 일 단위)
+     * - 시간 제한은 fetchCandles가 지키므로 block 시간은 여유만 더함
+     */
+    public List<CandleDto> getChartData(String ticker, String chartType, int period) {
+        List<CandleDto> candles = fetchChartData(ticker, chartType, period).block(chartTimeout.plus(requestTimeout));
+        return candles != null ? candles : new ArrayList<>();
+    }
+
+    /**
+     * 종목 기본 정보 조회 (실패 시 null)
+     */
+    public StockInfoDto getStockInfo(String ticker) {
+        return fetchStockInfo(ticker).block(requestTimeout);
+    }
+
+    public Mono<List<CandleDto>> fetchChartData(String ticker, String chartType, int period) {
+        LocalDate end = LocalDate.now(KST);
+        if ("weekly".equals(chartType)) {
+            int weeks = Math.min(period / 7, 156);
+            return fetchCandles(ticker, "W", end.minusWeeks(weeks), end);
+        }
+        return fetchCandles(ticker, "D", end.minusDays(Math.min(period, MAX_PERIOD_DAYS)), end);
+    }
+
+    /**
+     * 기간별 캔들 조회 (periodCode: D 일봉, W 주봉, M 월봉)
+     * - 페이징 도중 실패(오류 응답 포함)하거나 chartTimeout을 넘기면 그때까지 받은 캔들만 반환
+     * - 시간 초과 시 취소와 응답 처리가 다른 스레드에서 겹칠 수 있어 byDate는 잠근 채 읽고 씀
+     */
+    public Mono<List<CandleDto>> fetchCandles(String ticker, String periodCode, LocalDate start, LocalDate end) {
+        return Mono.defer(() -> {
+            TreeMap<String, CandleDto> byDate = new TreeMap<>();
+            return fetchCandlePage(ticker, periodCode, start, end)
+                    .expand(page -> page.hasNext(start)
+                            ? fetchCandlePage(ticker, periodCode, start, page.oldestDate.minusDays(1))
+                            : Mono.empty())
+                    .take(MAX_PAGES)
+                    .doOnNext(page -> {
+                        synchronized (byDate) {
+                            page.candles.forEach(candle -> byDate.put(candle.getDate(), candle));
+                        }
+                    })
+                    .then(Mono.fromCallable(() -> snapshot(byDate)))
+                    .timeout(chartTimeout)
+                    .onErrorResume(e -> {
+                        List<CandleDto> fetched = snapshot(byDate);
+                        log.error("KIS 차트 조회 실패: {} ({} ~ {}), 받은 {}건만 반환", ticker, start, end, fetched.size(), e);
+                        return Mono.just(fetched);
+                    });
+        });
+    }
+
+    private static List<CandleDto> snapshot(TreeMap<String, CandleDto> byDate) {
+        synchronized (byDate) {
+            return new ArrayList<>(byDate.values());
+        }
+    }
+
+    public Mono<StockInfoDto> fetchStockInfo(String ticker) {
+        return rateLimiter.acquireAsync().then(accessToken).flatMap(token -> webClient.get()
+                        .uri(uri -> uri.path("/uapi/domestic-stock/v1/quotations/inquire-price")
+                                .queryParam("fid_cond_mrkt_div_code", "J")
+                                .queryParam("fid_input_iscd", ticker)
+                                .build())
+                        .headers(headers -> applyAuthHeaders(headers, token, "FHKST01010100"))
+                        .retrieve()
+                        .bodyToMono(JsonNode.class)
+                        .timeout(requestTimeout))
+                .flatMap(body -> {
+                    if (!"0".equals(body.path("rt_cd").asText())) {
+                        log.warn("KIS 종목 정보 오류 응답: {} - {}", ticker, body.path("msg1").asText());
+                        return Mono.empty();
+                    }
+                    JsonNode output = body.path("output");
+                    return output.isObject() && !output.isEmpty()
+                            ? Mono.just(toStockInfo(ticker, output))
+                            : Mono.empty();
+                })
+                .onErrorResume(e -> {
+                    log.error("KIS 종목 정보 조회 실패: {}", ticker, e);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<CandlePage> fetchCandlePage(String ticker, String periodCode, LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            return Mono.empty();
+        }
+        // 페이지마다 호출 한도 허가를 받은 뒤 요청
+        return rateLimiter.acquireAsync().then(accessToken).flatMap(token -> webClient.get()
+                        .uri(uri -> uri.path("/uapi/domestic-stock/v1/quotations/inquire-daily-itemchartprice")
+                                .queryParam("fid_cond_mrkt_div_code", "J")
+                                .queryParam("fid_input_iscd", ticker)
+                                .queryParam("fid_input_date_1", start.format(DATE_FORMATTER))
+                                .queryParam("fid_input_date_2", end.format(DATE_FORMATTER))
+                                .queryParam("fid_period_div_code", periodCode)
+                                .queryParam("fid_org_adj_prc", "0")
+                                .build())
+                        .headers(headers -> applyAuthHeaders(headers, token, "FHKST03010100"))
+                        .retrieve()
+                        .bodyToMono(JsonNode.class)
+                        .timeout(requestTimeout))
+                .map(body -> toCandlePage(ticker, body));
+    }
+
+    private CandlePage toCandlePage(String ticker, JsonNode body) {
+        if (!"0".equals(body.path("rt_cd").asText())) {
+            // 빈 페이지로 넘기면 페이징이 조용히 끝나므로 오류로 올려 fetchCandles에서 기록
+            throw new IllegalStateException("KIS 차트 오류 응답: " + ticker + " - "
+                    + body.path("msg_cd").asText() + " " + body.path("msg1").asText());
+        }
+
+        List<CandleDto> candles = new ArrayList<>();
+        LocalDate oldestDate = null;
+        for (JsonNode item : body.path("output2")) {
+            String date = item.path("stck_bsop_date").asText("");
+            if (date.isEmpty()) {
+                continue;
+            }
+            candles.add(CandleDto.builder()
+                    .ticker(ticker)
+                    .date(date)
+                    .time("")
+                    .open(parseInt(item, "stck_oprc"))
+                    .high(parseInt(item, "stck_hgpr"))
+                    .low(parseInt(item, "stck_lwpr"))
+                    .close(parseInt(item, "stck_clpr"))
+                    .volume(parseLong(item, "acml_vol"))
+                    .build());
+
+            LocalDate parsed = LocalDate.parse(date, DATE_FORMATTER);
+            if (oldestDate == null || parsed.isBefore(oldestDate)) {
+                oldestDate = parsed;
+            }
+        }
+        return new CandlePage(candles, oldestDate);
+    }
+
+    private StockInfoDto toStockInfo(String ticker, JsonNode output) {
+        return StockInfoDto.builder()
+                .ticker(ticker)
+                .name(output.path("hts_kor_isnm").asText(""))
+                .currentPrice(parseInt(output, "stck_prpr"))
+                .changeAmount(parseInt(output, "prdy_vrss"))
+                .changeRate(parseDouble(output, "prdy_ctrt"))
+                .openPrice(parseInt(output, "stck_oprc"))
+                .highPrice(parseInt(output, "stck_hgpr"))
+                .lowPrice(parseInt(output, "stck_lwpr"))
+                .volume(parseLong(output, "acml_vol"))
+                .tradingValue(parseLong(output, "acml_tr_pbmn"))
+                .marketCap(parseLong(output, "hts_avls") * 1000000L)
+                .capital(parseLong(output, "cpfn") * 100000000L)
+                .per(parseDouble(output, "per"))
+                .pbr(parseDouble(output, "pbr"))
+                .eps(parseInt(output, "eps"))
+                .bps(parseInt(output, "bps"))
+                .sector(output.path("bstp_kor_isnm").asText(""))
+                .listingShares(parseLong(output, "lstn_stcn"))
+                .build();
+    }
+
+    private Mono<AccessTokenHolder> issueAccessToken() {
+        return Mono.defer(() -> {
+            if (!isConfigured()) {
+                return Mono.error(new IllegalStateException("KIS 앱 키가 설정되지 않았습니다."));
+            }
+            log.info("KIS 접근 토큰 발급 요청");
+            return webClient.post()
+                    .uri("/oauth2/tokenP")
+                    .bodyValue(Map.of(
+                            "grant_type", "client_credentials",
+                            "appkey", appKey,
+                            "appsecret", appSecret))
+                    .retrieve()
+                    .bodyToMono(JsonNode.class)
+                    .timeout(requestTimeout)
+                    .map(body -> {
+                        long expiresIn = body.path("expires_in").asLong(86400);
+                        Duration ttl = Duration.ofSeconds(Math.max(60, expiresIn - 600));
+                        log.info("KIS 접근 토큰 발급 완료 (유효 {}초)", expiresIn);
+                        return new AccessTokenHolder(body.path("access_token").asText(), ttl);
+                    });
+        });
+    }
+
+    private void applyAuthHeaders(HttpHeaders headers, String token, String trId) {
+        headers.setBearerAuth(token);
+        headers.set("appkey", appKey);
+        headers.set("appsecret", appSecret);
+        headers.set("tr_id", trId);
+        headers.set("custtype", "P");
+    }
+
+    private int parseInt(JsonNode node, String key) {
+        return (int) parseDouble(node, key);
+    }
+
+    private long parseLong(JsonNode node, String key) {
+        String value = node.path(key).asText("");
+        try {
+            return value.isEmpty() ? 0L : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return (long) parseDouble(node, key);
+        }
+    }
+
+    private double parseDouble(JsonNode node, String key) {
+        String value = node.path(key).asText("");
+        try {
+            return value.isEmpty() ? 0.0 : Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    /**
+     * 페이지 1회분 조회 결과
+     */
+    private static class CandlePage {
+        private final List<CandleDto> candles;
+        private final LocalDate oldestDate;
+
+        private CandlePage(List<CandleDto> candles, LocalDate oldestDate) {
+            this.candles = candles;
+            this.oldestDate = oldestDate;
+        }
+
+        private boolean hasNext(LocalDate start) {
+            return candles.size() >= PAGE_SIZE && oldestDate != null && oldestDate.isAfter(start);
+        }
+    }
+
+    private static class AccessTokenHolder {
+        private final String value;
+        private final Duration ttl;
+
+        private AccessTokenHolder(String value, Duration ttl) {
+            this.value = value;
+            this.ttl = ttl;
+        }
+    }
+}
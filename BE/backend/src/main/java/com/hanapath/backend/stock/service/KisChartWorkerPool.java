@@ -0,0 +1,296 @@
+package com.hanapath.backend.stock.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상주형 KIS 차트 워커(kis_chart_worker.py) 프로세스 풀
+ * - 요청마다 bash + python을 새로 띄우지 않고, 미리 띄워둔 워커와 한 줄 JSON으로 통신
+ * - 워커마다 전용 요청 큐를 두고, 호출자는 정해진 시간까지만 대기
+ * - 헬스체크는 전용 스레드에서 실행 (ping 대기가 공용 @Scheduled 스레드를 잡지 않도록)
+ */
+@Slf4j
+@Component
+public class KisChartWorkerPool {
+
+    @Value("${app.chart.worker.pool-size:2}")
+    private int poolSize;
+
+    @Value("${app.chart.worker.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${app.chart.worker.request-timeout-ms:10000}")
+    private long requestTimeoutMs;
+
+    @Value("${app.chart.worker.health-check-timeout-ms:3000}")
+    private long healthCheckTimeoutMs;
+
+    @Value("${app.chart.worker.health-check-interval-ms:30000}")
+    private long healthCheckIntervalMs;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Worker> workers = new ArrayList<>();
+    private final AtomicLong requestSequence = new AtomicLong();
+    private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kis-chart-health");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        String realtimeDir = System.getProperty("user.dir") + "/realtime";
+        for (int i = 0; i < poolSize; i++) {
+            workers.add(new Worker(i, realtimeDir));
+        }
+        healthChecker.scheduleWithFixedDelay(this::healthCheckSafely,
+                healthCheckIntervalMs, healthCheckIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("KIS 차트 워커 풀 준비 - 워커 {}개, 워커당 큐 {}건", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        healthChecker.shutdownNow();
+        workers.forEach(Worker::shutdown);
+        log.info("KIS 차트 워커 풀 종료");
+    }
+
+    /**
+     * 차트 데이터 조회 (실패 시 null)
+     */
+    public JsonNode fetchChart(String ticker, String chartType, int period) {
+        ObjectNode request = newRequest("chart");
+        request.put("ticker", ticker);
+        request.put("chartType", chartType);
+        request.put("period", period);
+        return execute(request, requestTimeoutMs);
+    }
+
+    /**
+     * 종목 정보 조회 (실패 시 null)
+     */
+    public JsonNode fetchStockInfo(String ticker) {
+        ObjectNode request = newRequest("info");
+        request.put("ticker", ticker);
+        return execute(request, requestTimeoutMs);
+    }
+
+    /**
+     * 유휴 워커에 ping을 보내 응답이 없으면 재시작 (kis-chart-health 스레드)
+     */
+    private void healthCheck() {
+        for (Worker worker : workers) {
+            if (!worker.isIdle()) {
+                continue;
+            }
+            JsonNode pong = execute(worker, newRequest("ping"), healthCheckTimeoutMs);
+            if (pong == null) {
+                log.warn("KIS 차트 워커 #{} 헬스체크 실패, 재시작 예정", worker.index);
+                worker.destroyProcess();
+            }
+        }
+    }
+
+    private void healthCheckSafely() {
+        try {
+            healthCheck();
+        } catch (Exception e) {
+            // 예외가 나가면 이후 실행이 취소되므로 여기서 막음
+            log.error("KIS 차트 워커 헬스체크 실패", e);
+        }
+    }
+
+    /**
+     * 워커 풀 현황
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("workers", workers.size());
+        stats.put("alive", workers.stream().filter(Worker::isAlive).count());
+        stats.put("queued", workers.stream().mapToInt(Worker::pending).sum());
+        stats.put("restarts", workers.stream().mapToInt(w -> w.restarts.get()).sum());
+        return stats;
+    }
+
+    private ObjectNode newRequest(String op) {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("id", String.valueOf(requestSequence.incrementAndGet()));
+        request.put("op", op);
+        return request;
+    }
+
+    private JsonNode execute(ObjectNode request, long timeoutMs) {
+        // 대기 중인 요청이 가장 적은 워커 선택
+        Worker worker = workers.stream()
+                .min(Comparator.comparingInt(Worker::pending))
+                .orElseThrow(() -> new IllegalStateException("KIS 차트 워커가 없습니다."));
+        return execute(worker, request, timeoutMs);
+    }
+
+    private JsonNode execute(Worker worker, ObjectNode request, long timeoutMs) {
+        Future<JsonNode> future;
+        try {
+            future = worker.submit(request);
+        } catch (RejectedExecutionException e) {
+            log.warn("KIS 차트 워커 #{} 큐가 가득 참, 요청 거절: {}", worker.index, request.get("op").asText());
+            return null;
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.error("KIS 차트 워커 #{} 응답 타임아웃 ({}ms), 워커 재시작", worker.index, timeoutMs);
+            future.cancel(true);
+            worker.destroyProcess();
+            return null;
+        } catch (ExecutionException e) {
+            log.error("KIS 차트 워커 #{} 요청 처리 실패, 워커 재시작", worker.index, e.getCause());
+            worker.destroyProcess();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * 워커 프로세스 1개와 전용 요청 큐
+     * - 프로세스 입출력은 전용 스레드에서만 다루고, 다른 스레드는 프로세스 종료만 요청
+     */
+    private final class Worker {
+
+        private final int index;
+        private final String realtimeDir;
+        private final ThreadPoolExecutor executor;
+        private final AtomicInteger restarts = new AtomicInteger();
+
+        private volatile Process process;
+        private BufferedWriter writer;
+        private BufferedReader reader;
+
+        private Worker(int index, String realtimeDir) {
+            this.index = index;
+            this.realtimeDir = realtimeDir;
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "kis-chart-worker-" + index);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+
+        private Future<JsonNode> submit(ObjectNode request) {
+            return executor.submit(() -> exchange(request));
+        }
+
+        private JsonNode exchange(ObjectNode request) throws IOException {
+            ensureStarted();
+
+            String requestId = request.get("id").asText();
+            writer.write(objectMapper.writeValueAsString(request));
+            writer.newLine();
+            writer.flush();
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.startsWith("{")) {
+                    continue;
+                }
+                JsonNode response = objectMapper.readTree(line);
+                // 타임아웃으로 포기한 이전 요청의 늦은 응답은 버림
+                if (!requestId.equals(response.path("id").asText())) {
+                    continue;
+                }
+                if (!response.path("ok").asBoolean()) {
+                    log.warn("KIS 차트 워커 #{} 오류 응답: {}", index, response.path("error").asText());
+                    return null;
+                }
+                JsonNode data = response.get("data");
+                return data == null || data.isNull() ? null : data;
+            }
+            throw new IOException("KIS 차트 워커 프로세스가 종료되었습니다.");
+        }
+
+        private void ensureStarted() throws IOException {
+            if (process != null && process.isAlive()) {
+                return;
+            }
+            if (!new File(realtimeDir, "kis_chart_worker.py").exists()) {
+                throw new IOException("KIS 차트 워커 스크립트를 찾을 수 없음: " + realtimeDir);
+            }
+            if (process != null) {
+                restarts.incrementAndGet();
+            }
+
+            ProcessBuilder pb = new ProcessBuilder(
+                    "/bin/bash", "-c",
+                    String.format("cd %s && source venv/bin/activate && exec python -u kis_chart_worker.py", realtimeDir)
+            );
+            // 워커 로그(stderr)는 백엔드 콘솔로 그대로 출력
+            pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+            Process started = pb.start();
+
+            writer = new BufferedWriter(new OutputStreamWriter(started.getOutputStream(), StandardCharsets.UTF_8));
+            reader = new BufferedReader(new InputStreamReader(started.getInputStream(), StandardCharsets.UTF_8));
+            process = started;
+            log.info("KIS 차트 워커 #{} 시작 (pid: {})", index, started.pid());
+        }
+
+        private void destroyProcess() {
+            Process current = process;
+            if (current != null && current.isAlive()) {
+                current.destroyForcibly();
+            }
+        }
+
+        private boolean isAlive() {
+            Process current = process;
+            return current != null && current.isAlive();
+        }
+
+        private boolean isIdle() {
+            return executor.getActiveCount() == 0 && executor.getQueue().isEmpty();
+        }
+
+        private int pending() {
+            return executor.getQueue().size() + executor.getActiveCount();
+        }
+
+        private void shutdown() {
+            executor.shutdownNow();
+            destroyProcess();
+        }
+    }
+}
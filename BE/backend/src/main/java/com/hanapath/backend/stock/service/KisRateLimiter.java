@@ -0,0 +1,102 @@
+package com.hanapath.backend.stock.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * KIS REST 호출 한도 (슬라이딩 윈도)
+ * - 실전 계좌는 초당 20건, 모의 계좌는 초당 2건이 기본 한도이므로 여유를 두고 설정
+ * - 최근 N건(N = 초당 한도)의 호출 예약 시각을 링버퍼에 보관하고, 새 호출은 N건 전 호출로부터 1초(+여유)가 지난 뒤로 예약
+ *   → 어느 1초 구간을 잘라도 호출 수가 N건을 넘지 않음 (유휴 후 몰려도 첫 1초에 N건까지만)
+ * - 호출 전 허가를 예약하고, 예약 시점까지 기다린 뒤 호출
+ */
+@Slf4j
+@Component
+public class KisRateLimiter {
+
+    private final double permitsPerSecond;
+    private final long windowNanos;
+
+    // 최근 N건의 예약 시각 (nanoTime), next가 가장 오래된 예약 위치
+    private final long[] reservations;
+    private int next;
+
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong waitedNanos = new AtomicLong();
+
+    public KisRateLimiter(@Value("${app.kis.env:mock}") String kisEnv,
+                          @Value("${app.kis.rate-limit.per-second:0}") double configuredPerSecond,
+                          @Value("${app.kis.rate-limit.window-margin-ms:50}") long windowMarginMs) {
+        double defaultPerSecond = "live".equalsIgnoreCase(kisEnv) ? 18 : 2;
+        this.permitsPerSecond = configuredPerSecond > 0 ? configuredPerSecond : defaultPerSecond;
+        int windowPermits = (int) Math.max(1, Math.floor(permitsPerSecond));
+        // 네트워크 지연 차이로 KIS 쪽 도착 간격이 줄어드는 만큼 윈도를 조금 늘림
+        this.windowNanos = TimeUnit.SECONDS.toNanos(1) + TimeUnit.MILLISECONDS.toNanos(Math.max(0, windowMarginMs));
+        this.reservations = new long[windowPermits];
+        Arrays.fill(reservations, System.nanoTime() - windowNanos);
+        log.info("KIS 호출 한도 설정 - 초당 {}건 (윈도 {}ms)", windowPermits, TimeUnit.NANOSECONDS.toMillis(windowNanos));
+    }
+
+    /**
+     * 허가 1건 예약 후 기다려야 하는 시간 (ns)
+     */
+    public synchronized long reserve() {
+        long now = System.nanoTime();
+        long slot = Math.max(now, reservations[next] + windowNanos);
+        reservations[next] = slot;
+        next = (next + 1) % reservations.length;
+
+        long waitNanos = slot - now;
+        acquired.incrementAndGet();
+        waitedNanos.addAndGet(waitNanos);
+        return waitNanos;
+    }
+
+    /**
+     * 허가를 받을 때까지 현재 스레드 대기
+     */
+    public void acquire() {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 리액티브 호출 앞에 붙이는 대기 (구독 시점에 예약)
+     */
+    public Mono<Void> acquireAsync() {
+        return Mono.defer(() -> {
+            long waitNanos = reserve();
+            return waitNanos > 0 ? Mono.delay(Duration.ofNanos(waitNanos)).then() : Mono.empty();
+        });
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        long count = acquired.get();
+        stats.put("permitsPerSecond", permitsPerSecond);
+        stats.put("windowPermits", reservations.length);
+        stats.put("windowMs", TimeUnit.NANOSECONDS.toMillis(windowNanos));
+        stats.put("acquired", count);
+        stats.put("avgWaitMs", count > 0 ? waitedNanos.get() / 1_000_000.0 / count : 0.0);
+        return stats;
+    }
+}
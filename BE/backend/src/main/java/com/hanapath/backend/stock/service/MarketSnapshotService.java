@@ -0,0 +1,225 @@
+package com.hanapath.backend.stock.service;
+
+import com.hanapath.backend.stock.dto.MarketFrameDto;
+import com.hanapath.backend.stock.dto.RealtimeStockDto;
+import com.hanapath.backend.stock.publisher.StockRealtimePublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시장 전체 시세 스냅샷 (종목 목록 화면용)
+ * - 종목코드를 정수 ID로 고정하고 종목별 최신 값을 ID 인덱스의 배열에 보관
+ * - 일정 주기마다 바뀐 종목의 바뀐 필드만 delta 프레임으로 전송
+ * - 새로 구독한 클라이언트는 /app/stock/market 구독 응답 또는 REST로 전체 스냅샷을 받음
+ * - 값은 증분이 아닌 최신값이라 스냅샷 이후의 delta를 중복 적용해도 결과가 같음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MarketSnapshotService {
+
+    static final int PRICE = 1;
+    static final int RATE = 2;
+    static final int VOLUME = 4;
+    static final int TIME = 8;
+    private static final int ALL_FIELDS = PRICE | RATE | VOLUME | TIME;
+
+    private final StockRealtimePublisher publisher;
+    private final StockSearchService stockSearchService;
+
+    // 종목코드 ↔ ID (ID는 등장 순서, 한 번 부여하면 바뀌지 않음)
+    private final Map<String, Integer> tickerIds = new HashMap<>();
+    private String[] tickers = new String[256];
+    private String[] names = new String[256];
+
+    // ID별 최신 값
+    private int[] prices = new int[256];
+    private int[] rates = new int[256];        // 등락률 ×100
+    private long[] volumes = new long[256];
+    private long[] times = new long[256];
+
+    // 다음 프레임에 보낼 변경 내용
+    private int[] dirtyFields = new int[256];
+    private final BitSet dirtyIds = new BitSet();
+    private final BitSet newIds = new BitSet();
+
+    private int size;
+    private long seq;
+
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong framesSent = new AtomicLong();
+    private final AtomicLong rowsSent = new AtomicLong();
+
+    /**
+     * 요약 시세 반영 (값이 바뀐 필드만 변경 표시)
+     */
+    public synchronized void update(RealtimeStockDto dto) {
+        if (dto.getTicker() == null) {
+            return;
+        }
+        updates.incrementAndGet();
+        int id = intern(dto.getTicker(), dto.getStockName());
+
+        int changed = 0;
+        if (dto.getPrice() != null && prices[id] != dto.getPrice()) {
+            prices[id] = dto.getPrice();
+            changed |= PRICE;
+        }
+        if (dto.getRate() != null) {
+            int rate = Math.round(dto.getRate() * 100);
+            if (rates[id] != rate) {
+                rates[id] = rate;
+                changed |= RATE;
+            }
+        }
+        if (dto.getVolume() != null && volumes[id] != dto.getVolume()) {
+            volumes[id] = dto.getVolume();
+            changed |= VOLUME;
+        }
+        if (changed != 0) {
+            long time = dto.getTimestamp() != null ? dto.getTimestamp() : System.currentTimeMillis();
+            if (times[id] != time) {
+                times[id] = time;
+                changed |= TIME;
+            }
+            dirtyFields[id] |= changed;
+            dirtyIds.set(id);
+        }
+    }
+
+    /**
+     * 현재 전체 스냅샷 (seq는 마지막으로 전송한 delta 버전)
+     */
+    public synchronized MarketFrameDto getSnapshot() {
+        Map<Integer, String[]> symbols = new HashMap<>();
+        List<long[]> rows = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            symbols.put(id, new String[]{tickers[id], names[id]});
+            rows.add(row(id, ALL_FIELDS));
+        }
+        return MarketFrameDto.builder()
+                .type("snapshot")
+                .seq(seq)
+                .baseSeq(seq)
+                .symbols(symbols)
+                .rows(rows)
+                .build();
+    }
+
+    /**
+     * 변경분을 delta 프레임으로 전송 (기본 500ms)
+     * - 구독자가 없으면 프레임을 만들지 않고 변경 표시만 비움 (늦게 온 구독자는 스냅샷부터 시작)
+     */
+    @Scheduled(fixedRateString = "${app.realtime.market.frame-ms:500}")
+    public void flush() {
+        MarketFrameDto frame = nextFrame(publisher.hasMarketSubscribers());
+        if (frame != null && publisher.sendMarketFrame(frame)) {
+            framesSent.incrementAndGet();
+            rowsSent.addAndGet(frame.getRows().size());
+        }
+    }
+
+    private synchronized MarketFrameDto nextFrame(boolean build) {
+        if (dirtyIds.isEmpty()) {
+            return null;
+        }
+        long baseSeq = seq++;
+        if (!build) {
+            clearDirty();
+            return null;
+        }
+
+        Map<Integer, String[]> symbols = new HashMap<>();
+        for (int id = newIds.nextSetBit(0); id >= 0; id = newIds.nextSetBit(id + 1)) {
+            symbols.put(id, new String[]{tickers[id], names[id]});
+        }
+        List<long[]> rows = new ArrayList<>(dirtyIds.cardinality());
+        for (int id = dirtyIds.nextSetBit(0); id >= 0; id = dirtyIds.nextSetBit(id + 1)) {
+            rows.add(row(id, dirtyFields[id]));
+        }
+        clearDirty();
+
+        return MarketFrameDto.builder()
+                .type("delta")
+                .seq(seq)
+                .baseSeq(baseSeq)
+                .symbols(symbols)
+                .rows(rows)
+                .build();
+    }
+
+    private void clearDirty() {
+        for (int id = dirtyIds.nextSetBit(0); id >= 0; id = dirtyIds.nextSetBit(id + 1)) {
+            dirtyFields[id] = 0;
+        }
+        dirtyIds.clear();
+        newIds.clear();
+    }
+
+    private long[] row(int id, int fields) {
+        long[] row = new long[2 + Integer.bitCount(fields)];
+        int i = 0;
+        row[i++] = id;
+        row[i++] = fields;
+        if ((fields & PRICE) != 0) {
+            row[i++] = prices[id];
+        }
+        if ((fields & RATE) != 0) {
+            row[i++] = rates[id];
+        }
+        if ((fields & VOLUME) != 0) {
+            row[i++] = volumes[id];
+        }
+        if ((fields & TIME) != 0) {
+            row[i] = times[id];
+        }
+        return row;
+    }
+
+    private int intern(String ticker, String name) {
+        Integer existing = tickerIds.get(ticker);
+        if (existing != null) {
+            return existing;
+        }
+        int id = size++;
+        if (id == tickers.length) {
+            grow(tickers.length * 2);
+        }
+        tickerIds.put(ticker, id);
+        tickers[id] = ticker;
+        names[id] = name != null && !name.isBlank() ? name : stockSearchService.getName(ticker);
+        newIds.set(id);
+        return id;
+    }
+
+    private void grow(int capacity) {
+        tickers = Arrays.copyOf(tickers, capacity);
+        names = Arrays.copyOf(names, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        rates = Arrays.copyOf(rates, capacity);
+        volumes = Arrays.copyOf(volumes, capacity);
+        times = Arrays.copyOf(times, capacity);
+        dirtyFields = Arrays.copyOf(dirtyFields, capacity);
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("tickers", size);
+        stats.put("seq", seq);
+        stats.put("pendingTickers", dirtyIds.cardinality());
+        stats.put("updates", updates.get());
+        stats.put("framesSent", framesSent.get());
+        stats.put("rowsSent", rowsSent.get());
+        return stats;
+    }
+}
@@ -0,0 +1,349 @@
+package com.hanapath.backend.stock.service;
+
+import com.hanapath.backend.notification.dto.NotificationDto;
+import com.hanapath.backend.notification.service.NotificationService;
+import com.hanapath.backend.stock.dto.PriceAlertDto;
+import com.hanapath.backend.stock.dto.TradeExecutionDto;
+import com.hanapath.backend.stock.entity.PriceAlert;
+import com.hanapath.backend.stock.publisher.StockRealtimePublisher;
+import com.hanapath.backend.stock.repository.PriceAlertRepository;
+import com.hanapath.backend.users.entity.User;
+import com.hanapath.backend.users.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 가격 알림 (체결가가 목표가 이상/이하가 되면 1회 알림)
+ * - 대기 중인 알림은 종목별로 목표가 순 TreeMap 두 개(이상/이하)에 보관
+ * - 체결마다 가장 낮은 '이상' 목표가와 가장 높은 '이하' 목표가만 비교하고,
+ *   넘은 경우에만 잠금 후 headMap/tailMap으로 발생한 알림만 꺼냄 (O(log n + k))
+ * - 발생 처리(DB 갱신, 알림 저장, /user/queue/alerts 전송)는 별도 스레드에서 수행해 체결 처리를 막지 않음
+ */
+@Slf4j
+@Service
+public class PriceAlertService {
+
+    private final PriceAlertRepository priceAlertRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final StockRealtimePublisher publisher;
+    private final StockSearchService stockSearchService;
+    private final StockInfoService stockInfoService;
+    private final int maxPerUser;
+
+    // 종목 → 대기 중인 알림
+    private final ConcurrentHashMap<String, TickerAlerts> index = new ConcurrentHashMap<>();
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    // 발생 처리 한 번에 갱신/저장하는 알림 수 (IN 절 길이 제한)
+    private static final int DELIVERY_CHUNK = 1000;
+
+    private final ExecutorService deliveryExecutor = Executors.newSingleThreadExecutor();
+
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder lockedEvaluations = new LongAdder();
+    private final LongAdder fired = new LongAdder();
+
+    public PriceAlertService(PriceAlertRepository priceAlertRepository,
+                             UserRepository userRepository,
+                             NotificationService notificationService,
+                             StockRealtimePublisher publisher,
+                             StockSearchService stockSearchService,
+                             StockInfoService stockInfoService,
+                             @Value("${app.stock.alerts.max-per-user:50}") int maxPerUser) {
+        this.priceAlertRepository = priceAlertRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.publisher = publisher;
+        this.stockSearchService = stockSearchService;
+        this.stockInfoService = stockInfoService;
+        this.maxPerUser = maxPerUser;
+    }
+
+    /**
+     * 대기 중인 알림을 메모리 색인에 적재
+     */
+    @PostConstruct
+    public void loadActiveAlerts() {
+        try {
+            long start = System.currentTimeMillis();
+            List<Object[]> rows = priceAlertRepository.findActiveAlertRows();
+            for (Object[] row : rows) {
+                add(new ActiveAlert((Long) row[0], (Long) row[1], (String) row[2],
+                        (PriceAlert.Direction) row[3], (Integer) row[4]));
+            }
+            log.info("가격 알림 색인 적재 완료 - {}건, {}개 종목 ({}ms)",
+                    rows.size(), index.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("가격 알림 색인 적재 실패", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deliveryExecutor.shutdown();
+    }
+
+    /**
+     * 알림 등록 (방향을 생략하면 최근 체결가보다 높으면 ABOVE, 낮으면 BELOW)
+     */
+    public PriceAlertDto.Response createAlert(Long userId, PriceAlertDto.CreateRequest request) {
+        String ticker = request.getTicker();
+        if (ticker == null || !ticker.matches("[0-9][0-9A-Z]{5}")) {
+            throw new IllegalArgumentException("종목코드 형식이 올바르지 않습니다.");
+        }
+        if (request.getTargetPrice() == null || request.getTargetPrice() <= 0) {
+            throw new IllegalArgumentException("목표가는 0보다 커야 합니다.");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다."));
+        if (priceAlertRepository.countByUserIdAndTriggeredAtIsNull(userId) >= maxPerUser) {
+            throw new IllegalArgumentException("가격 알림은 최대 " + maxPerUser + "개까지 등록할 수 있습니다.");
+        }
+
+        PriceAlert.Direction direction = request.getDirection() != null
+                ? PriceAlert.Direction.valueOf(request.getDirection().toUpperCase())
+                : directionFor(ticker, request.getTargetPrice());
+
+        PriceAlert saved = priceAlertRepository.save(PriceAlert.builder()
+                .user(user)
+                .ticker(ticker)
+                .direction(direction)
+                .targetPrice(request.getTargetPrice())
+                .build());
+        add(new ActiveAlert(saved.getId(), userId, ticker, direction, saved.getTargetPrice()));
+        log.info("가격 알림 등록 - 사용자: {}, {} {} {}원", userId, ticker, direction, saved.getTargetPrice());
+        return PriceAlertDto.Response.from(saved, nameOf(ticker));
+    }
+
+    /**
+     * 알림 삭제 (본인 알림만)
+     */
+    public void deleteAlert(Long userId, Long alertId) {
+        PriceAlert alert = priceAlertRepository.findById(alertId)
+                .orElseThrow(() -> new IllegalArgumentException("알림을 찾을 수 없습니다."));
+        if (!alert.getUser().getId().equals(userId)) {
+            throw new IllegalArgumentException("권한이 없습니다.");
+        }
+        if (alert.getTriggeredAt() == null) {
+            TickerAlerts alerts = index.get(alert.getTicker());
+            if (alerts != null && alerts.remove(alertId, alert.getDirection(), alert.getTargetPrice())) {
+                activeCount.decrementAndGet();
+            }
+        }
+        priceAlertRepository.delete(alert);
+    }
+
+    public List<PriceAlertDto.Response> getAlerts(Long userId) {
+        return priceAlertRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(alert -> PriceAlertDto.Response.from(alert, nameOf(alert.getTicker())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 체결마다 호출 (알림이 없거나 목표가 범위 안이면 잠금 없이 바로 반환)
+     */
+    public void onExecution(TradeExecutionDto dto) {
+        TickerAlerts alerts = index.get(dto.getTicker());
+        if (alerts == null) {
+            return;
+        }
+        int price = dto.getPrice();
+        alerts.lastPrice = price;
+        evaluations.increment();
+        if (!alerts.mayFire(price)) {
+            return;
+        }
+
+        lockedEvaluations.increment();
+        List<ActiveAlert> triggered = alerts.fire(price);
+        if (triggered.isEmpty()) {
+            return;
+        }
+        activeCount.addAndGet(-triggered.size());
+        fired.add(triggered.size());
+        long timestamp = dto.getTimestamp() > 0 ? dto.getTimestamp() : System.currentTimeMillis();
+        deliveryExecutor.execute(() -> deliver(dto.getTicker(), price, timestamp, triggered));
+    }
+
+    /**
+     * 발생한 알림 저장 및 전송 (deliveryExecutor에서 실행)
+     * - DELIVERY_CHUNK건씩 UPDATE 한 번, 알림 저장은 saveAll 한 번
+     */
+    private void deliver(String ticker, int price, long timestamp, List<ActiveAlert> triggered) {
+        // 재조회 시 DB 시각 정밀도와 어긋나지 않도록 초 단위로 자름
+        LocalDateTime triggeredAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        String name = nameOf(ticker);
+        int delivered = 0;
+        for (int from = 0; from < triggered.size(); from += DELIVERY_CHUNK) {
+            List<ActiveAlert> chunk = triggered.subList(from, Math.min(from + DELIVERY_CHUNK, triggered.size()));
+            delivered += deliverChunk(ticker, name, price, timestamp, triggeredAt, chunk);
+        }
+        if (delivered > 0) {
+            log.info("가격 알림 발생 - {} 체결가 {}원, {}건", ticker, price, delivered);
+        }
+    }
+
+    private int deliverChunk(String ticker, String name, int price, long timestamp,
+                             LocalDateTime triggeredAt, List<ActiveAlert> chunk) {
+        Map<Long, ActiveAlert> byId = new LinkedHashMap<>();
+        chunk.forEach(alert -> byId.put(alert.id(), alert));
+
+        // 실제로 발생 처리된 알림만 전달 (fire 이후 삭제된 알림은 갱신되지 않음)
+        List<ActiveAlert> updated;
+        try {
+            int count = priceAlertRepository.markTriggered(byId.keySet(), price, triggeredAt);
+            if (count == 0) {
+                return 0;
+            }
+            updated = count == byId.size()
+                    ? new ArrayList<>(byId.values())
+                    : priceAlertRepository.findIdsTriggeredAt(byId.keySet(), triggeredAt).stream()
+                            .map(byId::get)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toList());
+        } catch (Exception e) {
+            log.error("가격 알림 발생 처리 실패 - {} {}건", ticker, byId.size(), e);
+            return 0;
+        }
+
+        List<NotificationDto.ResponseDto> notifications = null;
+        try {
+            notifications = notificationService.createNotifications(updated.stream()
+                    .map(alert -> notificationService.priceAlertNotification(
+                            alert.userId(), alert.id(), ticker, name,
+                            alert.direction() == PriceAlert.Direction.ABOVE, alert.targetPrice(), price))
+                    .collect(Collectors.toList()));
+        } catch (Exception e) {
+            log.warn("가격 알림 저장 실패 - {} {}건, {}", ticker, updated.size(), e.getMessage());
+        }
+
+        for (int i = 0; i < updated.size(); i++) {
+            ActiveAlert alert = updated.get(i);
+            publisher.sendAlert(alert.userId(), PriceAlertDto.Triggered.builder()
+                    .alertId(alert.id())
+                    .notificationId(notifications != null ? notifications.get(i).getId() : null)
+                    .ticker(ticker)
+                    .name(name)
+                    .direction(alert.direction().name())
+                    .targetPrice(alert.targetPrice())
+                    .price(price)
+                    .timestamp(timestamp)
+                    .build());
+        }
+        return updated.size();
+    }
+
+    private void add(ActiveAlert alert) {
+        index.computeIfAbsent(alert.ticker(), k -> new TickerAlerts()).add(alert);
+        activeCount.incrementAndGet();
+    }
+
+    private PriceAlert.Direction directionFor(String ticker, int targetPrice) {
+        TickerAlerts alerts = index.get(ticker);
+        int current = alerts != null ? alerts.lastPrice : 0;
+        if (current <= 0) {
+            current = stockInfoService.getStockInfo(ticker).getCurrentPrice();
+        }
+        return targetPrice >= current ? PriceAlert.Direction.ABOVE : PriceAlert.Direction.BELOW;
+    }
+
+    private String nameOf(String ticker) {
+        String name = stockSearchService.getName(ticker);
+        return name != null ? name : ticker;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("activeAlerts", activeCount.get());
+        stats.put("tickers", index.size());
+        stats.put("evaluations", evaluations.sum());
+        stats.put("lockedEvaluations", lockedEvaluations.sum());
+        stats.put("fired", fired.sum());
+        return stats;
+    }
+
+    private record ActiveAlert(long id, long userId, String ticker, PriceAlert.Direction direction, int targetPrice) {
+    }
+
+    /**
+     * 종목 1개의 대기 중인 알림
+     * - minAbove/maxBelow는 잠금 없이 읽는 빠른 판정용 (변경은 잠금 안에서만)
+     */
+    private static final class TickerAlerts {
+        private final TreeMap<Integer, List<ActiveAlert>> above = new TreeMap<>();
+        private final TreeMap<Integer, List<ActiveAlert>> below = new TreeMap<>();
+        private volatile int minAbove = Integer.MAX_VALUE;
+        private volatile int maxBelow = Integer.MIN_VALUE;
+        private volatile int lastPrice;
+
+        private boolean mayFire(int price) {
+            return price >= minAbove || price <= maxBelow;
+        }
+
+        private synchronized void add(ActiveAlert alert) {
+            thresholds(alert.direction()).computeIfAbsent(alert.targetPrice(), k -> new ArrayList<>(1)).add(alert);
+            refreshBounds();
+        }
+
+        private synchronized boolean remove(long id, PriceAlert.Direction direction, int targetPrice) {
+            TreeMap<Integer, List<ActiveAlert>> thresholds = thresholds(direction);
+            List<ActiveAlert> alerts = thresholds.get(targetPrice);
+            if (alerts == null || !alerts.removeIf(alert -> alert.id() == id)) {
+                return false;
+            }
+            if (alerts.isEmpty()) {
+                thresholds.remove(targetPrice);
+            }
+            refreshBounds();
+            return true;
+        }
+
+        /**
+         * 체결가로 넘어선 알림을 모두 꺼냄 (꺼낸 알림은 다시 발생하지 않음)
+         */
+        private synchronized List<ActiveAlert> fire(int price) {
+            List<ActiveAlert> triggered = new ArrayList<>();
+            drain(above.headMap(price, true), triggered);
+            drain(below.tailMap(price, true), triggered);
+            refreshBounds();
+            return triggered;
+        }
+
+        private static void drain(NavigableMap<Integer, List<ActiveAlert>> range, List<ActiveAlert> triggered) {
+            for (List<ActiveAlert> alerts : range.values()) {
+                triggered.addAll(alerts);
+            }
+            range.clear();
+        }
+
+        private TreeMap<Integer, List<ActiveAlert>> thresholds(PriceAlert.Direction direction) {
+            return direction == PriceAlert.Direction.ABOVE ? above : below;
+        }
+
+        private void refreshBounds() {
+            minAbove = above.isEmpty() ? Integer.MAX_VALUE : above.firstKey();
+            maxBelow = below.isEmpty() ? Integer.MIN_VALUE : below.lastKey();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.hanapath.backend.stock.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hanapath.backend.stock.dto.RealtimeStockDto;
+import com.hanapath.backend.stock.dto.StockDetailDto;
+import com.hanapath.backend.stock.dto.TradeExecutionDto;
+import com.hanapath.backend.stock.publisher.StockRealtimePublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * KIS 웹소켓 브릿지에서 들어오는 실시간 시세 처리
+ * - 단건 엔드포인트와 배치 엔드포인트가 같은 처리 경로를 사용
+ * - 배치는 [{seq, type, data}, ...] 배열 또는 한 줄에 이벤트 하나씩인 NDJSON
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RealtimeIngestService {
+
+    private final StockRealtimePublisher publisher;
+    private final ActiveSubscriptionService subscriptionService;
+    private final StockTickStoreService tickStoreService;
+    private final IntradayBarAggregator barAggregator;
+    private final MarketSnapshotService marketSnapshotService;
+    private final StockRankingService rankingService;
+    private final PriceAlertService priceAlertService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 요약 시세 (종목 목록용 스냅샷과 순위에 반영 후 기존 요약 토픽으로도 전송)
+     */
+    public void handleSummary(RealtimeStockDto dto) {
+        marketSnapshotService.update(dto);
+        rankingService.update(dto);
+        publisher.sendSummary(dto);
+    }
+
+    /**
+     * 호가 데이터 (구독자가 있는 종목만 브로드캐스트)
+     */
+    public boolean handleDetail(StockDetailDto dto) {
+        if (!subscriptionService.hasActiveSubscribers(dto.getTicker())) {
+            log.debug("{} 호가 데이터 스킵 - 활성 구독자 없음", dto.getTicker());
+            return false;
+        }
+        log.debug("호가 데이터 브로드캐스트: {} - 현재가: {}원", dto.getTicker(), dto.getPrice());
+        publisher.sendDetail(dto);
+        return true;
+    }
+
+    /**
+     * 체결 데이터 (저장과 가격 알림 판정은 항상, 브로드캐스트는 구독자가 있는 종목만)
+     */
+    public boolean handleExecution(TradeExecutionDto dto) {
+        tickStoreService.record(dto);
+        barAggregator.onExecution(dto);
+        priceAlertService.onExecution(dto);
+        if (!subscriptionService.hasActiveSubscribers(dto.getTicker())) {
+            log.debug("{} 체결 데이터 스킵 - 활성 구독자 없음", dto.getTicker());
+            return false;
+        }
+        log.debug("체결 데이터 브로드캐스트: {} - 체결가: {}원, 체결량: {}주, 구분: {}",
+                dto.getTicker(), dto.getPrice(), dto.getVolume(), dto.getTradeType());
+        publisher.sendExecution(dto);
+        return true;
+    }
+
+    /**
+     * 배치 처리 후 응답 1건 반환
+     * - ackSeq: 첫 거절 이전까지 연속으로 처리한 이벤트의 마지막 seq (브릿지는 이 값까지 전송 완료로 간주)
+     * - 형식이 잘못된 이벤트는 건너뛰고 rejected로 집계, seq가 있으면 rejectedSeqs로 반환
+     * - 거절 이후 이벤트도 처리는 하지만 ackSeq는 더 올리지 않음
+     */
+    public Map<String, Object> ingestBatch(String body) {
+        long ackSeq = -1;
+        boolean contiguous = true;
+        int accepted = 0;
+        int rejected = 0;
+        List<Long> rejectedSeqs = new ArrayList<>();
+
+        try (MappingIterator<JsonNode> events = readEvents(body)) {
+            while (events.hasNextValue()) {
+                JsonNode frame = events.nextValue();
+                // JSON 배열이면 원소 하나하나가 이벤트
+                Iterable<JsonNode> batch = frame.isArray() ? frame : List.of(frame);
+                for (JsonNode event : batch) {
+                    long seq = event.path("seq").asLong(-1);
+                    if (dispatch(event)) {
+                        accepted++;
+                        if (contiguous) {
+                            ackSeq = Math.max(ackSeq, seq);
+                        }
+                    } else {
+                        rejected++;
+                        contiguous = false;
+                        if (seq >= 0) {
+                            rejectedSeqs.add(seq);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("실시간 배치 파싱 중단 - 처리 {}건, 거절 {}건: {}", accepted, rejected, e.getMessage());
+            rejected++;
+        }
+
+        Map<String, Object> ack = new HashMap<>();
+        ack.put("ackSeq", ackSeq);
+        ack.put("accepted", accepted);
+        ack.put("rejected", rejected);
+        ack.put("rejectedSeqs", rejectedSeqs);
+        return ack;
+    }
+
+    private MappingIterator<JsonNode> readEvents(String body) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(body);
+        return objectMapper.readerFor(JsonNode.class).readValues(parser);
+    }
+
+    private boolean dispatch(JsonNode event) {
+        JsonNode data = event.get("data");
+        if (data == null || !data.isObject()) {
+            return false;
+        }
+        try {
+            switch (event.path("type").asText()) {
+                case "summary":
+                    handleSummary(objectMapper.treeToValue(data, RealtimeStockDto.class));
+                    return true;
+                case "detail":
+                    handleDetail(objectMapper.treeToValue(data, StockDetailDto.class));
+                    return true;
+                case "execution":
+                    handleExecution(objectMapper.treeToValue(data, TradeExecutionDto.class));
+                    return true;
+                default:
+                    return false;
+            }
+        } catch (Exception e) {
+            log.warn("실시간 이벤트 처리 실패 (seq: {}): {}", event.path("seq").asLong(-1), e.getMessage());
+            return false;
+        }
+    }
+}
@@ -1,41 +1,84 @@
 package com.hanapath.backend.stock.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hanapath.backend.stock.dto.CandleDto;
+import com.hanapath.backend.stock.dto.CandleSeries;
 import com.hanapath.backend.stock.dto.StockInfoDto;
+import com.hanapath.backend.stock.util.CandleResampler;
+import com.hanapath.backend.stock.util.LatencyHistogram;
 import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class StockChartService {
 
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int MAX_DAILY_DAYS = 2000;
+
     private final StockHistoricalDataService historicalDataService;
+    private final KisChartWorkerPool chartWorkerPool;
+    private final KisChartClient kisChartClient;
+    private final CandleResampler candleResampler;
+    private final KisRateLimiter rateLimiter;
+    private final StockPopularityService popularityService;
+    private final StockInfoService stockInfoService;
+
+    @Value("${app.chart.fetch-wait-ms:15000}")
+    private long fetchWaitMs;
+
+    @Value("${app.chart.stale-refresh-interval-ms:600000}")
+    private long staleRefreshIntervalMs;
+
+    // 종목/차트 종류별로 진행 중인 KIS 조회 (동시 요청은 같은 조회 결과를 기다림)
+    private final ConcurrentHashMap<String, InFlightFetch> inFlightFetches = new ConcurrentHashMap<>();
+
+    // 종목/차트 종류별 마지막 조회 시각 (ms)
+    private final ConcurrentHashMap<String, Long> lastFetchedAt = new ConcurrentHashMap<>();
 
-    @Value("${app.python.path:python3}")
-    private String pythonPath;
+    // 종목별로 지금까지 받아 본 가장 긴 일봉 기간 (일)
+    private final ConcurrentHashMap<String, Integer> fetchedHistoryDays = new ConcurrentHashMap<>();
 
-    @Value("${app.chart.script.path:../../../realtime/kis_chart_api.py}")
-    private String chartScriptPath;
+    private final ExecutorService fetchExecutor = Executors.newFixedThreadPool(4);
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // KIS 일봉 조회 소요 시간 (공유 조회 1건 기준)
+    private final LatencyHistogram fetchLatency = new LatencyHistogram();
+
+    @PreDestroy
+    public void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
 
     public List<CandleDto> getDailyChart(String ticker, int period) {
+        popularityService.record(ticker);
+
         // 1. Redis에서 먼저 조회
         List<CandleDto> cachedData = historicalDataService.getDailyData(ticker, period);
 
@@ -46,22 +89,29 @@ public class StockChartService {
             int minimumRequiredData = (int) Math.ceil(period * 0.8);
             if (cachedData.size() >= minimumRequiredData) {
                 log.info("캐시 데이터 충분 ({}/{}일), 캐시 반환", cachedData.size(), period);
+                // 오래된 캐시는 그대로 돌려주고 백그라운드에서 한 번만 갱신
+                refreshIfStale(ticker, "daily", cachedData);
                 return cachedData.subList(Math.max(0, cachedData.size() - period), cachedData.size());
             }
+
+            // 이미 그 기간만큼 받았는데도 부족하면 상장 기간이 짧은 종목이므로 다시 받지 않음 (최근 구간만 갱신)
+            Integer fetchedDays = fetchedHistoryDays.get(ticker);
+            if (fetchedDays != null && fetchedDays >= Math.min(period, MAX_DAILY_DAYS)) {
+                log.info("{} 일봉 {}일치 조회 이력 있음, 보유 데이터 {}건 반환", ticker, fetchedDays, cachedData.size());
+                refreshIfStale(ticker, "daily", cachedData);
+                return cachedData;
+            }
         }
 
         // 2. Redis에 데이터가 없거나 부족하면 KIS API에서 조회
         log.info("KIS API에서 {}의 일봉 데이터 조회 시작 (기간: {}일)", ticker, period);
 
-        // 요청한 기간만큼 데이터 수집 
-        int extendedPeriod = Math.min(period, 2000);
-        List<CandleDto> apiData = getChartDataFromAPI(ticker, "daily", extendedPeriod);
+        // 요청한 기간만큼 데이터 수집 (같은 종목 동시 요청은 조회 1건을 공유, Redis 저장도 그 안에서 처리)
+        int extendedPeriod = Math.min(period, MAX_DAILY_DAYS);
+        List<CandleDto> apiData = awaitFetch(fetchShared(ticker, "daily", extendedPeriod), ticker);
 
         if (!apiData.isEmpty()) {
-            // 3. 새로 조회한 데이터를 Redis에 저장
-            historicalDataService.appendDailyData(ticker, apiData); // 누적 저장
-
-            // 4. 요청한 기간만큼 데이터 반환
+            // 3. 요청한 기간만큼 데이터 반환
             int returnSize = Math.min(period, apiData.size());
             return apiData.subList(Math.max(0, apiData.size() - returnSize), apiData.size());
         }
@@ -106,152 +156,243 @@ public class StockChartService {
         return new ArrayList<>();
     }
 
-    public StockInfoDto getStockInfo(String ticker) {
-        // 최대 3번 재시도
-        for (int attempt = 1; attempt <= 3; attempt++) {
-            try {
-                log.info("종목 정보 조회 시도 {}: {}", attempt, ticker);
-                StockInfoDto result = getStockInfoData(ticker);
-                if (result != null) {
-                    log.info("종목 정보 조회 성공: {}", ticker);
-                    return result;
-                }
+    /**
+     * 여러 종목 일봉 일괄 조회 (요청 순서 유지)
+     * - 캐시는 JVM 캐시 → Redis 파이프라인 한 번으로 확인
+     * - 부족한 종목은 공유 조회를 한꺼번에 시작하고 전체를 최대 fetchWaitMs 동안 기다림 (KIS 호출은 rate limiter를 거침)
+     * - 조회에 실패한 종목은 캐시에 있던 만큼만 반환
+     */
+    public Map<String, List<CandleDto>> getDailyCharts(Collection<String> tickers, int period) {
+        return requestDailyCharts(tickers, period).get();
+    }
 
-                if (attempt < 3) {
-                    log.warn("종목 정보 조회 실패, {}초 후 재시도: {}", 2 * attempt, ticker);
-                    Thread.sleep(2000 * attempt); // 점진적 대기
-                }
-            } catch (Exception e) {
-                log.error("종목 정보 조회 중 오류 (시도 {}): {}", attempt, ticker, e);
-                if (attempt < 3) {
-                    try {
-                        Thread.sleep(2000 * attempt);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                }
+    /**
+     * 일봉 일괄 조회 시작: 캐시 확인과 KIS 조회 시작까지만 하고 대기는 반환된 Supplier의 get()에서 함
+     * - 대기 마감 시각은 지금 기준 fetchWaitMs로 고정 (종목 정보 조회와 함께 시작하면 대기 시간이 겹침)
+     */
+    public Supplier<Map<String, List<CandleDto>>> requestDailyCharts(Collection<String> tickers, int period) {
+        int extendedPeriod = Math.min(period, MAX_DAILY_DAYS);
+        int minimumRequiredData = (int) Math.ceil(period * 0.8);
+        Map<String, CandleSeries> cached = historicalDataService.getDailySeries(tickers, period);
+
+        Map<String, List<CandleDto>> result = new LinkedHashMap<>();
+        Map<String, CompletableFuture<List<CandleDto>>> pending = new LinkedHashMap<>();
+        for (String ticker : tickers) {
+            popularityService.record(ticker);
+            List<CandleDto> candles = cached.get(ticker).latest(period);
+            result.put(ticker, candles);
+
+            Integer fetchedDays = fetchedHistoryDays.get(ticker);
+            boolean enough = candles.size() >= minimumRequiredData
+                    || (fetchedDays != null && fetchedDays >= extendedPeriod);
+            if (!candles.isEmpty() && enough) {
+                refreshIfStale(ticker, "daily", candles);
+            } else {
+                pending.put(ticker, fetchShared(ticker, "daily", extendedPeriod));
             }
         }
+        if (pending.isEmpty()) {
+            return () -> result;
+        }
 
-        // 모든 시도 실패 시 기본 정보로 대체
-        log.warn("종목 정보 조회 최종 실패, 기본 정보 사용: {}", ticker);
-        return StockInfoDto.builder()
-                .ticker(ticker)
-                .name(getStockNameByCode(ticker))
-                .currentPrice(0)
-                .changeAmount(0)
-                .changeRate(0.0)
-                .openPrice(0)
-                .highPrice(0)
-                .lowPrice(0)
-                .volume(0L)
-                .tradingValue(0L)
-                .marketCap(0L)
-                .per(0.0)
-                .pbr(0.0)
-                .eps(0)
-                .bps(0)
-                .sector("정보 없음")
-                .listingShares(0L)
-                .build();
+        log.info("일봉 일괄 조회 - {}개 종목 중 {}개 KIS 조회", result.size(), pending.size());
+        long deadline = System.currentTimeMillis() + fetchWaitMs;
+        return () -> {
+            for (Map.Entry<String, CompletableFuture<List<CandleDto>>> entry : pending.entrySet()) {
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                List<CandleDto> apiData = awaitFetch(entry.getValue(), entry.getKey(), remaining);
+                if (!apiData.isEmpty()) {
+                    int returnSize = Math.min(period, apiData.size());
+                    result.put(entry.getKey(), apiData.subList(apiData.size() - returnSize, apiData.size()));
+                }
+            }
+            return result;
+        };
+    }
+
+    public StockInfoDto getStockInfo(String ticker) {
+        popularityService.record(ticker);
+        return stockInfoService.getStockInfo(ticker);
     }
 
     /**
-     * KIS API에서 차트 데이터 직접 조회
+     * 여러 종목 정보 일괄 조회 (요청 순서 유지)
      */
-    private List<CandleDto> getChartDataFromAPI(String ticker, String chartType, int period) {
-        try {
-            String projectRoot = System.getProperty("user.dir");
-            String realtimeDir = projectRoot + "/realtime";
-            String scriptPath = realtimeDir + "/kis_chart_api.py";
+    public Map<String, StockInfoDto> getStockInfos(Collection<String> tickers) {
+        return requestStockInfos(tickers).get();
+    }
 
-            log.info("현재 작업 디렉토리: {}", projectRoot);
-            log.info("Realtime 디렉토리: {}", realtimeDir);
-            log.info("Python 스크립트 실행: python3 {} {} {} {}", scriptPath, ticker, chartType, period);
+    /**
+     * 종목 정보 일괄 조회 시작 (대기는 반환된 Supplier의 get()에서)
+     */
+    public Supplier<Map<String, StockInfoDto>> requestStockInfos(Collection<String> tickers) {
+        tickers.forEach(popularityService::record);
+        return stockInfoService.requestStockInfos(tickers);
+    }
 
-            java.io.File scriptFile = new java.io.File(scriptPath);
-            java.io.File realtimeDirFile = new java.io.File(realtimeDir);
+    /**
+     * KIS 조회 통계 (진행 중인 조회 수, 소요 시간 분포)
+     */
+    public Map<String, Object> getFetchStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("inFlight", inFlightFetches.size());
+        stats.put("latency", fetchLatency.snapshot());
+        return stats;
+    }
 
-            if (!realtimeDirFile.exists()) {
-                log.error("Realtime 디렉토리를 찾을 수 없음: {}", realtimeDir);
-                return new ArrayList<>();
-            }
+    /**
+     * 캐시 예열용 일봉 조회 (기다리지 않고 조회 완료 시점을 돌려줌)
+     * - 이미 충분히 캐시되어 있으면 완료된 결과를 바로 반환
+     * - period는 달력 일수이므로 캐시 건수는 예상 거래일 수(주 5일)와 비교
+     */
+    public CompletableFuture<List<CandleDto>> prefetchDaily(String ticker, int period) {
+        int extendedPeriod = Math.min(period, MAX_DAILY_DAYS);
+        int expectedTradingDays = extendedPeriod * 5 / 7;
+        List<CandleDto> cachedData = historicalDataService.getDailyData(ticker, extendedPeriod);
+        if (!cachedData.isEmpty() && cachedData.size() >= (int) Math.ceil(expectedTradingDays * 0.8)) {
+            return CompletableFuture.completedFuture(cachedData);
+        }
+        return fetchShared(ticker, "daily", extendedPeriod);
+    }
 
-            if (!scriptFile.exists()) {
-                log.error("Python 스크립트를 찾을 수 없음: {}", scriptPath);
-                return new ArrayList<>();
-            }
+    /**
+     * 최근 calendarDays일 일봉만 조회해 누적 저장 (정기 갱신/빈 날짜 보충용)
+     */
+    public List<CandleDto> refreshDailyTail(String ticker, int calendarDays) {
+        int days = Math.max(1, Math.min(calendarDays, MAX_DAILY_DAYS));
+        return awaitFetch(fetchShared(ticker, "daily", days), ticker);
+    }
 
-            ProcessBuilder pb = new ProcessBuilder(
-                    "/bin/bash", "-c",
-                    String.format("cd %s && source venv/bin/activate && python kis_chart_api.py %s %s %d",
-                            realtimeDir, ticker, chartType, period)
-            );
-            pb.redirectErrorStream(true);
-            Process process = pb.start();
+    /**
+     * 캐시가 오래되었으면 백그라운드에서 최근 구간만 다시 조회
+     * - 같은 종목은 조회 간격 안에 한 번만 갱신
+     */
+    private void refreshIfStale(String ticker, String chartType, List<CandleDto> cachedData) {
+        String key = ticker + ":" + chartType;
+        long now = System.currentTimeMillis();
+        Long fetchedAt = lastFetchedAt.get(key);
+        if (fetchedAt != null && now - fetchedAt < staleRefreshIntervalMs) {
+            return;
+        }
+        if (inFlightFetches.containsKey(key)) {
+            return;
+        }
 
-            StringBuilder output = new StringBuilder();
+        // 마지막 캔들 이후 구간만 조회
+        LocalDate latestDate = LocalDate.parse(cachedData.get(cachedData.size() - 1).getDate(), DATE_FORMATTER);
+        long missingDays = ChronoUnit.DAYS.between(latestDate, LocalDate.now(KST));
+        int refreshPeriod = (int) Math.min(MAX_DAILY_DAYS, Math.max(7, missingDays + 1));
 
-            boolean finished = process.waitFor(10, TimeUnit.SECONDS);
+        log.info("{} {} 캐시 백그라운드 갱신 (최근 {}일)", ticker, chartType, refreshPeriod);
+        lastFetchedAt.put(key, now);
+        fetchShared(ticker, chartType, refreshPeriod);
+    }
 
-            if (!finished) {
-                log.error("Python 스크립트 실행 타임아웃 (10초)");
-                process.destroyForcibly();
-                return new ArrayList<>();
+    /**
+     * 같은 종목/차트 종류의 조회는 동시에 하나만 실행
+     * - 진행 중인 조회가 요청 기간을 포함하면 그 결과를 함께 기다림
+     * - 더 긴 기간이 필요하면 진행 중인 조회가 끝난 뒤 이어서 조회
+     * - 완료 전에 맵에서 먼저 제거 (complete() 안에서 바로 실행되는 이어서 조회가 끝난 항목을 다시 잡아 재귀하지 않도록)
+     */
+    private CompletableFuture<List<CandleDto>> fetchShared(String ticker, String chartType, int period) {
+        String key = ticker + ":" + chartType;
+        InFlightFetch fetch = new InFlightFetch(period);
+        InFlightFetch current = inFlightFetches.putIfAbsent(key, fetch);
+
+        if (current != null) {
+            if (current.period >= period) {
+                return current.future;
             }
+            return current.future.thenCompose(ignored -> fetchShared(ticker, chartType, period));
+        }
 
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    output.append(line).append("\n");
+        try {
+            fetchExecutor.execute(() -> {
+                long startTime = System.currentTimeMillis();
+                try {
+                    List<CandleDto> data = getChartDataFromAPI(ticker, chartType, period);
+                    fetchLatency.record(System.currentTimeMillis() - startTime);
+                    if (!data.isEmpty()) {
+                        historicalDataService.appendDailyData(ticker, data);
+                        lastFetchedAt.put(key, System.currentTimeMillis());
+                        fetchedHistoryDays.merge(ticker, period, Math::max);
+                    }
+                    finish(key, fetch, Collections.unmodifiableList(data));
+                } catch (Exception e) {
+                    log.error("{} {} 공유 조회 실패", ticker, chartType, e);
+                    finish(key, fetch, Collections.emptyList());
                 }
-            }
+            });
+        } catch (Exception e) {
+            finish(key, fetch, Collections.emptyList());
+        }
+        return fetch.future;
+    }
 
-            int exitCode = process.exitValue();
+    private void finish(String key, InFlightFetch fetch, List<CandleDto> data) {
+        inFlightFetches.remove(key, fetch);
+        fetch.future.complete(data);
+    }
 
-            if (exitCode != 0) {
-                log.error("Python 스크립트 실행 실패. Exit code: {}, Output: {}", exitCode, output.toString());
-                return new ArrayList<>();
-            }
+    private List<CandleDto> awaitFetch(CompletableFuture<List<CandleDto>> future, String ticker) {
+        return awaitFetch(future, ticker, fetchWaitMs);
+    }
 
-            return parseChartOutput(output.toString(), ticker);
+    private List<CandleDto> awaitFetch(CompletableFuture<List<CandleDto>> future, String ticker, long waitMs) {
+        try {
+            return future.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("{} 차트 조회 대기 시간 초과 ({}ms)", ticker, waitMs);
+            return Collections.emptyList();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Collections.emptyList();
+        } catch (Exception e) {
+            log.error("{} 차트 조회 대기 중 오류", ticker, e);
+            return Collections.emptyList();
+        }
+    }
 
+    /**
+     * KIS API에서 차트 데이터 직접 조회
+     * - 앱 키가 설정되어 있으면 Java 클라이언트, 아니면 상주 Python 워커 사용
+     */
+    private List<CandleDto> getChartDataFromAPI(String ticker, String chartType, int period) {
+        try {
+            if (kisChartClient.isConfigured()) {
+                return kisChartClient.getChartData(ticker, chartType, period);
+            }
+
+            log.info("KIS 차트 워커 요청: {} {} {}", ticker, chartType, period);
+            // 워커는 요청 1건당 KIS 조회 1번 (페이징하지 않음)
+            rateLimiter.acquire();
+            JsonNode data = chartWorkerPool.fetchChart(ticker, chartType, period);
+            return parseCandles(data, ticker);
         } catch (Exception e) {
             log.error("차트 데이터 조회 중 오류 발생", e);
             return new ArrayList<>();
         }
     }
 
-    private List<CandleDto> parseChartOutput(String output, String ticker) {
+    private List<CandleDto> parseCandles(JsonNode data, String ticker) {
         List<CandleDto> candles = new ArrayList<>();
+        if (data == null) {
+            return candles;
+        }
 
-        try {
-            String[] lines = output.split("\n");
-            for (String line : lines) {
-                if (line.trim().startsWith("[") || line.trim().startsWith("{")) {
-                    JsonNode jsonNode = objectMapper.readTree(line.trim());
-
-                    if (jsonNode.isArray()) {
-                        for (JsonNode item : jsonNode) {
-                            CandleDto candle = parseCandle(item, ticker);
-                            if (candle != null) {
-                                candles.add(candle);
-                            }
-                        }
-                    } else {
-                        CandleDto candle = parseCandle(jsonNode, ticker);
-                        if (candle != null) {
-                            candles.add(candle);
-                        }
-                    }
-                    break; 
+        if (data.isArray()) {
+            for (JsonNode item : data) {
+                CandleDto candle = parseCandle(item, ticker);
+                if (candle != null) {
+                    candles.add(candle);
                 }
             }
-        } catch (JsonProcessingException e) {
-            log.error("차트 데이터 파싱 오류", e);
+        } else if (data.isObject()) {
+            CandleDto candle = parseCandle(data, ticker);
+            if (candle != null) {
+                candles.add(candle);
+            }
         }
-
         return candles;
     }
 
@@ -273,253 +414,70 @@ public class StockChartService {
         }
     }
 
-    private StockInfoDto getStockInfoData(String ticker) {
-        try {
-            String realtimeDir = System.getProperty("user.dir") + "/realtime";
-
-            log.info("종목 정보 조회: python {} info", ticker);
-
-            ProcessBuilder pb = new ProcessBuilder(
-                    "/bin/bash", "-c",
-                    String.format("cd %s && source venv/bin/activate && python kis_chart_api.py %s info dummy",
-                            realtimeDir, ticker)
-            );
-
-            pb.redirectErrorStream(true);
-            Process process = pb.start();
-
-            StringBuilder output = new StringBuilder();
-
-            boolean finished = process.waitFor(10, TimeUnit.SECONDS);
-
-            if (!finished) {
-                log.error("Python 스크립트 실행 타임아웃 (10초)");
-                process.destroyForcibly();
-                return null;
-            }
-
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    output.append(line).append("\n");
-                }
-            }
-
-            int exitCode = process.exitValue();
-
-            if (exitCode != 0) {
-                log.error("Python 스크립트 실행 실패. Exit code: {}, Output: {}", exitCode, output.toString());
-                return null;
-            }
-
-            return parseStockInfoOutput(output.toString(), ticker);
-
-        } catch (Exception e) {
-            log.error("종목 정보 조회 중 오류 발생", e);
-            return null;
-        }
-    }
-
-    private StockInfoDto parseStockInfoOutput(String output, String ticker) {
-        try {
-            String[] lines = output.split("\n");
-            for (String line : lines) {
-                if (line.trim().startsWith("{")) {
-                    JsonNode jsonNode = objectMapper.readTree(line.trim());
-                    return parseStockInfo(jsonNode);
-                }
-            }
-        } catch (JsonProcessingException e) {
-            log.error("종목 정보 파싱 오류", e);
-        }
-        return null;
+    /**
+     * 주봉 조회 (period: 주 수) - 일봉 시계열로 만들어 반환
+     */
+    public List<CandleDto> getWeeklyChart(String ticker, int period) {
+        return getResampledChart(ticker, period, CandleResampler.Timeframe.WEEKLY, 7);
     }
 
-    private StockInfoDto parseStockInfo(JsonNode node) {
-        try {
-            String ticker = node.get("ticker").asText();
-            String name = node.get("name").asText();
-
-            // 종목명이 비어있으면 기본 종목명 설정
-            if (name == null || name.trim().isEmpty()) {
-                name = getStockNameByCode(ticker);
-            }
-
-            return StockInfoDto.builder()
-                    .ticker(ticker)
-                    .name(name)
-                    .currentPrice(getIntValue(node, "currentPrice"))
-                    .changeAmount(getIntValue(node, "changeAmount"))
-                    .changeRate(getDoubleValue(node, "changeRate"))
-                    .openPrice(getIntValue(node, "openPrice"))
-                    .highPrice(getIntValue(node, "highPrice"))
-                    .lowPrice(getIntValue(node, "lowPrice"))
-                    .volume(getLongValue(node, "volume"))
-                    .tradingValue(getLongValue(node, "tradingValue"))
-                    .marketCap(getLongValue(node, "marketCap"))
-                    .capital(getLongValue(node, "capital"))
-                    .per(getDoubleValue(node, "per"))
-                    .pbr(getDoubleValue(node, "pbr"))
-                    .eps(getIntValue(node, "eps"))
-                    .bps(getIntValue(node, "bps"))
-                    .sector(getStringValue(node, "sector"))
-                    .listingShares(getLongValue(node, "listingShares"))
-                    .build();
-        } catch (Exception e) {
-            log.error("종목 정보 파싱 오류: {}", node.toString(), e);
-            return null;
-        }
+    /**
+     * 월봉 조회 (period: 개월 수)
+     */
+    public List<CandleDto> getMonthlyChart(String ticker, int period) {
+        return getResampledChart(ticker, period, CandleResampler.Timeframe.MONTHLY, 31);
     }
 
     /**
-     * 종목 코드로 종목명 조회하는 메서드
+     * 연봉 조회 (period: 연 수, 일봉 보관 한도 내)
      */
-    private String getStockNameByCode(String code) {
-        java.util.Map<String, String> stockMap = new java.util.HashMap<>();
-        stockMap.put("005930", "삼성전자");
-        stockMap.put("000660", "SK하이닉스");
-        stockMap.put("373220", "LG에너지솔루션");
-        stockMap.put("207940", "삼성바이오로직스");
-        stockMap.put("035420", "NAVER");
-        stockMap.put("006400", "삼성SDI");
-        stockMap.put("005380", "현대차");
-        stockMap.put("035720", "카카오");
-        stockMap.put("005490", "POSCO홀딩스");
-        stockMap.put("000270", "기아");
-        stockMap.put("051910", "LG화학");
-        stockMap.put("068270", "셀트리온");
-        stockMap.put("012450", "한화에어로스페이스");
-        stockMap.put("011200", "HMM");
-        stockMap.put("003490", "대한항공");
-        stockMap.put("096770", "SK이노베이션");
-        stockMap.put("012330", "현대모비스");
-        stockMap.put("090430", "아모레퍼시픽");
-        stockMap.put("033780", "KT&G");
-        stockMap.put("066570", "LG전자");
-        stockMap.put("034020", "두산에너빌리티");
-        stockMap.put("377300", "카카오페이");
-        stockMap.put("259960", "크래프톤");
-        stockMap.put("017670", "SK텔레콤");
-        stockMap.put("015760", "한국전력");
-        stockMap.put("097950", "CJ제일제당");
-        stockMap.put("383220", "F&F");
-        stockMap.put("030000", "제일기획");
-        stockMap.put("086790", "하나금융지주");
-        stockMap.put("005830", "DB손해보험");
-        stockMap.put("105560", "KB금융");
-        stockMap.put("055550", "신한지주");
-        stockMap.put("009150", "삼성전기");
-        stockMap.put("247540", "에코프로비엠");
-        stockMap.put("000880", "한화");
-        stockMap.put("004020", "현대제철");
-        stockMap.put("009830", "한화솔루션");
-        stockMap.put("086280", "현대글로비스");
-        stockMap.put("326030", "SK바이오팜");
-        stockMap.put("078930", "GS");
-        stockMap.put("010950", "S-Oil");
-        stockMap.put("267250", "HD현대");
-        stockMap.put("241560", "두산밥캣");
-        stockMap.put("000810", "삼성화재");
-        stockMap.put("005940", "NH투자증권");
-        stockMap.put("003550", "LG");
-        stockMap.put("017800", "현대엘리베이터");
-        stockMap.put("006800", "미래에셋증권");
-        stockMap.put("089470", "HDC현대EP");
-        stockMap.put("000100", "유한양행");
-        stockMap.put("003230", "삼양식품");
-        stockMap.put("028050", "삼성E&A");
-        stockMap.put("029780", "삼성카드");
-        stockMap.put("042660", "한화오션");
-        stockMap.put("006360", "GS건설");
-        stockMap.put("001450", "현대해상");
-        stockMap.put("032640", "LG유플러스");
-        stockMap.put("034730", "SK");
-        stockMap.put("002790", "아모레퍼시픽홀딩스");
-        stockMap.put("034310", "NICE");
-        stockMap.put("000720", "현대건설");
-        stockMap.put("069620", "대웅제약");
-        stockMap.put("006280", "녹십자");
-        stockMap.put("010060", "OCI홀딩스");
-        stockMap.put("021240", "코웨이");
-        stockMap.put("047050", "포스코인터내셔널");
-        stockMap.put("073240", "금호타이어");
-        stockMap.put("282330", "BGF리테일");
-        stockMap.put("011780", "금호석유화학");
-        stockMap.put("014680", "한솔케미칼");
-        stockMap.put("042700", "한미반도체");
-        stockMap.put("007310", "오뚜기");
-        stockMap.put("000990", "DB하이텍");
-        stockMap.put("016360", "삼성증권");
-        stockMap.put("272450", "진에어");
-        stockMap.put("145720", "덴티움");
-        stockMap.put("181710", "NHN");
-        stockMap.put("036570", "엔씨소프트");
-        stockMap.put("251270", "넷마블");
-        stockMap.put("001440", "대한전선");
-        stockMap.put("030200", "KT");
-        stockMap.put("034220", "LG디스플레이");
-        stockMap.put("138040", "메리츠금융지주");
-        stockMap.put("316140", "우리금융지주");
-        stockMap.put("138930", "BNK금융지주");
-        stockMap.put("139130", "iM금융지주");
-        stockMap.put("004990", "롯데지주");
-        stockMap.put("011170", "롯데케미칼");
-        stockMap.put("047810", "한국항공우주");
-        stockMap.put("006260", "LS");
-        stockMap.put("267260", "HD현대일렉트릭");
-        stockMap.put("272210", "한화시스템");
-        stockMap.put("002380", "KCC");
-        stockMap.put("041510", "에스엠");
-        stockMap.put("035900", "JYP Ent.");
-        stockMap.put("086520", "에코프로");
-        stockMap.put("000640", "동아쏘시오홀딩스");
-        stockMap.put("079550", "LIG넥스원");
-        stockMap.put("103140", "풍산");
-        stockMap.put("009450", "경동나비엔");
-
-        return stockMap.getOrDefault(code, code + " 종목");
+    public List<CandleDto> getYearlyChart(String ticker, int period) {
+        return getResampledChart(ticker, period, CandleResampler.Timeframe.YEARLY, 366);
     }
 
-    public List<CandleDto> getWeeklyChart(String ticker, int period) {
-        // 1. Redis에서 기존 데이터 조회
-        List<CandleDto> cachedData = historicalDataService.getWeeklyData(ticker, period);
-
-        // 2. Redis에 데이터가 있는 경우 반환
-        int minimumRequiredData = (int) Math.ceil(period * 0.8);
-        if (!cachedData.isEmpty() && cachedData.size() >= minimumRequiredData) {
-            log.info("캐시된 주봉 데이터 사용: {}/{}주", cachedData.size(), period);
-            return cachedData.subList(Math.max(0, cachedData.size() - period), cachedData.size());
-        }
-
-        // 3. 부족한 경우 Python 통해 API 조회
-        log.info("KIS API에서 {}의 주봉 데이터 조회 시작 ({}주)", ticker, period);
-        // 주 단위를 일 단위로 변환 
-        int daysForWeeks = Math.min(period * 7, 365);
-        List<CandleDto> apiData = getChartDataFromAPI(ticker, "weekly", daysForWeeks);
-
-        // 4. Redis에 누적 저장
-        if (!apiData.isEmpty()) {
-            historicalDataService.appendWeeklyData(ticker, apiData);
+    private List<CandleDto> getResampledChart(String ticker, int period, CandleResampler.Timeframe timeframe,
+                                              int calendarDaysPerBar) {
+        if (period <= 0) {
+            return new ArrayList<>();
         }
-
-        // 5. 최종 결과 반환 (최신 기준 period만큼)
-        List<CandleDto> finalData = historicalDataService.getWeeklyData(ticker, period);
-        return finalData.subList(Math.max(0, finalData.size() - period), finalData.size());
+        popularityService.record(ticker);
+        int calendarDays = (int) Math.min(MAX_DAILY_DAYS, (long) period * calendarDaysPerBar);
+        CandleSeries daily = loadDailySeries(ticker, calendarDays);
+        return candleResampler.resample(daily, timeframe).latest(period);
     }
 
-    private int getIntValue(JsonNode node, String key) {
-        return node.has(key) ? node.get(key).asInt() : 0;
-    }
+    /**
+     * 달력 기준 calendarDays 기간을 덮는 일봉 시계열
+     * - 캐시가 부족하면 KIS에서 해당 기간 일봉을 받아 누적 저장 후 다시 읽음
+     */
+    private CandleSeries loadDailySeries(String ticker, int calendarDays) {
+        int tradingDays = Math.min(MAX_DAILY_DAYS, calendarDays * 5 / 7 + 5);
+        CandleSeries series = historicalDataService.getDailySeries(ticker, tradingDays);
+
+        String key = ticker + ":daily";
+        Long fetchedAt = lastFetchedAt.get(key);
+        boolean recentlyFetched = fetchedAt != null && System.currentTimeMillis() - fetchedAt < staleRefreshIntervalMs;
+        if (series.size() >= (int) Math.ceil(tradingDays * 0.8) || (!series.isEmpty() && recentlyFetched)) {
+            if (!series.isEmpty()) {
+                refreshIfStale(ticker, "daily", series.latest(1));
+            }
+            return series;
+        }
 
-    private long getLongValue(JsonNode node, String key) {
-        return node.has(key) ? node.get(key).asLong() : 0L;
+        log.info("KIS API에서 {}의 일봉 데이터 조회 시작 (봉 변환용, {}일)", ticker, calendarDays);
+        awaitFetch(fetchShared(ticker, "daily", calendarDays), ticker);
+        return historicalDataService.getDailySeries(ticker, tradingDays);
     }
 
-    private double getDoubleValue(JsonNode node, String key) {
-        return node.has(key) ? node.get(key).asDouble() : 0.0;
-    }
+    /**
+     * 진행 중인 공유 조회
+     */
+    private static class InFlightFetch {
+        private final int period;
+        private final CompletableFuture<List<CandleDto>> future = new CompletableFuture<>();
 
-    private String getStringValue(JsonNode node, String key) {
-        return node.has(key) ? node.get(key).asText() : "정보 없음";
+        private InFlightFetch(int period) {
+            this.period = period;
+        }
     }
-} 
\ No newline at end of file
+}
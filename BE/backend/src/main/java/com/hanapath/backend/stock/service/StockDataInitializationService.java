@@ -1,6 +1,6 @@
 package com.hanapath.backend.stock.service;
 
-import com.hanapath.backend.stock.dto.CandleDto;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,10 +10,20 @@ import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * 서버 시작 시 주요 종목 일봉 캐시 예열
+ * - 조회 인기도가 높은 종목부터, KIS 초당 한도만큼만 동시에 조회
+ * - KIS 호출 속도는 KisRateLimiter가 제한하므로 종목 사이에 따로 쉬지 않음
+ * - 실패한 종목은 지수 백오프(지터 포함)로 다시 시도
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -21,6 +31,12 @@ public class StockDataInitializationService implements ApplicationRunner {
 
     private final StockChartService stockChartService;
     private final StockHistoricalDataService historicalDataService;
+    private final StockPopularityService popularityService;
+    private final KisRateLimiter rateLimiter;
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BASE_DELAY_MS = 2000;
+    private static final int POPULAR_TICKER_LIMIT = 50;
 
     @Value("${app.data.initialization.enabled:true}")
     private boolean initializationEnabled;
@@ -28,7 +44,19 @@ public class StockDataInitializationService implements ApplicationRunner {
     @Value("${app.data.initialization.period:180}")
     private int initializationPeriod;
 
-    private final Executor executor = Executors.newFixedThreadPool(5); // 동시 처리 스레드 수
+    // 예열 진행 및 재시도 예약용 (실제 조회는 StockChartService의 조회 스레드에서 실행)
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final Queue<String> pendingTickers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger warmupTotal = new AtomicInteger();
+    private final AtomicInteger remaining = new AtomicInteger();
+    private final AtomicInteger inProgress = new AtomicInteger();
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger retries = new AtomicInteger();
+    private volatile long startTime;
+    private volatile long finishTime;
 
     // 주요 종목 목록
     private final List<String> majorTickers = Arrays.asList(
@@ -134,6 +162,11 @@ public class StockDataInitializationService implements ApplicationRunner {
         "009450"  // 경동나비엔
     );
 
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
     @Override
     public void run(ApplicationArguments args) throws Exception {
         if (!initializationEnabled) {
@@ -141,99 +174,132 @@ public class StockDataInitializationService implements ApplicationRunner {
             return;
         }
 
-        log.info("주식 과거 데이터 초기화 시작 - 총 {}개 종목, {}일 기간", majorTickers.size(), initializationPeriod);
-
         // 비동기로 데이터 초기화
-        CompletableFuture.runAsync(this::initializeHistoricalData, executor);
-        
-        log.info("주식 데이터 초기화를 백그라운드에서 실행합니다. (약 {}분 소요 예상)", 
-                (majorTickers.size() * 3) / 60); 
+        scheduler.execute(this::startWarmup);
+        log.info("주식 데이터 초기화를 백그라운드에서 실행합니다. (동시 조회 {}건, 초당 {}건 제한)",
+                warmupConcurrency(), rateLimiter.getPermitsPerSecond());
     }
 
-    private void initializeHistoricalData() {
-        int successCount = 0;
-        int skipCount = 0;
-        int failCount = 0;
-        long startTime = System.currentTimeMillis();
-
+    private void startWarmup() {
         try {
-            for (int i = 0; i < majorTickers.size(); i++) {
-                String ticker = majorTickers.get(i);
-                
-                try {
-                    // 이미 캐시된 데이터가 있는지 확인
-                    if (historicalDataService.hasCachedDailyData(ticker) && historicalDataService.hasCachedWeeklyData(ticker)) {
-                        log.info("{} 데이터가 이미 캐시되어 있음 ({}/{})", ticker, i + 1, majorTickers.size());
-                        skipCount++;
-                        continue;
-                    }
-                    
-                    log.info("{} 과거 데이터 수집 중... ({}/{})", ticker, i + 1, majorTickers.size());
-
-                    // 일봉 데이터 저장
-                    List<CandleDto> daily = stockChartService.getDailyChart(ticker, initializationPeriod);
-                    if (!daily.isEmpty()) {
-                        historicalDataService.appendDailyData(ticker, daily);
-                        log.info("{} 일봉 {}건 저장 완료", ticker, daily.size());
-                    }
+            popularityService.decay();
+            List<String> tickers = popularityService.rank(majorTickers, POPULAR_TICKER_LIMIT);
 
-                    // 주봉 데이터 저장
-                    List<CandleDto> weekly = stockChartService.getWeeklyChart(ticker, 156); 
-                    if (!weekly.isEmpty()) {
-                        historicalDataService.appendWeeklyData(ticker, weekly);
-                        log.info("{} 주봉 {}건 저장 완료", ticker, weekly.size());
-                    }
+            pendingTickers.addAll(tickers);
+            warmupTotal.set(tickers.size());
+            remaining.set(tickers.size());
+            startTime = System.currentTimeMillis();
+            log.info("주식 과거 데이터 초기화 시작 - 총 {}개 종목, {}일 기간", tickers.size(), initializationPeriod);
 
-                    successCount++;
-                    
-                    Thread.sleep(2000);
-                    
-                } catch (Exception e) {
-                    failCount++;
-                    log.error("{} 데이터 수집 중 오류 발생", ticker, e);
-                    
-                    try {
-                        Thread.sleep(5000);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                }
+            for (int i = 0; i < warmupConcurrency(); i++) {
+                launchNext();
             }
-            
-            long duration = System.currentTimeMillis() - startTime;
-            log.info("주식 데이터 초기화 완료!");
-            log.info("초기화 결과 - 성공: {}개, 스킵: {}개, 실패: {}개", successCount, skipCount, failCount);
-            log.info("소요 시간: {}분", duration / 1000 / 60);
-            
-            var cacheStats = historicalDataService.getCacheStats();
-            log.info("Redis 캐시 현황: {}", cacheStats);
-            
         } catch (Exception e) {
             log.error("주식 데이터 초기화 중 심각한 오류 발생", e);
         }
     }
 
+    /**
+     * 동시 조회 수 = 초당 허가 수 (한도를 채울 만큼만 띄우고 실제 호출 속도는 KisRateLimiter가 맞춤)
+     */
+    private int warmupConcurrency() {
+        return Math.max(1, (int) Math.ceil(rateLimiter.getPermitsPerSecond()));
+    }
+
+    /**
+     * 대기 중인 다음 종목 조회 시작 (조회 하나가 끝날 때마다 호출되어 동시 조회 수 유지)
+     */
+    private void launchNext() {
+        String ticker = pendingTickers.poll();
+        if (ticker != null) {
+            inProgress.incrementAndGet();
+            attempt(ticker, 1);
+        }
+    }
+
+    private void attempt(String ticker, int attemptNumber) {
+        try {
+            var future = stockChartService.prefetchDaily(ticker, initializationPeriod);
+            boolean alreadyCached = future.isDone();
+            future.whenComplete((daily, error) -> {
+                if (error == null && daily != null && !daily.isEmpty()) {
+                    if (alreadyCached) {
+                        skipped.incrementAndGet();
+                    } else {
+                        succeeded.incrementAndGet();
+                        log.info("{} 일봉 {}건 예열 완료 ({}/{})", ticker, daily.size(),
+                                warmupTotal.get() - remaining.get() + 1, warmupTotal.get());
+                    }
+                    finish();
+                    return;
+                }
+                retryOrFail(ticker, attemptNumber, error);
+            });
+        } catch (Exception e) {
+            retryOrFail(ticker, attemptNumber, e);
+        }
+    }
+
+    private void retryOrFail(String ticker, int attemptNumber, Throwable error) {
+        if (attemptNumber < MAX_ATTEMPTS) {
+            // 2초, 4초 ... 에 0.5~1.5배 지터를 곱해 동시에 실패한 종목이 한꺼번에 재시도하지 않도록 함
+            long baseDelay = RETRY_BASE_DELAY_MS << (attemptNumber - 1);
+            long delay = (long) (baseDelay * (0.5 + ThreadLocalRandom.current().nextDouble()));
+            retries.incrementAndGet();
+            log.warn("{} 데이터 수집 실패, {}ms 후 재시도 ({}/{})", ticker, delay, attemptNumber + 1, MAX_ATTEMPTS);
+            scheduler.schedule(() -> attempt(ticker, attemptNumber + 1), delay, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        failed.incrementAndGet();
+        if (error != null) {
+            log.error("{} 데이터 수집 중 오류 발생", ticker, error);
+        } else {
+            log.error("{} 데이터 수집 최종 실패", ticker);
+        }
+        finish();
+    }
+
+    private void finish() {
+        inProgress.decrementAndGet();
+        if (remaining.decrementAndGet() == 0) {
+            finishTime = System.currentTimeMillis();
+            log.info("주식 데이터 초기화 완료!");
+            log.info("초기화 결과 - 성공: {}개, 스킵: {}개, 실패: {}개, 재시도: {}회",
+                    succeeded.get(), skipped.get(), failed.get(), retries.get());
+            log.info("소요 시간: {}초", (finishTime - startTime) / 1000);
+            return;
+        }
+        scheduler.execute(this::launchNext);
+    }
+
     /**
      * 초기화 상태 확인
      */
     public InitializationStatus getInitializationStatus() {
-        int cachedCount = 0;
         int totalCount = majorTickers.size();
-        
-        for (String ticker : majorTickers) {
-            if (historicalDataService.hasCachedDailyData(ticker) && historicalDataService.hasCachedWeeklyData(ticker)) {
-                cachedCount++;
-            }
-        }
+        int cachedCount = (int) historicalDataService.hasCachedDailyData(majorTickers).values().stream()
+                .filter(Boolean::booleanValue)
+                .count();
         
         var cacheStats = historicalDataService.getCacheStats();
-        
+        boolean running = startTime > 0 && remaining.get() > 0;
+        long elapsedMs = startTime == 0 ? 0 : (running ? System.currentTimeMillis() : finishTime) - startTime;
+
         return InitializationStatus.builder()
                 .totalStocks(totalCount)
                 .cachedStocks(cachedCount)
                 .completionPercentage((cachedCount * 100.0) / totalCount)
                 .cacheStats(cacheStats)
+                .warmupRunning(running)
+                .warmupTotal(warmupTotal.get())
+                .warmupSucceeded(succeeded.get())
+                .warmupSkipped(skipped.get())
+                .warmupFailed(failed.get())
+                .warmupInProgress(inProgress.get())
+                .warmupRetries(retries.get())
+                .warmupElapsedMs(elapsedMs)
+                .rateLimiterStats(rateLimiter.getStats())
                 .build();
     }
 
@@ -247,5 +313,14 @@ public class StockDataInitializationService implements ApplicationRunner {
         private int cachedStocks;
         private double completionPercentage;
         private java.util.Map<String, Object> cacheStats;
+        private boolean warmupRunning;
+        private int warmupTotal;
+        private int warmupSucceeded;
+        private int warmupSkipped;
+        private int warmupFailed;
+        private int warmupInProgress;
+        private int warmupRetries;
+        private long warmupElapsedMs;
+        private java.util.Map<String, Object> rateLimiterStats;
     }
 } 
\ No newline at end of file
@@ -1,20 +1,34 @@
 package com.hanapath.backend.stock.service;
 
 import com.hanapath.backend.stock.dto.CandleDto;
+import com.hanapath.backend.stock.dto.CandleSeries;
 import com.hanapath.backend.stock.entity.StockHistoricalData;
 import com.hanapath.backend.stock.repository.StockHistoricalDataRepository;
+import com.hanapath.backend.stock.util.LatencyHistogram;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -23,6 +37,8 @@ import java.util.stream.Collectors;
 public class StockHistoricalDataService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, CandleDto> candleRedisTemplate;
+    private final CandleNearCache nearCache;
     private final StockHistoricalDataRepository stockHistoricalDataRepository;
 
     @Value("${app.cache.historical-data.ttl:604800}")
@@ -33,29 +49,34 @@ public class StockHistoricalDataService {
 
     private static final String DAILY_CHART_PREFIX = "stock:daily:";
     private static final String STOCK_INFO_PREFIX = "stock:info:";
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String DAILY_TICKER_INDEX = "stock:index:daily";
+    private static final String ABSENT_DAILY_PREFIX = "stock:absent:daily:";
+    private static final int MAX_DAILY_CANDLES = 2000;
+    private static final int MEMORY_SAMPLE_SIZE = 20;
+    private static final long MIGRATION_WAIT_MS = 5000;
+
+    // ZSET 형식으로 확인(또는 변환)이 끝난 키
+    private final Set<String> migratedKeys = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> runningMigrations = new ConcurrentHashMap<>();
+
+    // Redis 일봉 조회 통계 (JVM 캐시에서 못 찾은 경우만)
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder redisMisses = new LongAdder();
+    private final LatencyHistogram redisReadLatency = new LatencyHistogram();
+
+    // 백그라운드 SCAN으로 집계한 키 개수/메모리 (통계 API는 이 값만 읽음)
+    private volatile Map<String, Object> keyspaceStats = new HashMap<>();
 
     /**
-     * 일봉 데이터 조회
+     * 일봉 데이터 조회 (최신 period건, 오래된 순)
      */
-    @SuppressWarnings("unchecked")
     public List<CandleDto> getDailyData(String ticker, int period) {
         try {
-            String key = DAILY_CHART_PREFIX + ticker;
-            Object data = redisTemplate.opsForValue().get(key);
-            
-            if (data instanceof List) {
-                List<CandleDto> allData = (List<CandleDto>) data;
-                
-                return allData.stream()
-                        .sorted((a, b) -> b.getDate().compareTo(a.getDate())) // 최신순 정렬
-                        .limit(period)
-                        .sorted((a, b) -> a.getDate().compareTo(b.getDate())) // 오래된 순으로 다시 정렬
-                        .collect(Collectors.toList());
+            List<CandleDto> data = period > 0 ? getDailySeries(ticker, period).latest(period) : new ArrayList<>();
+            if (data.isEmpty()) {
+                log.warn("{}의 일봉 데이터가 Redis에 없음", ticker);
             }
-            
-            log.warn("{}의 일봉 데이터가 Redis에 없음", ticker);
-            return new ArrayList<>();
+            return data;
         } catch (Exception e) {
             log.error("{}의 일봉 데이터 조회 실패", ticker, e);
             return new ArrayList<>();
@@ -63,24 +84,23 @@ public class StockHistoricalDataService {
     }
 
     /**
-     * 일봉 데이터를 Map으로 조회 
+     * 일봉 데이터 기간 조회 (yyyyMMdd, 양 끝 포함)
      */
-    @SuppressWarnings("unchecked")
-    private Map<String, CandleDto> getDailyDataMap(String ticker) {
+    public List<CandleDto> getDailyDataBetween(String ticker, String fromDate, String toDate) {
         try {
             String key = DAILY_CHART_PREFIX + ticker;
-            Object data = redisTemplate.opsForValue().get(key);
-            
-            if (data instanceof List) {
-                List<CandleDto> dataList = (List<CandleDto>) data;
-                return dataList.stream()
-                        .collect(Collectors.toMap(CandleDto::getDate, candle -> candle, (existing, replacement) -> replacement));
+            migrateLegacyKey(key);
+
+            Set<CandleDto> data = candleRedisTemplate.opsForZSet()
+                    .rangeByScore(key, toScore(fromDate), toScore(toDate));
+            if (data == null || data.isEmpty()) {
+                return new ArrayList<>();
             }
-            
-            return new HashMap<>();
+            // 멤버에는 종목코드가 없으므로 시계열로 감싸 채움
+            return CandleSeries.of(ticker, new ArrayList<>(data)).latest(data.size());
         } catch (Exception e) {
-            log.error("{}의 일봉 데이터 Map 조회 실패", ticker, e);
-            return new HashMap<>();
+            log.error("{}의 일봉 기간 데이터 조회 실패 ({} ~ {})", ticker, fromDate, toDate, e);
+            return new ArrayList<>();
         }
     }
 
@@ -93,27 +113,52 @@ public class StockHistoricalDataService {
     }
 
     /**
-     * 특정 종목의 주봉 캐시된 데이터가 있는지 확인
+     * 여러 종목의 캐시 여부를 한 번의 파이프라인으로 확인
      */
-    public boolean hasCachedWeeklyData(String ticker) {
-        String key = "stock:weekly:" + ticker;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+    public Map<String, Boolean> hasCachedDailyData(Collection<String> tickers) {
+        List<String> ordered = new ArrayList<>(tickers);
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        try {
+            List<Object> exists = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String ticker : ordered) {
+                    connection.keyCommands().exists((DAILY_CHART_PREFIX + ticker).getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+            for (int i = 0; i < ordered.size(); i++) {
+                result.put(ordered.get(i), Boolean.TRUE.equals(exists.get(i)));
+            }
+        } catch (Exception e) {
+            log.error("일봉 캐시 여부 일괄 확인 실패", e);
+            ordered.forEach(ticker -> result.put(ticker, false));
+        }
+        return result;
     }
 
     /**
      * 전체 캐시 통계
+     * - 키 개수는 종목 색인(SCARD)과 백그라운드 SCAN 결과를 읽으므로 자주 호출해도 Redis를 막지 않음
      */
     public Map<String, Object> getCacheStats() {
         try {
-            Set<String> dailyKeys = redisTemplate.keys(DAILY_CHART_PREFIX + "*");
-            Set<String> infoKeys = redisTemplate.keys(STOCK_INFO_PREFIX + "*");
-            
+            Long dailyCount = redisTemplate.opsForSet().size(DAILY_TICKER_INDEX);
+            Map<String, Object> keyspace = keyspaceStats;
+            long infoCount = ((Number) keyspace.getOrDefault("stockInfoCount", 0L)).longValue();
+
+            long hits = redisHits.sum();
+            long misses = redisMisses.sum();
+
             Map<String, Object> stats = new HashMap<>();
-            stats.put("dailyDataCount", dailyKeys != null ? dailyKeys.size() : 0);
-            stats.put("stockInfoCount", infoKeys != null ? infoKeys.size() : 0);
-            stats.put("totalKeys", (dailyKeys != null ? dailyKeys.size() : 0) + 
-                                   (infoKeys != null ? infoKeys.size() : 0));
-            
+            stats.put("dailyDataCount", dailyCount != null ? dailyCount : 0);
+            stats.put("stockInfoCount", infoCount);
+            stats.put("totalKeys", (dailyCount != null ? dailyCount : 0) + infoCount);
+            stats.put("keyspace", keyspace);
+            stats.put("redisHitCount", hits);
+            stats.put("redisMissCount", misses);
+            stats.put("redisHitRate", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+            stats.put("redisReadLatency", redisReadLatency.snapshot());
+            stats.put("nearCache", nearCache.getStats());
+
             return stats;
         } catch (Exception e) {
             log.error("캐시 통계 조회 실패", e);
@@ -121,60 +166,447 @@ public class StockHistoricalDataService {
         }
     }
 
+    /**
+     * 캐시 키 개수/메모리 사용량 집계 (SCAN 커서로 조금씩 훑음)
+     * - 일봉 키 중 색인에 빠진 종목은 색인에 추가, 색인에만 남은 종목(TTL 만료)은 키가 없는지 확인 후 제거
+     * - 메모리는 일부 키의 MEMORY USAGE 평균에 키 개수를 곱해 추정
+     */
+    @Scheduled(initialDelayString = "${app.cache.stats.initial-delay-ms:30000}",
+            fixedDelayString = "${app.cache.stats.scan-interval-ms:300000}")
+    public void refreshKeyspaceStats() {
+        try {
+            long startTime = System.currentTimeMillis();
+            List<String> dailyKeys = scanKeys(DAILY_CHART_PREFIX + "*");
+            List<String> infoKeys = scanKeys(STOCK_INFO_PREFIX + "*");
+
+            Set<String> dailyTickers = new HashSet<>();
+            for (String key : dailyKeys) {
+                if (!key.endsWith(":legacy")) {
+                    dailyTickers.add(key.substring(DAILY_CHART_PREFIX.length()));
+                }
+            }
+            if (!dailyTickers.isEmpty()) {
+                redisTemplate.opsForSet().add(DAILY_TICKER_INDEX, dailyTickers.toArray());
+            }
+            Set<String> unseen = new HashSet<>();
+            Set<Object> members = redisTemplate.opsForSet().members(DAILY_TICKER_INDEX);
+            if (members != null) {
+                members.forEach(member -> unseen.add(member.toString()));
+            }
+            unseen.removeAll(dailyTickers);
+            // SCAN 이후 새로 저장된 종목일 수 있으므로 EXISTS로 다시 확인
+            pruneDailyIndex(unseen);
+
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("dailyKeyCount", dailyKeys.size());
+            stats.put("stockInfoCount", (long) infoKeys.size());
+            stats.put("dailyEstimatedBytes", estimateBytes(dailyKeys));
+            stats.put("stockInfoEstimatedBytes", estimateBytes(infoKeys));
+            stats.put("scannedAt", System.currentTimeMillis());
+            stats.put("scanDurationMs", System.currentTimeMillis() - startTime);
+            keyspaceStats = stats;
+        } catch (Exception e) {
+            log.error("캐시 키 통계 집계 실패", e);
+        }
+    }
+
+    private List<String> scanKeys(String pattern) {
+        List<String> keys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(500).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+            }
+        }
+        return keys;
+    }
+
+    private long estimateBytes(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        int step = Math.max(1, keys.size() / MEMORY_SAMPLE_SIZE);
+        long sampledBytes = 0;
+        int sampled = 0;
+        for (int i = 0; i < keys.size() && sampled < MEMORY_SAMPLE_SIZE; i += step) {
+            byte[] key = keys.get(i).getBytes(StandardCharsets.UTF_8);
+            Object usage = redisTemplate.execute((RedisConnection connection) ->
+                    connection.execute("MEMORY", "USAGE".getBytes(StandardCharsets.UTF_8), key));
+            if (usage instanceof Number bytes) {
+                sampledBytes += bytes.longValue();
+                sampled++;
+            }
+        }
+        return sampled > 0 ? sampledBytes / sampled * keys.size() : 0;
+    }
+
+    /**
+     * 일봉 누적 저장 (새로 들어온 날짜만 교체)
+     */
     public void appendDailyData(String ticker, List<CandleDto> newData) {
         if (newData == null || newData.isEmpty()) return;
 
-        String key = "stock:daily:" + ticker;
-        List<CandleDto> existing = getDailyData(ticker, 1095);  
-        Map<String, CandleDto> merged = new HashMap<>();
+        long total = appendCandles(DAILY_CHART_PREFIX + ticker, newData, MAX_DAILY_CANDLES);
+        redisTemplate.opsForSet().add(DAILY_TICKER_INDEX, ticker);
+        nearCache.invalidate("daily", ticker);
+        log.info("{} 일봉 누적 저장 완료 ({}건 반영, 총 {}건)", ticker, newData.size(), total);
+    }
 
-        for (CandleDto c : existing) merged.put(c.getDate(), c);
-        for (CandleDto c : newData) merged.put(c.getDate(), c);
+    /**
+     * 마지막으로 저장된 일봉 날짜 (ZSET 최고 점수, 없으면 null)
+     */
+    public String getLastStoredDate(String ticker) {
+        try {
+            String key = DAILY_CHART_PREFIX + ticker;
+            migrateLegacyKey(key);
+            Set<ZSetOperations.TypedTuple<CandleDto>> last = candleRedisTemplate.opsForZSet().reverseRangeWithScores(key, 0, 0);
+            if (last == null || last.isEmpty()) {
+                return null;
+            }
+            Double score = last.iterator().next().getScore();
+            return score != null ? String.valueOf(score.longValue()) : null;
+        } catch (Exception e) {
+            log.error("{}의 마지막 일봉 날짜 조회 실패", ticker, e);
+            return null;
+        }
+    }
 
-        List<CandleDto> result = new ArrayList<>(merged.values());
-        result.sort(Comparator.comparing(CandleDto::getDate));
+    /**
+     * KIS 일봉에 없는 것으로 확인된 날짜 (fromDate~toDate, 휴장일/거래정지일)
+     * - 조회에 실패하면 빈 집합 (보충 대상에 다시 포함될 뿐이므로)
+     */
+    public Set<String> getAbsentDailyDates(String ticker, String fromDate, String toDate) {
+        try {
+            Set<Object> dates = redisTemplate.opsForZSet().rangeByScore(ABSENT_DAILY_PREFIX + ticker,
+                    Long.parseLong(fromDate), Long.parseLong(toDate));
+            if (dates == null || dates.isEmpty()) {
+                return Set.of();
+            }
+            return dates.stream().map(Object::toString).collect(Collectors.toSet());
+        } catch (Exception e) {
+            log.error("{}의 KIS 누락 일자 조회 실패", ticker, e);
+            return Set.of();
+        }
+    }
 
-        redisTemplate.opsForValue().set(key, result, historicalDataTtl, TimeUnit.SECONDS);
-        log.info("{} 일봉 누적 저장 완료 (총 {}건)", ticker, result.size());
+    /**
+     * KIS 일봉에 없는 날짜 기록 (ZSET, 점수 = yyyyMMdd)
+     * - 재시작 후에도 같은 날짜로 KIS를 다시 조회하지 않도록 Redis에 보관
+     * - keepFromDate 이전 기록은 정리하고, 키는 ttlDays 동안 갱신이 없으면 만료
+     */
+    public void addAbsentDailyDates(String ticker, Collection<String> dates, String keepFromDate, long ttlDays) {
+        if (dates.isEmpty()) {
+            return;
+        }
+        String key = ABSENT_DAILY_PREFIX + ticker;
+        Set<ZSetOperations.TypedTuple<Object>> tuples = dates.stream()
+                .map(date -> (ZSetOperations.TypedTuple<Object>) new DefaultTypedTuple<Object>(date, (double) Long.parseLong(date)))
+                .collect(Collectors.toSet());
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    ops.opsForZSet().add(key, tuples);
+                    ops.opsForZSet().removeRangeByScore(key, Double.NEGATIVE_INFINITY, Long.parseLong(keepFromDate) - 1);
+                    ops.expire(key, ttlDays, TimeUnit.DAYS);
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.error("{}의 KIS 누락 일자 저장 실패", ticker, e);
+        }
     }
 
-    public void appendWeeklyData(String ticker, List<CandleDto> newData) {
-        String key = "stock:weekly:" + ticker;
-        // 같은 방식으로 주봉 누적
-        List<CandleDto> existing = getWeeklyData(ticker, 156);  
+    /**
+     * 일봉이 저장된 종목 목록
+     * - 색인이 비어 있으면(이전 버전에서 저장된 키) 한 번 SCAN으로 채움
+     * - 키가 만료된 종목은 색인에서 빼고 반환 (정기 갱신이 만료된 종목을 다시 조회하지 않도록)
+     */
+    public Set<String> getCachedDailyTickers() {
+        Set<Object> members = redisTemplate.opsForSet().members(DAILY_TICKER_INDEX);
+        Set<String> tickers = new TreeSet<>();
+        if (members != null) {
+            members.forEach(member -> tickers.add(member.toString()));
+        }
+        if (!tickers.isEmpty()) {
+            return pruneDailyIndex(tickers);
+        }
+
+        ScanOptions options = ScanOptions.scanOptions().match(DAILY_CHART_PREFIX + "*").count(500).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                if (!key.endsWith(":legacy")) {
+                    tickers.add(key.substring(DAILY_CHART_PREFIX.length()));
+                }
+            }
+        } catch (Exception e) {
+            log.error("일봉 종목 색인 초기화 실패", e);
+        }
+        if (!tickers.isEmpty()) {
+            redisTemplate.opsForSet().add(DAILY_TICKER_INDEX, tickers.toArray());
+        }
+        return tickers;
+    }
 
-        Map<String, CandleDto> merged = new HashMap<>();
-        for (CandleDto c : existing) merged.put(c.getDate(), c);
-        for (CandleDto c : newData) merged.put(c.getDate(), c);
+    /**
+     * 일봉 키가 만료된 종목을 색인에서 제거하고 남은 종목 반환
+     * - EXISTS는 파이프라인 한 번으로 확인, 확인에 실패하면 제거하지 않음
+     */
+    private Set<String> pruneDailyIndex(Collection<String> tickers) {
+        Set<String> live = new TreeSet<>(tickers);
+        if (live.isEmpty()) {
+            return live;
+        }
+        List<String> ordered = new ArrayList<>(live);
+        try {
+            List<Object> exists = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String ticker : ordered) {
+                    connection.keyCommands().exists((DAILY_CHART_PREFIX + ticker).getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+            List<String> expired = new ArrayList<>();
+            for (int i = 0; i < ordered.size(); i++) {
+                if (!Boolean.TRUE.equals(exists.get(i))) {
+                    expired.add(ordered.get(i));
+                }
+            }
+            if (!expired.isEmpty()) {
+                redisTemplate.opsForSet().remove(DAILY_TICKER_INDEX, expired.toArray());
+                live.removeAll(expired);
+                log.info("일봉 종목 색인에서 만료된 종목 {}개 제거", expired.size());
+            }
+        } catch (Exception e) {
+            log.error("일봉 종목 색인 정리 실패", e);
+        }
+        return live;
+    }
 
-        List<CandleDto> result = new ArrayList<>(merged.values());
-        result.sort(Comparator.comparing(CandleDto::getDate));
+    /**
+     * 최신 count건 이상을 담은 일봉 시계열 조회 (JVM 캐시 → Redis 순)
+     * - 주봉/월봉/연봉은 이 시계열로 만들어 씀
+     */
+    public CandleSeries getDailySeries(String ticker, int count) {
+        CandleSeries cached = nearCache.get("daily", ticker, count);
+        if (cached != null) {
+            return cached;
+        }
 
-        redisTemplate.opsForValue().set(key, result, historicalDataTtl, TimeUnit.SECONDS);
-        log.info("{} 주봉 누적 저장 완료 (총 {}건)", ticker, result.size());
+        long generation = nearCache.generation("daily", ticker);
+        long startTime = System.nanoTime();
+        List<CandleDto> latest = readLatestCandles(DAILY_CHART_PREFIX + ticker, count);
+        redisReadLatency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        if (latest.isEmpty()) {
+            redisMisses.increment();
+        } else {
+            redisHits.increment();
+        }
+        CandleSeries series = CandleSeries.of(ticker, latest);
+        if (!series.isEmpty()) {
+            nearCache.put("daily", ticker, series, latest.size() < count, generation);
+        }
+        return series;
     }
 
+    /**
+     * 여러 종목의 일봉 시계열 일괄 조회 (JVM 캐시에서 못 찾은 종목만 한 번의 파이프라인으로 Redis 조회)
+     * - 일봉은 종목별 ZSET이라 MGET 대신 ZREVRANGE를 파이프라인으로 묶음
+     * - Redis에도 없는 종목은 빈 시계열
+     */
     @SuppressWarnings("unchecked")
-    public List<CandleDto> getWeeklyData(String ticker, int period) {
-        try {
-            String key = "stock:weekly:" + ticker;
-            Object data = redisTemplate.opsForValue().get(key);
+    public Map<String, CandleSeries> getDailySeries(Collection<String> tickers, int count) {
+        Map<String, CandleSeries> result = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String ticker : tickers) {
+            CandleSeries cached = nearCache.get("daily", ticker, count);
+            if (cached != null) {
+                result.put(ticker, cached);
+            } else {
+                result.put(ticker, null);
+                misses.add(ticker);
+            }
+        }
+        if (misses.isEmpty() || count <= 0) {
+            misses.forEach(ticker -> result.put(ticker, CandleSeries.of(ticker, new ArrayList<>())));
+            return result;
+        }
 
-            if (data instanceof List) {
-                List<CandleDto> allData = (List<CandleDto>) data;
+        Map<String, Long> generations = new HashMap<>();
+        for (String ticker : misses) {
+            generations.put(ticker, nearCache.generation("daily", ticker));
+            migrateLegacyKey(DAILY_CHART_PREFIX + ticker);
+        }
 
-                return allData.stream()
-                        .sorted((a, b) -> b.getDate().compareTo(a.getDate())) // 최신순 정렬
-                        .limit(period)
-                        .sorted((a, b) -> a.getDate().compareTo(b.getDate())) // 다시 오래된 순
-                        .collect(Collectors.toList());
+        List<Object> replies;
+        long startTime = System.nanoTime();
+        try {
+            replies = candleRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, CandleDto> ops = (RedisOperations<String, CandleDto>) operations;
+                    for (String ticker : misses) {
+                        ops.opsForZSet().reverseRange(DAILY_CHART_PREFIX + ticker, 0, count - 1);
+                    }
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.error("일봉 일괄 조회 실패 ({}개 종목)", misses.size(), e);
+            misses.forEach(ticker -> result.put(ticker, CandleSeries.of(ticker, new ArrayList<>())));
+            return result;
+        }
+        redisReadLatency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+
+        for (int i = 0; i < misses.size(); i++) {
+            String ticker = misses.get(i);
+            Object reply = replies.get(i);
+            List<CandleDto> latest = reply instanceof Collection
+                    ? new ArrayList<>((Collection<CandleDto>) reply)
+                    : new ArrayList<>();
+            Collections.reverse(latest);
+            if (latest.isEmpty()) {
+                redisMisses.increment();
+            } else {
+                redisHits.increment();
+            }
+            CandleSeries series = CandleSeries.of(ticker, latest);
+            if (!series.isEmpty()) {
+                nearCache.put("daily", ticker, series, latest.size() < count, generations.get(ticker));
             }
+            result.put(ticker, series);
+        }
+        return result;
+    }
 
+    /**
+     * ZSET에서 최신 count건을 꺼내 오래된 순으로 반환
+     */
+    private List<CandleDto> readLatestCandles(String key, int count) {
+        if (count <= 0) {
             return new ArrayList<>();
-        } catch (Exception e) {
-            log.error("{}의 주봉 데이터 조회 실패", ticker, e);
+        }
+        migrateLegacyKey(key);
+
+        Set<CandleDto> latest = candleRedisTemplate.opsForZSet().reverseRange(key, 0, count - 1);
+        if (latest == null || latest.isEmpty()) {
             return new ArrayList<>();
         }
+
+        List<CandleDto> result = new ArrayList<>(latest);
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * 캔들을 yyyyMMdd 점수로 ZSET에 반영
+     * - 새 데이터의 날짜(점수)만 지우고 다시 넣으므로 기존 전체를 읽거나 다시 쓰지 않음
+     *   (띄엄띄엄 들어온 날짜 사이의 기존 캔들은 그대로 둠)
+     * - 보관 한도를 넘는 오래된 캔들은 잘라냄
+     */
+    private long appendCandles(String key, List<CandleDto> newData, int maxSize) {
+        migrateLegacyKey(key);
+        return writeCandles(key, newData, maxSize);
+    }
+
+    private long writeCandles(String key, List<CandleDto> newData, int maxSize) {
+        // 같은 날짜가 여러 번 들어오면 마지막 값 사용
+        TreeMap<String, CandleDto> byDate = new TreeMap<>();
+        for (CandleDto candle : newData) {
+            byDate.put(candle.getDate(), candle);
+        }
+
+        Set<ZSetOperations.TypedTuple<CandleDto>> tuples = new HashSet<>();
+        for (CandleDto candle : byDate.values()) {
+            tuples.add(new DefaultTypedTuple<>(candle, toScore(candle.getDate())));
+        }
+
+        List<Object> results = candleRedisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, CandleDto> ops = (RedisOperations<String, CandleDto>) operations;
+                ops.multi();
+                for (ZSetOperations.TypedTuple<CandleDto> tuple : tuples) {
+                    ops.opsForZSet().removeRangeByScore(key, tuple.getScore(), tuple.getScore());
+                }
+                ops.opsForZSet().add(key, tuples);
+                ops.opsForZSet().removeRange(key, 0, -(maxSize + 1));
+                ops.expire(key, historicalDataTtl, TimeUnit.SECONDS);
+                ops.opsForZSet().zCard(key);
+                return ops.exec();
+            }
+        });
+
+        if (results == null || results.isEmpty()) {
+            return 0;
+        }
+        Object total = results.get(results.size() - 1);
+        return total instanceof Long ? (Long) total : 0;
+    }
+
+    /**
+     * 예전 형식(키 하나에 List 통째로 저장한 String 값)을 ZSET으로 변환
+     * - RENAME으로 먼저 떼어내므로 여러 인스턴스가 동시에 변환해도 한 번만 처리됨
+     * - 같은 인스턴스의 다른 스레드는 변환이 끝날 때까지 기다림
+     * - 변환이 끝난 뒤에만 완료로 표시 (변환 도중 읽은 쪽이 빈 결과를 완료로 착각하지 않도록)
+     */
+    private void migrateLegacyKey(String key) {
+        if (migratedKeys.contains(key)) {
+            return;
+        }
+
+        CompletableFuture<Void> migration = new CompletableFuture<>();
+        CompletableFuture<Void> running = runningMigrations.putIfAbsent(key, migration);
+        if (running != null) {
+            try {
+                running.get(MIGRATION_WAIT_MS, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                log.debug("레거시 캔들 키 변환 대기 중단: {}", key);
+            }
+            return;
+        }
+        try {
+            convertLegacyKey(key);
+        } finally {
+            runningMigrations.remove(key, migration);
+            migration.complete(null);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void convertLegacyKey(String key) {
+        String legacyKey = key + ":legacy";
+        if (redisTemplate.type(key) != DataType.STRING) {
+            // 다른 인스턴스가 RENAME 후 ZSET을 쓰는 중이면 아직 완료로 표시하지 않음
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(legacyKey))) {
+                migratedKeys.add(key);
+            }
+            return;
+        }
+
+        try {
+            redisTemplate.rename(key, legacyKey);
+        } catch (Exception e) {
+            // 다른 인스턴스가 먼저 변환을 시작한 경우
+            log.debug("레거시 캔들 키 변환 건너뜀: {}", key);
+            return;
+        }
+
+        Object legacy = redisTemplate.opsForValue().get(legacyKey);
+        if (legacy instanceof List && !((List<?>) legacy).isEmpty()) {
+            long total = writeCandles(key, (List<CandleDto>) legacy, MAX_DAILY_CANDLES);
+            log.info("레거시 캔들 키 ZSET 변환 완료: {} ({}건)", key, total);
+        }
+        redisTemplate.delete(legacyKey);
+        migratedKeys.add(key);
+    }
+
+    private double toScore(String date) {
+        return Double.parseDouble(date);
     }
 
     /**
@@ -0,0 +1,437 @@
+package com.hanapath.backend.stock.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hanapath.backend.stock.dto.StockInfoDto;
+import com.hanapath.backend.stock.util.MarketCalendar;
+import com.hanapath.backend.stock.util.StockNameMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 종목 기본 정보 조회 및 캐시 (stock:info:{종목코드})
+ * - 장중에는 짧게, 장 마감 후에는 길게 최신으로 간주
+ * - 오래된 정보는 그대로 돌려주고 백그라운드에서 한 번만 다시 조회 (stale-while-revalidate)
+ * - 재시도는 조회 스레드에서 처리하므로 요청 스레드는 캐시가 없을 때만 잠깐 기다림
+ */
+@Slf4j
+@Service
+public class StockInfoService {
+
+    private static final String STOCK_INFO_PREFIX = "stock:info:";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BASE_DELAY_MS = 1000;
+
+    private final KisChartClient kisChartClient;
+    private final KisChartWorkerPool chartWorkerPool;
+    private final KisRateLimiter rateLimiter;
+    private final StockNameMapper stockNameMapper;
+    private final StockSearchService stockSearchService;
+    private final MarketCalendar marketCalendar;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final long marketHoursTtlMs;
+    private final long closedTtlMs;
+    private final long coldWaitMs;
+    private final Duration redisTtl;
+
+    // Redis 앞단 캐시 (다른 인스턴스가 갱신한 정보를 받아오도록 짧게 유지)
+    private final Cache<String, CachedStockInfo> localCache;
+
+    // 종목별 진행 중인 조회 (동시에 하나만)
+    private final ConcurrentHashMap<String, CompletableFuture<StockInfoDto>> inFlight = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService refreshExecutor = Executors.newScheduledThreadPool(2);
+
+    private final LongAdder freshHits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    public StockInfoService(KisChartClient kisChartClient,
+                            KisChartWorkerPool chartWorkerPool,
+                            KisRateLimiter rateLimiter,
+                            StockNameMapper stockNameMapper,
+                            StockSearchService stockSearchService,
+                            MarketCalendar marketCalendar,
+                            RedisTemplate<String, Object> redisTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${app.stock-info.market-hours-ttl-ms:10000}") long marketHoursTtlMs,
+                            @Value("${app.stock-info.closed-ttl-ms:21600000}") long closedTtlMs,
+                            @Value("${app.stock-info.cold-wait-ms:5000}") long coldWaitMs,
+                            @Value("${app.stock-info.redis-ttl-hours:168}") long redisTtlHours) {
+        this.kisChartClient = kisChartClient;
+        this.chartWorkerPool = chartWorkerPool;
+        this.rateLimiter = rateLimiter;
+        this.stockNameMapper = stockNameMapper;
+        this.stockSearchService = stockSearchService;
+        this.marketCalendar = marketCalendar;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.marketHoursTtlMs = marketHoursTtlMs;
+        this.closedTtlMs = closedTtlMs;
+        this.coldWaitMs = coldWaitMs;
+        this.redisTtl = Duration.ofHours(redisTtlHours);
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(5_000)
+                .expireAfterWrite(Duration.ofMillis(Math.min(marketHoursTtlMs, 60_000)))
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * 종목 정보 조회
+     * - 캐시가 있으면 바로 반환 (오래되었으면 백그라운드 갱신)
+     * - 캐시가 없으면 조회를 최대 coldWaitMs 동안 기다리고, 실패 시 기본 정보 반환
+     */
+    public StockInfoDto getStockInfo(String ticker) {
+        CachedStockInfo cached = readCache(ticker);
+        if (cached != null) {
+            if (isFresh(cached)) {
+                freshHits.increment();
+            } else {
+                staleHits.increment();
+                refresh(ticker);
+            }
+            return cached.info();
+        }
+
+        misses.increment();
+        try {
+            StockInfoDto info = refresh(ticker).get(coldWaitMs, TimeUnit.MILLISECONDS);
+            if (info != null) {
+                return info;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("종목 정보 조회 대기 시간 초과: {}", ticker);
+        }
+
+        // 조회 실패 시 기본 정보로 대체 (캐시하지 않음)
+        log.warn("종목 정보 조회 최종 실패, 기본 정보 사용: {}", ticker);
+        return defaultInfo(ticker);
+    }
+
+    /**
+     * 여러 종목 정보 일괄 조회 (요청 순서 유지)
+     * - 로컬 캐시에 없는 종목만 MGET 한 번으로 Redis 조회
+     * - 캐시가 없는 종목은 조회를 한꺼번에 시작하고 전체를 최대 coldWaitMs 동안 기다림
+     */
+    public Map<String, StockInfoDto> getStockInfos(Collection<String> tickers) {
+        return requestStockInfos(tickers).get();
+    }
+
+    /**
+     * 일괄 조회 시작: 캐시 확인과 KIS 조회 시작까지만 하고 대기는 반환된 Supplier의 get()에서 함
+     * - 대기 마감 시각은 지금 기준 coldWaitMs로 고정 → 다른 조회와 함께 시작하면 대기 시간이 겹침
+     */
+    public Supplier<Map<String, StockInfoDto>> requestStockInfos(Collection<String> tickers) {
+        Map<String, StockInfoDto> result = new LinkedHashMap<>();
+        Map<String, CachedStockInfo> cached = new HashMap<>(localCache.getAllPresent(tickers));
+
+        List<String> remote = new ArrayList<>();
+        for (String ticker : tickers) {
+            if (!cached.containsKey(ticker)) {
+                remote.add(ticker);
+            }
+        }
+        if (!remote.isEmpty()) {
+            cached.putAll(readCache(remote));
+        }
+
+        Map<String, CompletableFuture<StockInfoDto>> pending = new LinkedHashMap<>();
+        for (String ticker : tickers) {
+            CachedStockInfo info = cached.get(ticker);
+            if (info == null) {
+                misses.increment();
+                pending.put(ticker, refresh(ticker));
+                continue;
+            }
+            if (isFresh(info)) {
+                freshHits.increment();
+            } else {
+                staleHits.increment();
+                refresh(ticker);
+            }
+            result.put(ticker, info.info());
+        }
+        if (pending.isEmpty()) {
+            return () -> result;
+        }
+
+        long deadline = System.currentTimeMillis() + coldWaitMs;
+        return () -> {
+            for (Map.Entry<String, CompletableFuture<StockInfoDto>> entry : pending.entrySet()) {
+                StockInfoDto info = null;
+                try {
+                    long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                    info = entry.getValue().get(remaining, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    log.warn("종목 정보 조회 대기 시간 초과: {}", entry.getKey());
+                }
+                result.put(entry.getKey(), info != null ? info : defaultInfo(entry.getKey()));
+            }
+
+            // 요청 순서로 다시 정렬
+            Map<String, StockInfoDto> ordered = new LinkedHashMap<>();
+            tickers.forEach(ticker -> ordered.put(ticker, result.get(ticker)));
+            return ordered;
+        };
+    }
+
+    /**
+     * 백그라운드 조회 (진행 중인 조회가 있으면 그 결과를 공유)
+     */
+    public CompletableFuture<StockInfoDto> refresh(String ticker) {
+        CompletableFuture<StockInfoDto> future = new CompletableFuture<>();
+        CompletableFuture<StockInfoDto> current = inFlight.putIfAbsent(ticker, future);
+        if (current != null) {
+            return current;
+        }
+
+        refreshes.increment();
+        future.whenComplete((info, error) -> inFlight.remove(ticker, future));
+        try {
+            refreshExecutor.execute(() -> attempt(ticker, 1, future));
+        } catch (Exception e) {
+            log.error("{} 종목 정보 조회 작업 등록 실패", ticker, e);
+            future.complete(null);
+        }
+        return future;
+    }
+
+    private void attempt(String ticker, int attemptNumber, CompletableFuture<StockInfoDto> future) {
+        StockInfoDto info = fetchStockInfo(ticker);
+        if (info != null) {
+            writeCache(ticker, info);
+            future.complete(info);
+            return;
+        }
+
+        if (attemptNumber < MAX_ATTEMPTS) {
+            long baseDelay = RETRY_BASE_DELAY_MS << (attemptNumber - 1);
+            long delay = (long) (baseDelay * (0.5 + ThreadLocalRandom.current().nextDouble()));
+            log.warn("종목 정보 조회 실패, {}ms 후 재시도 ({}/{}): {}", delay, attemptNumber + 1, MAX_ATTEMPTS, ticker);
+            refreshExecutor.schedule(() -> attempt(ticker, attemptNumber + 1, future), delay, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        refreshFailures.increment();
+        future.complete(null);
+    }
+
+    private boolean isFresh(CachedStockInfo cached) {
+        long age = System.currentTimeMillis() - cached.fetchedAt();
+        if (marketCalendar.isMarketOpen()) {
+            return age < marketHoursTtlMs;
+        }
+        // 장 마감 전에 받은 정보는 종가 반영을 위해 마감 후 한 번 더 받음
+        long lastClose = marketCalendar.lastMarketClose().toInstant().toEpochMilli();
+        return cached.fetchedAt() >= lastClose && age < closedTtlMs;
+    }
+
+    private CachedStockInfo readCache(String ticker) {
+        CachedStockInfo cached = localCache.getIfPresent(ticker);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            Object value = redisTemplate.opsForValue().get(STOCK_INFO_PREFIX + ticker);
+            if (value instanceof String json) {
+                cached = objectMapper.readValue(json, CachedStockInfo.class);
+                localCache.put(ticker, cached);
+                return cached;
+            }
+        } catch (Exception e) {
+            log.error("{} 종목 정보 캐시 조회 실패", ticker, e);
+        }
+        return null;
+    }
+
+    private Map<String, CachedStockInfo> readCache(List<String> tickers) {
+        Map<String, CachedStockInfo> result = new HashMap<>();
+        try {
+            List<String> keys = tickers.stream().map(ticker -> STOCK_INFO_PREFIX + ticker).toList();
+            List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values == null) {
+                return result;
+            }
+            for (int i = 0; i < tickers.size(); i++) {
+                if (values.get(i) instanceof String json) {
+                    CachedStockInfo cached = objectMapper.readValue(json, CachedStockInfo.class);
+                    localCache.put(tickers.get(i), cached);
+                    result.put(tickers.get(i), cached);
+                }
+            }
+        } catch (Exception e) {
+            log.error("종목 정보 캐시 일괄 조회 실패 ({}개 종목)", tickers.size(), e);
+        }
+        return result;
+    }
+
+    private void writeCache(String ticker, StockInfoDto info) {
+        CachedStockInfo cached = new CachedStockInfo(info, System.currentTimeMillis());
+        localCache.put(ticker, cached);
+        try {
+            redisTemplate.opsForValue().set(STOCK_INFO_PREFIX + ticker, objectMapper.writeValueAsString(cached), redisTtl);
+        } catch (Exception e) {
+            log.error("{} 종목 정보 캐시 저장 실패", ticker, e);
+        }
+    }
+
+    private StockInfoDto fetchStockInfo(String ticker) {
+        try {
+            if (kisChartClient.isConfigured()) {
+                StockInfoDto info = kisChartClient.getStockInfo(ticker);
+                if (info != null && info.getName().isBlank()) {
+                    return info.toBuilder().name(nameOf(ticker)).build();
+                }
+                return info;
+            }
+
+            log.info("KIS 차트 워커 종목 정보 요청: {}", ticker);
+            rateLimiter.acquire();
+            JsonNode data = chartWorkerPool.fetchStockInfo(ticker);
+
+            // 조회 실패 시 워커는 null 또는 빈 객체를 돌려줌
+            if (data == null || !data.isObject() || data.isEmpty()) {
+                return null;
+            }
+            return parseStockInfo(data);
+
+        } catch (Exception e) {
+            log.error("종목 정보 조회 중 오류 발생", e);
+            return null;
+        }
+    }
+
+    private StockInfoDto parseStockInfo(JsonNode node) {
+        try {
+            String ticker = node.get("ticker").asText();
+            String name = node.get("name").asText();
+
+            // 종목명이 비어있으면 기본 종목명 설정
+            if (name == null || name.trim().isEmpty()) {
+                name = nameOf(ticker);
+            }
+
+            return StockInfoDto.builder()
+                    .ticker(ticker)
+                    .name(name)
+                    .currentPrice(getIntValue(node, "currentPrice"))
+                    .changeAmount(getIntValue(node, "changeAmount"))
+                    .changeRate(getDoubleValue(node, "changeRate"))
+                    .openPrice(getIntValue(node, "openPrice"))
+                    .highPrice(getIntValue(node, "highPrice"))
+                    .lowPrice(getIntValue(node, "lowPrice"))
+                    .volume(getLongValue(node, "volume"))
+                    .tradingValue(getLongValue(node, "tradingValue"))
+                    .marketCap(getLongValue(node, "marketCap"))
+                    .capital(getLongValue(node, "capital"))
+                    .per(getDoubleValue(node, "per"))
+                    .pbr(getDoubleValue(node, "pbr"))
+                    .eps(getIntValue(node, "eps"))
+                    .bps(getIntValue(node, "bps"))
+                    .sector(getStringValue(node, "sector"))
+                    .listingShares(getLongValue(node, "listingShares"))
+                    .build();
+        } catch (Exception e) {
+            log.error("종목 정보 파싱 오류: {}", node.toString(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 종목 마스터(검색 색인) 종목명, 없으면 기본 종목명
+     */
+    private String nameOf(String ticker) {
+        String name = stockSearchService.getName(ticker);
+        return name != null ? name : stockNameMapper.getStockNameByCode(ticker);
+    }
+
+    private StockInfoDto defaultInfo(String ticker) {
+        return StockInfoDto.builder()
+                .ticker(ticker)
+                .name(nameOf(ticker))
+                .currentPrice(0)
+                .changeAmount(0)
+                .changeRate(0.0)
+                .openPrice(0)
+                .highPrice(0)
+                .lowPrice(0)
+                .volume(0L)
+                .tradingValue(0L)
+                .marketCap(0L)
+                .per(0.0)
+                .pbr(0.0)
+                .eps(0)
+                .bps(0)
+                .sector("정보 없음")
+                .listingShares(0L)
+                .build();
+    }
+
+    private int getIntValue(JsonNode node, String key) {
+        return node.has(key) ? node.get(key).asInt() : 0;
+    }
+
+    private long getLongValue(JsonNode node, String key) {
+        return node.has(key) ? node.get(key).asLong() : 0L;
+    }
+
+    private double getDoubleValue(JsonNode node, String key) {
+        return node.has(key) ? node.get(key).asDouble() : 0.0;
+    }
+
+    private String getStringValue(JsonNode node, String key) {
+        return node.has(key) ? node.get(key).asText() : "정보 없음";
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("freshHits", freshHits.sum());
+        stats.put("staleHits", staleHits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("refreshes", refreshes.sum());
+        stats.put("refreshFailures", refreshFailures.sum());
+        stats.put("inFlight", inFlight.size());
+        stats.put("localEntries", localCache.estimatedSize());
+        return stats;
+    }
+
+    /**
+     * 캐시에 저장하는 종목 정보와 조회 시각 (ms)
+     */
+    record CachedStockInfo(StockInfoDto info, long fetchedAt) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.hanapath.backend.stock.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 종목별 조회 인기도
+ * - 요청 경로에서는 메모리 카운터만 올리고, 주기적으로 Redis ZSET에 합산
+ * - 서버 재시작 후 캐시 예열 순서를 정하는 데 사용
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockPopularityService {
+
+    private static final String POPULARITY_KEY = "stock:popularity";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final ConcurrentHashMap<String, LongAdder> pendingCounts = new ConcurrentHashMap<>();
+
+    public void record(String ticker) {
+        pendingCounts.computeIfAbsent(ticker, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * 쌓인 조회 수를 Redis에 합산 (1분 간격)
+     */
+    @Scheduled(fixedRate = 60_000)
+    public void flush() {
+        if (pendingCounts.isEmpty()) {
+            return;
+        }
+        try {
+            for (Map.Entry<String, LongAdder> entry : pendingCounts.entrySet()) {
+                long count = entry.getValue().sumThenReset();
+                if (count > 0) {
+                    redisTemplate.opsForZSet().incrementScore(POPULARITY_KEY, entry.getKey(), count);
+                }
+            }
+        } catch (Exception e) {
+            log.error("종목 인기도 저장 중 오류 발생", e);
+        }
+    }
+
+    /**
+     * 인기도 상위 종목
+     */
+    public List<String> getTopTickers(int limit) {
+        List<String> tickers = new ArrayList<>();
+        try {
+            Set<Object> members = redisTemplate.opsForZSet().reverseRange(POPULARITY_KEY, 0, limit - 1);
+            if (members != null) {
+                members.forEach(member -> tickers.add(member.toString()));
+            }
+        } catch (Exception e) {
+            log.error("종목 인기도 조회 중 오류 발생", e);
+        }
+        return tickers;
+    }
+
+    /**
+     * 인기도 상위 종목을 먼저, 나머지는 주어진 순서대로 합쳐 정렬
+     */
+    public List<String> rank(Collection<String> tickers, int topLimit) {
+        Map<String, Integer> order = new HashMap<>();
+        List<String> top = getTopTickers(topLimit);
+        for (int i = 0; i < top.size(); i++) {
+            order.put(top.get(i), i);
+        }
+
+        Set<String> merged = new LinkedHashSet<>(top);
+        merged.addAll(tickers);
+        List<String> ranked = new ArrayList<>(merged);
+        ranked.sort(Comparator.comparingInt(ticker -> order.getOrDefault(ticker, Integer.MAX_VALUE)));
+        return ranked;
+    }
+
+    /**
+     * 오래된 인기도가 계속 앞서지 않도록 점수를 절반으로 줄임 (예열 시 1회)
+     */
+    public void decay() {
+        try {
+            Set<ZSetOperations.TypedTuple<Object>> entries = redisTemplate.opsForZSet().rangeWithScores(POPULARITY_KEY, 0, -1);
+            if (entries == null) {
+                return;
+            }
+            for (ZSetOperations.TypedTuple<Object> entry : entries) {
+                if (entry.getValue() != null && entry.getScore() != null) {
+                    redisTemplate.opsForZSet().add(POPULARITY_KEY, entry.getValue(), entry.getScore() / 2);
+                }
+            }
+        } catch (Exception e) {
+            log.error("종목 인기도 감쇠 중 오류 발생", e);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.hanapath.backend.stock.service;
+
+import com.hanapath.backend.stock.dto.RealtimeStockDto;
+import com.hanapath.backend.stock.dto.StockRankingDto;
+import com.hanapath.backend.stock.dto.StockRankingItemDto;
+import com.hanapath.backend.stock.publisher.StockRealtimePublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 실시간 요약 시세 기반 종목 순위 (상승률, 하락률, 거래량, 거래대금)
+ * - 지표별로 (점수, 종목코드) 순으로 정렬된 ConcurrentSkipListSet을 유지하고 시세마다 해당 종목만 재배치
+ * - 순위 조회는 앞에서부터 limit건만 읽음 (전체 정렬 없음)
+ * - 일정 주기마다 순위가 바뀐 지표만 /topic/stock/rankings/{metric}으로 전송
+ */
+@Slf4j
+@Service
+public class StockRankingService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final StockRealtimePublisher publisher;
+    private final StockSearchService stockSearchService;
+    private final int publishSize;
+
+    // 종목별 최신 시세
+    private final ConcurrentHashMap<String, Quote> quotes = new ConcurrentHashMap<>();
+    private final Map<RankingMetric, ConcurrentSkipListSet<Ranked>> rankings = new EnumMap<>(RankingMetric.class);
+
+    // 마지막으로 전송한 순위 (바뀐 지표만 다시 전송)
+    private final Map<RankingMetric, List<StockRankingItemDto>> lastPublished = new EnumMap<>(RankingMetric.class);
+    private final Map<RankingMetric, Long> seqs = new EnumMap<>(RankingMetric.class);
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public StockRankingService(StockRealtimePublisher publisher,
+                               StockSearchService stockSearchService,
+                               @Value("${app.realtime.rankings.size:30}") int publishSize) {
+        this.publisher = publisher;
+        this.stockSearchService = stockSearchService;
+        this.publishSize = Math.min(Math.max(publishSize, 1), MAX_LIMIT);
+        for (RankingMetric metric : RankingMetric.values()) {
+            rankings.put(metric, new ConcurrentSkipListSet<>());
+            seqs.put(metric, 0L);
+        }
+    }
+
+    /**
+     * 요약 시세 반영 (종목별로 순서대로 처리, 점수가 바뀐 지표만 재배치)
+     */
+    public void update(RealtimeStockDto dto) {
+        if (dto.getTicker() == null || dto.getPrice() == null) {
+            return;
+        }
+        quotes.compute(dto.getTicker(), (ticker, previous) -> {
+            Quote quote = Quote.of(dto, previous, stockSearchService);
+            for (RankingMetric metric : RankingMetric.values()) {
+                double score = metric.score(quote);
+                Double previousScore = previous != null ? metric.score(previous) : null;
+                if (previousScore != null && Double.compare(previousScore, score) == 0) {
+                    continue;
+                }
+                ConcurrentSkipListSet<Ranked> set = rankings.get(metric);
+                // 새 위치를 먼저 넣고 이전 위치를 빼서 읽는 쪽에서 종목이 잠시 빠져 보이지 않도록 함
+                set.add(new Ranked(ticker, score));
+                if (previousScore != null) {
+                    set.remove(new Ranked(ticker, previousScore));
+                }
+            }
+            return quote;
+        });
+        dirty.set(true);
+    }
+
+    /**
+     * 지표별 상위 limit개 (지원하지 않는 지표면 IllegalArgumentException)
+     */
+    public StockRankingDto getRanking(String metricName, int limit) {
+        RankingMetric metric = RankingMetric.from(metricName);
+        List<StockRankingItemDto> items = top(metric, Math.min(Math.max(limit, 1), MAX_LIMIT));
+        synchronized (this) {
+            return toDto(metric, seqs.get(metric), items);
+        }
+    }
+
+    /**
+     * 순위가 바뀐 지표만 전송 (기본 1초)
+     */
+    @Scheduled(fixedRateString = "${app.realtime.rankings.publish-ms:1000}")
+    public synchronized void publish() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        for (RankingMetric metric : RankingMetric.values()) {
+            List<StockRankingItemDto> items = top(metric, publishSize);
+            if (items.equals(lastPublished.get(metric))) {
+                continue;
+            }
+            long seq = seqs.merge(metric, 1L, Long::sum);
+            lastPublished.put(metric, items);
+            publisher.sendRankings(metric.path, toDto(metric, seq, items));
+        }
+    }
+
+    private List<StockRankingItemDto> top(RankingMetric metric, int limit) {
+        List<StockRankingItemDto> items = new ArrayList<>(limit);
+        Set<String> seen = new HashSet<>();
+        for (Ranked ranked : rankings.get(metric)) {
+            if (items.size() >= limit || !metric.qualifies(ranked.score)) {
+                break;
+            }
+            // 재배치 중에는 같은 종목이 두 위치에 잠시 있을 수 있음
+            Quote quote = quotes.get(ranked.ticker);
+            if (quote == null || !seen.add(ranked.ticker)) {
+                continue;
+            }
+            items.add(StockRankingItemDto.builder()
+                    .rank(items.size() + 1)
+                    .ticker(quote.ticker)
+                    .name(quote.name)
+                    .price(quote.price)
+                    .rate(quote.rate)
+                    .volume(quote.volume)
+                    .tradingValue(quote.tradingValue)
+                    .build());
+        }
+        return items;
+    }
+
+    private StockRankingDto toDto(RankingMetric metric, long seq, List<StockRankingItemDto> items) {
+        return StockRankingDto.builder()
+                .metric(metric.path)
+                .seq(seq)
+                .timestamp(System.currentTimeMillis())
+                .items(items)
+                .build();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("tickers", quotes.size());
+        Map<String, Object> metrics = new HashMap<>();
+        seqs.forEach((metric, seq) -> metrics.put(metric.path, seq));
+        stats.put("seq", metrics);
+        return stats;
+    }
+
+    /**
+     * 순위 지표 (score가 클수록 상위)
+     */
+    enum RankingMetric {
+        GAINERS("gainers"),
+        LOSERS("losers"),
+        VOLUME("volume"),
+        VALUE("value");
+
+        private final String path;
+
+        RankingMetric(String path) {
+            this.path = path;
+        }
+
+        private double score(Quote quote) {
+            switch (this) {
+                case GAINERS:
+                    return quote.rate;
+                case LOSERS:
+                    return -quote.rate;
+                case VOLUME:
+                    return quote.volume;
+                default:
+                    return quote.tradingValue;
+            }
+        }
+
+        /**
+         * 상승률 순위는 상승 종목만, 하락률 순위는 하락 종목만 포함
+         */
+        private boolean qualifies(double score) {
+            return this == VOLUME || this == VALUE || score > 0;
+        }
+
+        private static RankingMetric from(String name) {
+            for (RankingMetric metric : values()) {
+                if (metric.path.equalsIgnoreCase(name)) {
+                    return metric;
+                }
+            }
+            throw new IllegalArgumentException("지원하지 않는 순위 지표: " + name);
+        }
+    }
+
+    /**
+     * 순위 항목 (점수 내림차순, 같으면 종목코드 순)
+     */
+    private record Ranked(String ticker, double score) implements Comparable<Ranked> {
+        private static final Comparator<Ranked> ORDER = Comparator
+                .comparingDouble((Ranked r) -> -r.score)
+                .thenComparing(Ranked::ticker);
+
+        @Override
+        public int compareTo(Ranked other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * 종목별 최신 시세
+     * - 거래대금은 요약 시세에 누적 거래대금이 있으면 그 값을 그대로 사용
+     * - 없으면 시세마다 현재가 × 거래량 증가분을 더한 추정치 (체결 사이 가격 변화만큼 오차가 있음)
+     */
+    private record Quote(String ticker, String name, int price, float rate, long volume, long tradingValue) {
+        private static Quote of(RealtimeStockDto dto, Quote previous, StockSearchService searchService) {
+            String name = dto.getStockName();
+            if (name == null || name.isBlank()) {
+                name = previous != null ? previous.name : searchService.getName(dto.getTicker());
+            }
+            float rate = dto.getRate() != null ? dto.getRate() : (previous != null ? previous.rate : 0f);
+            int price = dto.getPrice();
+
+            // 호가 메시지는 거래량이 0으로 오므로 이전 누적값을 유지
+            Long reportedVolume = dto.getVolume();
+            boolean hasVolume = reportedVolume != null && reportedVolume > 0;
+            long volume = hasVolume ? reportedVolume : (previous != null ? previous.volume : 0L);
+
+            long tradingValue;
+            if (dto.getTradingValue() != null && dto.getTradingValue() > 0) {
+                tradingValue = dto.getTradingValue();
+            } else if (previous == null || volume < previous.volume) {
+                // 처음 받은 시세이거나 거래일이 바뀌어 누적 거래량이 줄어든 경우
+                tradingValue = (long) price * volume;
+            } else {
+                tradingValue = previous.tradingValue + (long) price * (volume - previous.volume);
+            }
+            return new Quote(dto.getTicker(), Objects.requireNonNullElse(name, dto.getTicker()),
+                    price, rate, volume, tradingValue);
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.hanapath.backend.stock.service;
+
+import com.hanapath.backend.stock.dto.StockSearchResultDto;
+import com.hanapath.backend.stock.entity.StockMaster;
+import com.hanapath.backend.stock.repository.StockMasterRepository;
+import com.hanapath.backend.stock.util.StockNameMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * 종목 검색 (자동완성)
+ * - 종목코드 일치/앞부분, 종목명 앞부분/포함, 초성(예: ㅅㅅㅈㅈ → 삼성전자) 검색
+ * - 종목 마스터 전체를 메모리 색인으로 만들어 두고, 바뀌면 새 색인을 만들어 한 번에 교체
+ * - 포함/초성 검색은 초성 문자열의 2글자 조각(bigram)별 종목 목록을 교집합해 후보를 좁힌 뒤 확인
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockSearchService {
+
+    private static final int MAX_LIMIT = 50;
+    private static final int MAX_VERIFIED_CANDIDATES = 500;
+
+    private final StockMasterRepository stockMasterRepository;
+    private final StockNameMapper stockNameMapper;
+
+    private volatile SearchIndex index = SearchIndex.build(new TreeMap<>());
+    private volatile String loadedVersion;
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * 종목 마스터가 바뀌었으면(건수 또는 마지막 수정 시각) 색인 재생성
+     */
+    @Scheduled(initialDelayString = "${app.stock.search.reload-check-ms:60000}",
+            fixedDelayString = "${app.stock.search.reload-check-ms:60000}")
+    public void reloadIfChanged() {
+        try {
+            if (!Objects.equals(currentVersion(), loadedVersion)) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.error("종목 검색 색인 변경 확인 실패", e);
+        }
+    }
+
+    public synchronized void reload() {
+        long startTime = System.currentTimeMillis();
+        TreeMap<String, String> names = new TreeMap<>(stockNameMapper.getAll());
+        String version = null;
+        try {
+            version = currentVersion();
+            for (StockMaster master : stockMasterRepository.findAll()) {
+                String name = master.getName();
+                // 이름 없이 등록된 종목(기본값 "코드 종목")은 기본 종목명 유지
+                if (name != null && !name.isBlank() && !name.equals(master.getTicker() + " 종목")) {
+                    names.put(master.getTicker(), name);
+                } else {
+                    names.putIfAbsent(master.getTicker(), master.getTicker());
+                }
+            }
+        } catch (Exception e) {
+            log.error("종목 마스터 조회 실패, 기본 종목명으로 검색 색인 생성", e);
+        }
+
+        index = SearchIndex.build(names);
+        loadedVersion = version;
+        log.info("종목 검색 색인 생성 완료 - {}개 종목 ({}ms)", names.size(), System.currentTimeMillis() - startTime);
+    }
+
+    private String currentVersion() {
+        return stockMasterRepository.count() + ":" + stockMasterRepository.findLatestUpdatedAt();
+    }
+
+    public String getName(String ticker) {
+        return index.nameOf(ticker);
+    }
+
+    public List<StockSearchResultDto> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return new ArrayList<>();
+        }
+        return index.search(query, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    /**
+     * 불변 검색 색인 (교체 시 통째로 바꿈)
+     */
+    private static final class SearchIndex {
+
+        private static final char[] CHOSUNG = {
+                'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+                'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+        };
+        private static final int[] EMPTY = new int[0];
+
+        private final String[] tickers;          // 종목코드 오름차순
+        private final String[] names;
+        private final String[] normalizedNames;  // 소문자, 공백 제거
+        private final int[] nameOrder;           // normalizedNames 오름차순 id
+        private final Map<String, Integer> idByTicker;
+        private final Map<Long, int[]> postings;  // 초성 문자열 1글자/2글자 조각 → id 목록 (오름차순)
+
+        private SearchIndex(String[] tickers, String[] names, String[] normalizedNames, int[] nameOrder,
+                            Map<String, Integer> idByTicker, Map<Long, int[]> postings) {
+            this.tickers = tickers;
+            this.names = names;
+            this.normalizedNames = normalizedNames;
+            this.nameOrder = nameOrder;
+            this.idByTicker = idByTicker;
+            this.postings = postings;
+        }
+
+        private static SearchIndex build(TreeMap<String, String> namesByTicker) {
+            int size = namesByTicker.size();
+            String[] tickers = new String[size];
+            String[] names = new String[size];
+            String[] normalized = new String[size];
+            Map<String, Integer> idByTicker = new HashMap<>(size * 2);
+            Map<Long, List<Integer>> building = new HashMap<>();
+
+            int id = 0;
+            for (Map.Entry<String, String> entry : namesByTicker.entrySet()) {
+                tickers[id] = entry.getKey();
+                names[id] = entry.getValue();
+                normalized[id] = normalize(entry.getValue());
+                idByTicker.put(entry.getKey(), id);
+
+                String chosung = toChosung(normalized[id]);
+                for (int i = 0; i < chosung.length(); i++) {
+                    addPosting(building, unigramKey(chosung.charAt(i)), id);
+                    if (i + 1 < chosung.length()) {
+                        addPosting(building, bigramKey(chosung.charAt(i), chosung.charAt(i + 1)), id);
+                    }
+                }
+                id++;
+            }
+
+            Map<Long, int[]> postings = new HashMap<>(building.size() * 2);
+            building.forEach((key, ids) -> postings.put(key, ids.stream().mapToInt(Integer::intValue).toArray()));
+
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing((Integer i) -> normalized[i]).thenComparing(i -> tickers[i]));
+            int[] nameOrder = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+
+            return new SearchIndex(tickers, names, normalized, nameOrder, idByTicker, postings);
+        }
+
+        private static void addPosting(Map<Long, List<Integer>> building, long key, int id) {
+            List<Integer> ids = building.computeIfAbsent(key, k -> new ArrayList<>());
+            // 같은 종목명 안에서 반복되는 조각은 한 번만
+            if (ids.isEmpty() || ids.get(ids.size() - 1) != id) {
+                ids.add(id);
+            }
+        }
+
+        private String nameOf(String ticker) {
+            Integer id = idByTicker.get(ticker);
+            return id != null ? names[id] : null;
+        }
+
+        private List<StockSearchResultDto> search(String query, int limit) {
+            String normalizedQuery = normalize(query);
+            if (normalizedQuery.isEmpty()) {
+                return new ArrayList<>();
+            }
+            String upperQuery = normalizedQuery.toUpperCase(Locale.ROOT);
+            Map<Integer, Match> matches = new HashMap<>();
+
+            // 1. 종목코드 일치 / 앞부분
+            Integer exact = idByTicker.get(upperQuery);
+            if (exact != null) {
+                offer(matches, exact, 0, 0, "CODE");
+            }
+            if (isAlphanumeric(upperQuery)) {
+                int from = lowerBound(tickers, upperQuery);
+                for (int i = from, taken = 0; i < tickers.length && taken < limit && tickers[i].startsWith(upperQuery); i++, taken++) {
+                    offer(matches, i, 1, 0, "CODE_PREFIX");
+                }
+            }
+
+            // 2. 종목명 앞부분
+            int from = lowerBoundByName(normalizedQuery);
+            for (int i = from, taken = 0; i < nameOrder.length && taken < limit
+                    && normalizedNames[nameOrder[i]].startsWith(normalizedQuery); i++, taken++) {
+                offer(matches, nameOrder[i], 2, 0, "NAME_PREFIX");
+            }
+
+            // 3. 종목명 포함 / 초성
+            boolean chosungQuery = normalizedQuery.chars().anyMatch(c -> isChosung((char) c));
+            int verified = 0;
+            for (int id : candidates(toChosung(normalizedQuery))) {
+                if (verified++ >= MAX_VERIFIED_CANDIDATES) {
+                    break;
+                }
+                int position = indexOf(normalizedNames[id], normalizedQuery);
+                if (position >= 0) {
+                    offer(matches, id, 3, position, chosungQuery ? "CHOSUNG" : "NAME_CONTAINS");
+                }
+            }
+
+            List<Match> ranked = new ArrayList<>(matches.values());
+            ranked.sort(Comparator.comparingInt((Match m) -> m.rank)
+                    .thenComparingInt(m -> m.position)
+                    .thenComparingInt(m -> normalizedNames[m.id].length())
+                    .thenComparing(m -> tickers[m.id]));
+
+            List<StockSearchResultDto> results = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (int i = 0; i < ranked.size() && i < limit; i++) {
+                Match match = ranked.get(i);
+                results.add(StockSearchResultDto.builder()
+                        .ticker(tickers[match.id])
+                        .name(names[match.id])
+                        .matchType(match.type)
+                        .build());
+            }
+            return results;
+        }
+
+        private static void offer(Map<Integer, Match> matches, int id, int rank, int position, String type) {
+            Match current = matches.get(id);
+            if (current == null || rank < current.rank) {
+                matches.put(id, new Match(id, rank, position, type));
+            }
+        }
+
+        /**
+         * 초성 문자열의 조각 목록을 교집합해 후보 id 반환
+         */
+        private int[] candidates(String chosungQuery) {
+            if (chosungQuery.length() == 1) {
+                return postings.getOrDefault(unigramKey(chosungQuery.charAt(0)), EMPTY);
+            }
+            List<int[]> lists = new ArrayList<>();
+            for (int i = 0; i + 1 < chosungQuery.length(); i++) {
+                int[] ids = postings.get(bigramKey(chosungQuery.charAt(i), chosungQuery.charAt(i + 1)));
+                if (ids == null) {
+                    return EMPTY;
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(ids -> ids.length));
+            int[] result = lists.get(0);
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = intersect(result, lists.get(i));
+            }
+            return result;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] out = new int[Math.min(a.length, b.length)];
+            int i = 0, j = 0, n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+
+        private static int lowerBound(String[] sorted, String key) {
+            int low = 0, high = sorted.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sorted[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int lowerBoundByName(String key) {
+            int low = 0, high = nameOrder.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (normalizedNames[nameOrder[mid]].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * 검색어가 종목명에 나타나는 위치 (검색어의 초성 글자는 종목명 글자의 초성과 비교)
+         */
+        private static int indexOf(String name, String query) {
+            outer:
+            for (int start = 0; start + query.length() <= name.length(); start++) {
+                for (int j = 0; j < query.length(); j++) {
+                    char q = query.charAt(j);
+                    char n = name.charAt(start + j);
+                    if (n != q && !(isChosung(q) && chosungOf(n) == q)) {
+                        continue outer;
+                    }
+                }
+                return start;
+            }
+            return -1;
+        }
+
+        private static String normalize(String value) {
+            StringBuilder sb = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (!Character.isWhitespace(c)) {
+                    sb.append(Character.toLowerCase(c));
+                }
+            }
+            return sb.toString();
+        }
+
+        private static String toChosung(String value) {
+            char[] chars = new char[value.length()];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = chosungOf(value.charAt(i));
+            }
+            return new String(chars);
+        }
+
+        private static char chosungOf(char c) {
+            if (c >= 0xAC00 && c <= 0xD7A3) {
+                return CHOSUNG[(c - 0xAC00) / 588];
+            }
+            return c;
+        }
+
+        private static boolean isChosung(char c) {
+            return c >= 0x3131 && c <= 0x314E;
+        }
+
+        private static boolean isAlphanumeric(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (!(c >= '0' && c <= '9') && !(c >= 'A' && c <= 'Z')) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long unigramKey(char c) {
+            return c;
+        }
+
+        private static long bigramKey(char first, char second) {
+            // 1글자 키(0~0xFFFF)와 겹치지 않도록 32번째 비트 위 사용
+            return (1L << 32) | ((long) first << 16) | second;
+        }
+    }
+
+    private record Match(int id, int rank, int position, String type) {
+    }
+}
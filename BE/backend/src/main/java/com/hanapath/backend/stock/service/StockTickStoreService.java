@@ -0,0 +1,346 @@
+package com.hanapath.backend.stock.service;
+
+import com.hanapath.backend.stock.dto.CandleDto;
+import com.hanapath.backend.stock.dto.TradeExecutionDto;
+import com.hanapath.backend.stock.entity.StockTick;
+import com.hanapath.backend.stock.entity.StockTickBucket;
+import com.hanapath.backend.stock.util.TickDownsampler;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 실시간 체결 저장 (Mongo write-behind)
+ * - 수신 경로는 큐에 넣기만 하고, 전용 스레드가 모아서 종목/분 단위 문서에 bulk upsert
+ *   (블로킹 Mongo 쓰기가 공용 @Scheduled 스레드를 잡지 않도록)
+ * - 큐가 가득 차면 새 체결을 버리고 건수만 기록 (수신 경로는 Mongo를 기다리지 않음)
+ * - unordered bulk에서 거절된 묶음만 한 번 다시 시도하고, 그래도 실패한 묶음의 체결만 실패로 집계
+ */
+@Slf4j
+@Service
+public class StockTickStoreService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final MongoTemplate mongoTemplate;
+    private final BlockingQueue<TickRecord> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tick-store-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+
+    public StockTickStoreService(MongoTemplate mongoTemplate,
+                                 @Value("${app.realtime.tick-store.queue-capacity:100000}") int queueCapacity,
+                                 @Value("${app.realtime.tick-store.batch-size:5000}") int batchSize,
+                                 @Value("${app.realtime.tick-store.flush-interval-ms:500}") long flushIntervalMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        ensureIndexes();
+        writer.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void ensureIndexes() {
+        try {
+            mongoTemplate.indexOps(StockTickBucket.class).createIndex(new Index()
+                    .on("ticker", Sort.Direction.ASC)
+                    .on("bucketStart", Sort.Direction.ASC)
+                    .unique()
+                    .named("ticker_bucket_start"));
+        } catch (Exception e) {
+            log.warn("체결 묶음 인덱스 생성 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 체결 1건 저장 요청 (블로킹 없음)
+     */
+    public void record(TradeExecutionDto dto) {
+        long timestamp = dto.getTimestamp() > 0 ? dto.getTimestamp() : System.currentTimeMillis();
+        if (queue.offer(new TickRecord(dto.getTicker(), dto.getPrice(), dto.getVolume(), timestamp))) {
+            enqueued.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * 큐에 쌓인 체결을 종목/분 단위로 묶어 unordered bulk upsert (tick-store-writer 스레드)
+     */
+    private void flush() {
+        List<TickRecord> drained = new ArrayList<>(Math.min(batchSize, queue.size()));
+        while (queue.drainTo(drained, batchSize) > 0) {
+            writeBuckets(drained);
+            drained.clear();
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("체결 저장 처리 중 오류", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * 기간 내 체결을 최대 maxPoints건으로 줄여 조회 (LTTB, 건수가 적으면 원본 그대로)
+     * - depth가 false면 호가 10단 배열은 조회하지 않음
+     */
+    public List<StockTick> getTicks(String ticker, LocalDateTime start, LocalDateTime end, int maxPoints, boolean depth) {
+        TickDownsampler.Lttb<StockTick> sampler =
+                new TickDownsampler.Lttb<>(epochMillis(start), epochMillis(end), maxPoints);
+        streamTicks(ticker, start, end, depth, (time, tick) -> sampler.add(time, tick.getPrice(), tick));
+        return sampler.finish();
+    }
+
+    /**
+     * 기간 내 체결을 최대 maxPoints개 구간의 OHLCV 봉으로 조회
+     */
+    public List<CandleDto> getTickCandles(String ticker, LocalDateTime start, LocalDateTime end, int maxPoints) {
+        TickDownsampler.Ohlc sampler =
+                new TickDownsampler.Ohlc(ticker, KST, epochMillis(start), epochMillis(end), maxPoints);
+        streamTicks(ticker, start, end, false, (time, tick) -> sampler.add(time, tick.getPrice(), tick.getVolume()));
+        return sampler.finish();
+    }
+
+    /**
+     * 기간 내 체결을 시간순으로 전달 (Mongo 커서로 읽어 목록을 만들지 않음, 묶음 안은 시간순으로 정렬)
+     * - 분 단위 묶음 문서가 없으면 예전 stock_ticks 컬렉션 조회
+     */
+    private void streamTicks(String ticker, LocalDateTime start, LocalDateTime end, boolean depth, TickConsumer consumer) {
+        long startMs = epochMillis(start);
+        long endMs = epochMillis(end);
+
+        Query bucketQuery = Query.query(Criteria.where("ticker").is(ticker)
+                        .and("bucketStart").gte(start.truncatedTo(ChronoUnit.MINUTES)).lte(end))
+                .with(Sort.by(Sort.Direction.ASC, "bucketStart"));
+        bucketQuery.fields().include("prices", "volumes", "times");
+
+        boolean found = false;
+        try (Stream<StockTickBucket> buckets = mongoTemplate.stream(bucketQuery, StockTickBucket.class)) {
+            for (StockTickBucket bucket : (Iterable<StockTickBucket>) buckets::iterator) {
+                found = true;
+                List<Long> times = bucket.getTimes();
+                for (int i : timeOrder(times)) {
+                    long time = times.get(i);
+                    if (time < startMs || time > endMs) {
+                        continue;
+                    }
+                    consumer.accept(time, StockTick.builder()
+                            .ticker(ticker)
+                            .price(bucket.getPrices().get(i))
+                            .volume(bucket.getVolumes().get(i))
+                            .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(time), KST))
+                            .build());
+                }
+            }
+        }
+        if (found) {
+            return;
+        }
+
+        Query tickQuery = Query.query(Criteria.where("ticker").is(ticker).and("timestamp").gte(start).lte(end))
+                .with(Sort.by(Sort.Direction.ASC, "timestamp"));
+        if (!depth) {
+            tickQuery.fields().exclude("askPrices", "bidPrices", "askVolumes", "bidVolumes");
+        }
+        try (Stream<StockTick> ticks = mongoTemplate.stream(tickQuery, StockTick.class)) {
+            ticks.forEach(tick -> consumer.accept(epochMillis(tick.getTimestamp()), tick));
+        }
+    }
+
+    /**
+     * 묶음 안 체결의 시간순 인덱스
+     * - 배열은 도착 순서로 $push되므로 브리지 배치/동시 요청에 따라 순서가 뒤섞일 수 있음
+     *   (다운샘플러는 시간 오름차순 입력을 가정)
+     * - 같은 시각은 도착 순서 유지, 이미 정렬되어 있으면 정렬하지 않음
+     */
+    private static int[] timeOrder(List<Long> times) {
+        int size = times.size();
+        boolean sorted = true;
+        for (int i = 1; i < size && sorted; i++) {
+            sorted = times.get(i - 1) <= times.get(i);
+        }
+        if (sorted) {
+            return IntStream.range(0, size).toArray();
+        }
+        return IntStream.range(0, size).boxed()
+                .sorted(Comparator.comparingLong(times::get))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(KST).toInstant().toEpochMilli();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("enqueued", enqueued.get());
+        stats.put("dropped", dropped.get());
+        stats.put("written", written.get());
+        stats.put("failed", failed.get());
+        stats.put("retried", retried.get());
+        return stats;
+    }
+
+    private void writeBuckets(List<TickRecord> records) {
+        // 같은 종목/분의 체결은 $push $each 한 번으로 합침
+        Map<String, List<TickRecord>> grouped = new LinkedHashMap<>();
+        for (TickRecord record : records) {
+            grouped.computeIfAbsent(record.ticker + ":" + record.minute(), k -> new ArrayList<>()).add(record);
+        }
+
+        List<List<TickRecord>> groups = new ArrayList<>(grouped.values());
+        List<List<TickRecord>> rejected = upsertGroups(groups);
+        if (!rejected.isEmpty()) {
+            // 동시 upsert의 중복 키 등 일시적인 거절은 한 번 더 시도
+            retried.addAndGet(countRecords(rejected));
+            rejected = upsertGroups(rejected);
+        }
+
+        int failedRecords = countRecords(rejected);
+        written.addAndGet(records.size() - failedRecords);
+        if (failedRecords > 0) {
+            failed.addAndGet(failedRecords);
+            log.error("체결 묶음 저장 실패 - {}건 ({}개 묶음), 전체 {}건 중", failedRecords, rejected.size(), records.size());
+        }
+    }
+
+    /**
+     * 묶음별 upsert 실행 후 거절된 묶음 반환
+     */
+    private List<List<TickRecord>> upsertGroups(List<List<TickRecord>> groups) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StockTickBucket.class);
+        for (List<TickRecord> group : groups) {
+            TickRecord first = group.get(0);
+            Object[] prices = new Object[group.size()];
+            Object[] volumes = new Object[group.size()];
+            Object[] times = new Object[group.size()];
+            for (int i = 0; i < group.size(); i++) {
+                prices[i] = group.get(i).price;
+                volumes[i] = group.get(i).volume;
+                times[i] = group.get(i).timestamp;
+            }
+
+            Query query = Query.query(Criteria.where("ticker").is(first.ticker)
+                    .and("bucketStart").is(bucketStart(first.minute())));
+            Update update = new Update()
+                    .inc("count", group.size())
+                    .push("prices").each(prices)
+                    .push("volumes").each(volumes)
+                    .push("times").each(times);
+            bulk.upsert(query, update);
+        }
+
+        try {
+            bulk.execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            // unordered bulk는 거절된 작업만 빠지고 나머지는 반영됨 (index는 작업 순서)
+            List<List<TickRecord>> rejected = new ArrayList<>();
+            for (BulkWriteError error : e.getErrors()) {
+                rejected.add(groups.get(error.getIndex()));
+            }
+            log.warn("체결 묶음 일부 거절 - {}/{}개 묶음 (첫 오류: {})", rejected.size(), groups.size(),
+                    e.getErrors().isEmpty() ? "-" : e.getErrors().get(0).getMessage());
+            return rejected;
+        } catch (Exception e) {
+            log.warn("체결 묶음 저장 요청 실패 - {}개 묶음: {}", groups.size(), e.getMessage());
+            return groups;
+        }
+    }
+
+    private static int countRecords(List<List<TickRecord>> groups) {
+        int count = 0;
+        for (List<TickRecord> group : groups) {
+            count += group.size();
+        }
+        return count;
+    }
+
+    private static LocalDateTime bucketStart(long minute) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(minute * 60_000L), KST);
+    }
+
+    @FunctionalInterface
+    private interface TickConsumer {
+        void accept(long time, StockTick tick);
+    }
+
+    private static class TickRecord {
+        private final String ticker;
+        private final int price;
+        private final long volume;
+        private final long timestamp;
+
+        private TickRecord(String ticker, int price, long volume, long timestamp) {
+            this.ticker = ticker;
+            this.price = price;
+            this.volume = volume;
+            this.timestamp = timestamp;
+        }
+
+        private long minute() {
+            return timestamp / 60_000L;
+        }
+    }
+}
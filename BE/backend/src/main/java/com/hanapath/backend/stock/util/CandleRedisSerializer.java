@@ -0,0 +1,206 @@
+package com.hanapath.backend.stock.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hanapath.backend.stock.dto.CandleDto;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * 캔들 ZSET 멤버용 바이너리 직렬화
+ * - [버전][플래그][날짜(epoch day)][종가][시가/고가/저가는 종가 대비 차이(zigzag)][거래량] 를 varint로 기록
+ * - 종목코드는 키에 있으므로 저장하지 않음 (읽은 쪽에서 채움)
+ * - 예전 JSON 멤버('{'로 시작)도 그대로 읽을 수 있음
+ */
+public class CandleRedisSerializer implements RedisSerializer<CandleDto> {
+
+    private static final byte VERSION = 1;
+    private static final int FLAG_HAS_TIME = 1;
+    private static final int MAX_ENCODED_SIZE = 2 + 10 * 7;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public byte[] serialize(CandleDto candle) throws SerializationException {
+        if (candle == null) {
+            return new byte[0];
+        }
+
+        boolean hasTime = candle.getTime() != null && !candle.getTime().isEmpty();
+        Writer writer = new Writer(MAX_ENCODED_SIZE);
+        writer.writeByte(VERSION);
+        writer.writeByte(hasTime ? FLAG_HAS_TIME : 0);
+        writer.writeVarLong(parseDate(candle.getDate()).toEpochDay());
+        if (hasTime) {
+            writer.writeVarLong(Long.parseLong(candle.getTime()));
+        }
+
+        int close = candle.getClose();
+        writer.writeVarLong(zigzag(close));
+        writer.writeVarLong(zigzag((long) candle.getOpen() - close));
+        writer.writeVarLong(zigzag((long) candle.getHigh() - close));
+        writer.writeVarLong(zigzag((long) candle.getLow() - close));
+        writer.writeVarLong(candle.getVolume());
+        return writer.toByteArray();
+    }
+
+    @Override
+    public CandleDto deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == '{') {
+            return readLegacyJson(bytes);
+        }
+        if (bytes[0] != VERSION) {
+            throw new SerializationException("지원하지 않는 캔들 인코딩 버전: " + bytes[0]);
+        }
+
+        Reader reader = new Reader(bytes, 1);
+        int flags = reader.readByte();
+        String date = formatDate(LocalDate.ofEpochDay(reader.readVarLong()));
+        String time = "";
+        if ((flags & FLAG_HAS_TIME) != 0) {
+            time = formatTime(reader.readVarLong());
+        }
+
+        int close = (int) unzigzag(reader.readVarLong());
+        int open = (int) (close + unzigzag(reader.readVarLong()));
+        int high = (int) (close + unzigzag(reader.readVarLong()));
+        int low = (int) (close + unzigzag(reader.readVarLong()));
+        long volume = reader.readVarLong();
+
+        return CandleDto.builder()
+                .date(date)
+                .time(time)
+                .open(open)
+                .high(high)
+                .low(low)
+                .close(close)
+                .volume(volume)
+                .build();
+    }
+
+    private CandleDto readLegacyJson(byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, CandleDto.class);
+        } catch (IOException e) {
+            throw new SerializationException("JSON 캔들 역직렬화 실패", e);
+        }
+    }
+
+    /**
+     * yyyyMMdd 직접 파싱 (DateTimeFormatter는 캔들 1개 인코딩 비용의 대부분을 차지함)
+     */
+    private static LocalDate parseDate(String date) {
+        if (date == null || date.length() != 8) {
+            throw new SerializationException("잘못된 캔들 날짜: " + date);
+        }
+        try {
+            int value = Integer.parseInt(date);
+            return LocalDate.of(value / 10000, value / 100 % 100, value % 100);
+        } catch (RuntimeException e) {
+            throw new SerializationException("잘못된 캔들 날짜: " + date, e);
+        }
+    }
+
+    private static String formatDate(LocalDate date) {
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            throw new SerializationException("잘못된 캔들 날짜: " + date);
+        }
+        char[] chars = new char[8];
+        writeDigits(chars, 0, 4, date.getYear());
+        writeDigits(chars, 4, 2, date.getMonthValue());
+        writeDigits(chars, 6, 2, date.getDayOfMonth());
+        return new String(chars);
+    }
+
+    /**
+     * HHmmss 숫자를 앞자리 0을 채운 6자리 문자열로
+     */
+    private static String formatTime(long time) {
+        if (time < 0 || time > 999_999) {
+            throw new SerializationException("잘못된 캔들 시간: " + time);
+        }
+        char[] chars = new char[6];
+        writeDigits(chars, 0, 6, time);
+        return new String(chars);
+    }
+
+    private static void writeDigits(char[] chars, int offset, int width, long value) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+        private final byte[] buffer;
+        private int position;
+
+        private Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void writeByte(int value) {
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private byte[] toByteArray() {
+            byte[] result = new byte[position];
+            System.arraycopy(buffer, 0, result, 0, position);
+            return result;
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        private int readByte() {
+            if (position >= buffer.length) {
+                throw new SerializationException("잘못된 캔들 인코딩");
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private long readVarLong() {
+            long result = 0;
+            int shift = 0;
+            while (true) {
+                if (position >= buffer.length || shift > 63) {
+                    throw new SerializationException("잘못된 캔들 인코딩");
+                }
+                byte b = buffer[position++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+                shift += 7;
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.hanapath.backend.stock.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hanapath.backend.stock.dto.CandleSeries;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 일봉 시계열로 주봉/월봉/연봉 생성
+ * - 일봉 배열을 한 번 훑으면서 같은 구간(주/월/연)끼리 OHLCV를 합침
+ * - 봉 날짜는 구간의 첫 거래일
+ * - 결과는 원본 일봉 시계열 객체 기준으로 기억해 두고, 일봉이 바뀌면(새 객체) 다시 계산
+ */
+@Component
+public class CandleResampler {
+
+    public enum Timeframe {
+        WEEKLY, MONTHLY, YEARLY
+    }
+
+    // 일봉 시계열(동일 객체) → 주기별 결과, 일봉이 캐시에서 빠지면 함께 정리됨
+    private final Cache<CandleSeries, Map<Timeframe, CandleSeries>> memo = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(10_000)
+            .build();
+
+    public CandleSeries resample(CandleSeries daily, Timeframe timeframe) {
+        if (daily.isEmpty()) {
+            return daily;
+        }
+        Map<Timeframe, CandleSeries> byTimeframe = memo.get(daily, k -> new EnumMap<>(Timeframe.class));
+        synchronized (byTimeframe) {
+            return byTimeframe.computeIfAbsent(timeframe, tf -> aggregate(daily, tf));
+        }
+    }
+
+    private static CandleSeries aggregate(CandleSeries daily, Timeframe timeframe) {
+        int size = daily.size();
+        int[] dates = new int[size];
+        int[] opens = new int[size];
+        int[] highs = new int[size];
+        int[] lows = new int[size];
+        int[] closes = new int[size];
+        long[] volumes = new long[size];
+
+        int count = 0;
+        long currentPeriod = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            int date = daily.dateAt(i);
+            long period = periodOf(date, timeframe);
+            if (period != currentPeriod) {
+                currentPeriod = period;
+                dates[count] = date;
+                opens[count] = daily.openAt(i);
+                highs[count] = daily.highAt(i);
+                lows[count] = daily.lowAt(i);
+                closes[count] = daily.closeAt(i);
+                volumes[count] = daily.volumeAt(i);
+                count++;
+                continue;
+            }
+            int last = count - 1;
+            highs[last] = Math.max(highs[last], daily.highAt(i));
+            lows[last] = Math.min(lows[last], daily.lowAt(i));
+            closes[last] = daily.closeAt(i);
+            volumes[last] += daily.volumeAt(i);
+        }
+        return CandleSeries.of(daily.getTicker(), dates, opens, highs, lows, closes, volumes, count);
+    }
+
+    /**
+     * yyyyMMdd가 속한 구간 번호 (주: 그 주 월요일의 epoch day, 월: yyyyMM, 연: yyyy)
+     */
+    private static long periodOf(int date, Timeframe timeframe) {
+        switch (timeframe) {
+            case WEEKLY:
+                LocalDate day = LocalDate.of(date / 10000, date / 100 % 100, date % 100);
+                return day.toEpochDay() - (day.getDayOfWeek().getValue() - 1);
+            case MONTHLY:
+                return date / 100;
+            default:
+                return date / 10000;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.hanapath.backend.stock.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 고정 구간 지연 시간 히스토그램 (ms)
+ * - 기록은 구간별 LongAdder 증가만 하므로 요청 경로에서 써도 부담 없음
+ * - 백분위는 해당 구간의 상한값으로 근사
+ */
+public class LatencyHistogram {
+
+    private static final long[] BOUNDS_MS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMs = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long elapsedMs) {
+        int index = 0;
+        while (index < BOUNDS_MS.length && elapsedMs > BOUNDS_MS[index]) {
+            index++;
+        }
+        buckets[index].increment();
+        count.increment();
+        totalMs.add(elapsedMs);
+    }
+
+    public Map<String, Object> snapshot() {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", total);
+        result.put("avgMs", total > 0 ? (double) totalMs.sum() / count.sum() : 0.0);
+        result.put("p50Ms", percentile(counts, total, 0.50));
+        result.put("p95Ms", percentile(counts, total, 0.95));
+        result.put("p99Ms", percentile(counts, total, 0.99));
+
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            histogram.put(i < BOUNDS_MS.length ? "le" + BOUNDS_MS[i] : "inf", counts[i]);
+        }
+        result.put("buckets", histogram);
+        return result;
+    }
+
+    private static long percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i < BOUNDS_MS.length ? BOUNDS_MS[i] : -1;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,109 @@
+package com.hanapath.backend.stock.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 국내 주식시장(KRX) 거래일 달력
+ * - 주말, 양력 고정 휴장일, 연말 휴장일(12/31)은 기본 제외
+ * - 설/추석/대체공휴일/선거일처럼 해마다 바뀌는 휴장일은 app.market.holidays (yyyyMMdd, 쉼표 구분)로 추가
+ */
+@Component
+public class MarketCalendar {
+
+    public static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalTime MARKET_OPEN = LocalTime.of(9, 0);
+    private static final LocalTime MARKET_CLOSE = LocalTime.of(15, 30);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final Set<MonthDay> FIXED_HOLIDAYS = Set.of(
+            MonthDay.of(1, 1),    // 신정
+            MonthDay.of(3, 1),    // 삼일절
+            MonthDay.of(5, 5),    // 어린이날
+            MonthDay.of(6, 6),    // 현충일
+            MonthDay.of(8, 15),   // 광복절
+            MonthDay.of(10, 3),   // 개천절
+            MonthDay.of(10, 9),   // 한글날
+            MonthDay.of(12, 25),  // 성탄절
+            MonthDay.of(12, 31)   // 연말 휴장일
+    );
+
+    private final Set<LocalDate> extraHolidays = new HashSet<>();
+
+    public MarketCalendar(@Value("${app.market.holidays:}") List<String> holidays) {
+        for (String holiday : holidays) {
+            if (!holiday.isBlank()) {
+                extraHolidays.add(LocalDate.parse(holiday.trim(), DATE_FORMATTER));
+            }
+        }
+    }
+
+    public boolean isTradingDay(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) {
+            return false;
+        }
+        return !FIXED_HOLIDAYS.contains(MonthDay.from(date)) && !extraHolidays.contains(date);
+    }
+
+    /**
+     * 지금이 정규장 시간(거래일 09:00~15:30)인지
+     */
+    public boolean isMarketOpen() {
+        ZonedDateTime now = ZonedDateTime.now(KST);
+        LocalTime time = now.toLocalTime();
+        return isTradingDay(now.toLocalDate()) && !time.isBefore(MARKET_OPEN) && time.isBefore(MARKET_CLOSE);
+    }
+
+    /**
+     * 가장 최근 장 마감 시각
+     */
+    public ZonedDateTime lastMarketClose() {
+        return lastClosedTradingDay().atTime(MARKET_CLOSE).atZone(KST);
+    }
+
+    /**
+     * 지금 기준 일봉이 확정된 마지막 거래일 (오늘 장 마감 전이면 이전 거래일)
+     */
+    public LocalDate lastClosedTradingDay() {
+        ZonedDateTime now = ZonedDateTime.now(KST);
+        LocalDate today = now.toLocalDate();
+        if (isTradingDay(today) && !now.toLocalTime().isBefore(MARKET_CLOSE)) {
+            return today;
+        }
+        return previousTradingDay(today);
+    }
+
+    public LocalDate previousTradingDay(LocalDate date) {
+        LocalDate day = date.minusDays(1);
+        while (!isTradingDay(day)) {
+            day = day.minusDays(1);
+        }
+        return day;
+    }
+
+    /**
+     * (from, to] 구간의 거래일 목록
+     */
+    public List<LocalDate> tradingDaysAfter(LocalDate from, LocalDate to) {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate day = from.plusDays(1); !day.isAfter(to); day = day.plusDays(1)) {
+            if (isTradingDay(day)) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+}
@@ -2,114 +2,121 @@ package com.hanapath.backend.stock.util;
 
 import org.springframework.stereotype.Component;
 import java.util.Map;
-import java.util.HashMap;
 
+/**
+ * 주요 종목 코드 → 종목명 (종목 마스터에 이름이 없을 때의 기본값)
+ */
 @Component
 public class StockNameMapper {
-    
+
+    private static final Map<String, String> STOCK_NAMES = Map.ofEntries(
+            Map.entry("005930", "삼성전자"),
+            Map.entry("000660", "SK하이닉스"),
+            Map.entry("373220", "LG에너지솔루션"),
+            Map.entry("207940", "삼성바이오로직스"),
+            Map.entry("035420", "NAVER"),
+            Map.entry("006400", "삼성SDI"),
+            Map.entry("005380", "현대차"),
+            Map.entry("035720", "카카오"),
+            Map.entry("005490", "POSCO홀딩스"),
+            Map.entry("000270", "기아"),
+            Map.entry("051910", "LG화학"),
+            Map.entry("068270", "셀트리온"),
+            Map.entry("012450", "한화에어로스페이스"),
+            Map.entry("011200", "HMM"),
+            Map.entry("003490", "대한항공"),
+            Map.entry("096770", "SK이노베이션"),
+            Map.entry("012330", "현대모비스"),
+            Map.entry("090430", "아모레퍼시픽"),
+            Map.entry("033780", "KT&G"),
+            Map.entry("066570", "LG전자"),
+            Map.entry("034020", "두산에너빌리티"),
+            Map.entry("377300", "카카오페이"),
+            Map.entry("259960", "크래프톤"),
+            Map.entry("017670", "SK텔레콤"),
+            Map.entry("015760", "한국전력"),
+            Map.entry("097950", "CJ제일제당"),
+            Map.entry("383220", "F&F"),
+            Map.entry("030000", "제일기획"),
+            Map.entry("086790", "하나금융지주"),
+            Map.entry("005830", "DB손해보험"),
+            Map.entry("105560", "KB금융"),
+            Map.entry("055550", "신한지주"),
+            Map.entry("009150", "삼성전기"),
+            Map.entry("247540", "에코프로비엠"),
+            Map.entry("000880", "한화"),
+            Map.entry("004020", "현대제철"),
+            Map.entry("009830", "한화솔루션"),
+            Map.entry("086280", "현대글로비스"),
+            Map.entry("326030", "SK바이오팜"),
+            Map.entry("078930", "GS"),
+            Map.entry("010950", "S-Oil"),
+            Map.entry("267250", "HD현대"),
+            Map.entry("241560", "두산밥캣"),
+            Map.entry("000810", "삼성화재"),
+            Map.entry("005940", "NH투자증권"),
+            Map.entry("003550", "LG"),
+            Map.entry("017800", "현대엘리베이터"),
+            Map.entry("006800", "미래에셋증권"),
+            Map.entry("089470", "HDC현대EP"),
+            Map.entry("000100", "유한양행"),
+            Map.entry("003230", "삼양식품"),
+            Map.entry("028050", "삼성E&A"),
+            Map.entry("029780", "삼성카드"),
+            Map.entry("042660", "한화오션"),
+            Map.entry("006360", "GS건설"),
+            Map.entry("001450", "현대해상"),
+            Map.entry("032640", "LG유플러스"),
+            Map.entry("034730", "SK"),
+            Map.entry("002790", "아모레퍼시픽홀딩스"),
+            Map.entry("034310", "NICE"),
+            Map.entry("000720", "현대건설"),
+            Map.entry("069620", "대웅제약"),
+            Map.entry("006280", "녹십자"),
+            Map.entry("010060", "OCI홀딩스"),
+            Map.entry("021240", "코웨이"),
+            Map.entry("047050", "포스코인터내셔널"),
+            Map.entry("073240", "금고타이어"),
+            Map.entry("282330", "BGF리테일"),
+            Map.entry("011780", "금호석유화학"),
+            Map.entry("014680", "한솔케미칼"),
+            Map.entry("042700", "한미반도체"),
+            Map.entry("007310", "오뚜기"),
+            Map.entry("000990", "DB하이텍"),
+            Map.entry("016360", "삼성증권"),
+            Map.entry("272450", "진에어"),
+            Map.entry("145720", "덴티움"),
+            Map.entry("181710", "NHN"),
+            Map.entry("036570", "엔씨소프트"),
+            Map.entry("251270", "넷마블"),
+            Map.entry("001440", "대한전선"),
+            Map.entry("030200", "KT"),
+            Map.entry("034220", "LG디스플레이"),
+            Map.entry("138040", "메리츠금융지주"),
+            Map.entry("316140", "우리금융지주"),
+            Map.entry("138930", "BNK금융지주"),
+            Map.entry("139130", "iM금융지주"),
+            Map.entry("004990", "롯데지주"),
+            Map.entry("011170", "롯데케미칼"),
+            Map.entry("047810", "한국항공우주"),
+            Map.entry("006260", "LS"),
+            Map.entry("267260", "HD현대일렉트릭"),
+            Map.entry("272210", "한화시스템"),
+            Map.entry("002380", "KCC"),
+            Map.entry("041510", "에스엠"),
+            Map.entry("035900", "JYP Ent."),
+            Map.entry("086520", "에코프로"),
+            Map.entry("000640", "동아쏘시오홀딩스"),
+            Map.entry("079550", "LIG넥스원"),
+            Map.entry("103140", "풍산"),
+            Map.entry("009450", "경동나비엔")
+    );
+
     public String getStockNameByCode(String code) {
-        Map<String, String> stockMap = new HashMap<>();
-        stockMap.put("005930", "삼성전자");
-        stockMap.put("000660", "SK하이닉스");
-        stockMap.put("373220", "LG에너지솔루션");
-        stockMap.put("207940", "삼성바이오로직스");
-        stockMap.put("035420", "NAVER");
-        stockMap.put("006400", "삼성SDI");
-        stockMap.put("005380", "현대차");
-        stockMap.put("035720", "카카오");
-        stockMap.put("005490", "POSCO홀딩스");
-        stockMap.put("000270", "기아");
-        stockMap.put("051910", "LG화학");
-        stockMap.put("068270", "셀트리온");
-        stockMap.put("012450", "한화에어로스페이스");
-        stockMap.put("011200", "HMM");
-        stockMap.put("003490", "대한항공");
-        stockMap.put("096770", "SK이노베이션");
-        stockMap.put("012330", "현대모비스");
-        stockMap.put("090430", "아모레퍼시픽");
-        stockMap.put("033780", "KT&G");
-        stockMap.put("066570", "LG전자");
-        stockMap.put("034020", "두산에너빌리티");
-        stockMap.put("377300", "카카오페이");
-        stockMap.put("259960", "크래프톤");
-        stockMap.put("017670", "SK텔레콤");
-        stockMap.put("015760", "한국전력");
-        stockMap.put("097950", "CJ제일제당");
-        stockMap.put("383220", "F&F");
-        stockMap.put("030000", "제일기획");
-        stockMap.put("086790", "하나금융지주");
-        stockMap.put("005830", "DB손해보험");
-        stockMap.put("105560", "KB금융");
-        stockMap.put("055550", "신한지주");
-        stockMap.put("009150", "삼성전기");
-        stockMap.put("247540", "에코프로비엠");
-        stockMap.put("000880", "한화");
-        stockMap.put("004020", "현대제철");
-        stockMap.put("009830", "한화솔루션");
-        stockMap.put("086280", "현대글로비스");
-        stockMap.put("326030", "SK바이오팜");
-        stockMap.put("078930", "GS");
-        stockMap.put("010950", "S-Oil");
-        stockMap.put("267250", "HD현대");
-        stockMap.put("241560", "두산밥캣");
-        stockMap.put("000810", "삼성화재");
-        stockMap.put("005940", "NH투자증권");
-        stockMap.put("003550", "LG");
-        stockMap.put("017800", "현대엘리베이터");
-        stockMap.put("006800", "미래에셋증권");
-        stockMap.put("089470", "HDC현대EP");
-        stockMap.put("000100", "유한양행");
-        stockMap.put("003230", "삼양식품");
-        stockMap.put("028050", "삼성E&A");
-        stockMap.put("029780", "삼성카드");
-        stockMap.put("042660", "한화오션");
-        stockMap.put("006360", "GS건설");
-        stockMap.put("001450", "현대해상");
-        stockMap.put("032640", "LG유플러스");
-        stockMap.put("034730", "SK");
-        stockMap.put("002790", "아모레퍼시픽홀딩스");
-        stockMap.put("034310", "NICE");
-        stockMap.put("000720", "현대건설");
-        stockMap.put("069620", "대웅제약");
-        stockMap.put("006280", "녹십자");
-        stockMap.put("010060", "OCI홀딩스");
-        stockMap.put("021240", "코웨이");
-        stockMap.put("047050", "포스코인터내셔널");
-        stockMap.put("073240", "금고타이어");
-        stockMap.put("282330", "BGF리테일");
-        stockMap.put("011780", "금호석유화학");
-        stockMap.put("014680", "한솔케미칼");
-        stockMap.put("042700", "한미반도체");
-        stockMap.put("007310", "오뚜기");
-        stockMap.put("000990", "DB하이텍");
-        stockMap.put("016360", "삼성증권");
-        stockMap.put("272450", "진에어");
-        stockMap.put("145720", "덴티움");
-        stockMap.put("181710", "NHN");
-        stockMap.put("036570", "엔씨소프트");
-        stockMap.put("251270", "넷마블");
-        stockMap.put("001440", "대한전선");
-        stockMap.put("030200", "KT");
-        stockMap.put("034220", "LG디스플레이");
-        stockMap.put("138040", "메리츠금융지주");
-        stockMap.put("316140", "우리금융지주");
-        stockMap.put("138930", "BNK금융지주");
-        stockMap.put("139130", "iM금융지주");
-        stockMap.put("004990", "롯데지주");
-        stockMap.put("011170", "롯데케미칼");
-        stockMap.put("047810", "한국항공우주");
-        stockMap.put("006260", "LS");
-        stockMap.put("267260", "HD현대일렉트릭");
-        stockMap.put("272210", "한화시스템");
-        stockMap.put("002380", "KCC");
-        stockMap.put("041510", "에스엠");
-        stockMap.put("035900", "JYP Ent.");
-        stockMap.put("086520", "에코프로");
-        stockMap.put("000640", "동아쏘시오홀딩스");
-        stockMap.put("079550", "LIG넥스원");
-        stockMap.put("103140", "풍산");
-        stockMap.put("009450", "경동나비엔");
+        return STOCK_NAMES.getOrDefault(code, code + " 종목");
+    }
 
-        return stockMap.getOrDefault(code, code + " 종목");
+    public Map<String, String> getAll() {
+        return STOCK_NAMES;
     }
 }
@@ -0,0 +1,447 @@
+package com.hanapath.backend.stock.util;
+
+import com.hanapath.backend.stock.dto.CandleSeries;
+
+/**
+ * 캔들 1개씩 이어서 계산하는 보조지표
+ * - 상태는 몇 개의 기본형 값뿐이라 copy()가 O(1)
+ * - 구간을 벗어나는 값은 시계열 배열에서 다시 읽으므로 별도 버퍼를 두지 않음
+ * - 값이 아직 없는 구간(기간 미달)은 NaN
+ */
+public interface TechnicalIndicator {
+
+    /**
+     * 정규화된 지표 키 (예: sma:20, macd:12:26:9)
+     */
+    String key();
+
+    /**
+     * 출력 선 이름 (out 배열 순서)
+     */
+    String[] lines();
+
+    /**
+     * 첫 값이 나오기까지 필요한 캔들 수
+     */
+    int warmup();
+
+    /**
+     * index번째 캔들을 반영하고 out[line][index]에 값을 기록 (index는 0부터 차례로 호출)
+     */
+    void update(CandleSeries series, int index, double[][] out);
+
+    TechnicalIndicator copy();
+
+    /**
+     * "sma:20", "ema:12", "rsi:14", "macd:12:26:9", "bb:20:2", "vma:20", "vwap:20" 형식 파싱
+     * - 기간을 생략하면 기본값 사용, 지원하지 않는 지표면 IllegalArgumentException
+     */
+    static TechnicalIndicator parse(String spec) {
+        String[] parts = spec.trim().toLowerCase().split(":");
+        switch (parts[0]) {
+            case "sma":
+                return new Sma(intParam(parts, 1, 20), false);
+            case "vma":
+                return new Sma(intParam(parts, 1, 20), true);
+            case "ema":
+                return new Ema(intParam(parts, 1, 20));
+            case "rsi":
+                return new Rsi(intParam(parts, 1, 14));
+            case "macd":
+                return new Macd(intParam(parts, 1, 12), intParam(parts, 2, 26), intParam(parts, 3, 9));
+            case "bb":
+                return new Bollinger(intParam(parts, 1, 20), doubleParam(parts, 2, 2.0));
+            case "vwap":
+                return new Vwap(intParam(parts, 1, 20));
+            default:
+                throw new IllegalArgumentException("지원하지 않는 지표: " + spec);
+        }
+    }
+
+    private static int intParam(String[] parts, int index, int defaultValue) {
+        int value = parts.length > index ? Integer.parseInt(parts[index]) : defaultValue;
+        if (value < 1 || value > 500) {
+            throw new IllegalArgumentException("지표 기간은 1~500 사이여야 합니다: " + value);
+        }
+        return value;
+    }
+
+    private static double doubleParam(String[] parts, int index, double defaultValue) {
+        double value = parts.length > index ? Double.parseDouble(parts[index]) : defaultValue;
+        if (!(value > 0 && value <= 10)) {
+            throw new IllegalArgumentException("배수는 0~10 사이여야 합니다: " + value);
+        }
+        return value;
+    }
+
+    /**
+     * 단순 이동평균 (종가 또는 거래량), 합계는 long으로 누적해 오차 없음
+     */
+    final class Sma implements TechnicalIndicator {
+        private final int period;
+        private final boolean volume;
+        private long sum;
+
+        Sma(int period, boolean volume) {
+            this.period = period;
+            this.volume = volume;
+        }
+
+        private long valueAt(CandleSeries series, int index) {
+            return volume ? series.volumeAt(index) : series.closeAt(index);
+        }
+
+        @Override
+        public String key() {
+            return (volume ? "vma:" : "sma:") + period;
+        }
+
+        @Override
+        public String[] lines() {
+            return new String[]{"value"};
+        }
+
+        @Override
+        public int warmup() {
+            return period;
+        }
+
+        @Override
+        public void update(CandleSeries series, int index, double[][] out) {
+            sum += valueAt(series, index);
+            if (index >= period) {
+                sum -= valueAt(series, index - period);
+            }
+            out[0][index] = index >= period - 1 ? (double) sum / period : Double.NaN;
+        }
+
+        @Override
+        public TechnicalIndicator copy() {
+            Sma copy = new Sma(period, volume);
+            copy.sum = sum;
+            return copy;
+        }
+    }
+
+    /**
+     * 지수 이동평균 (첫 값은 period건 단순 평균)
+     */
+    final class Ema implements TechnicalIndicator {
+        private final int period;
+        private final EmaState state;
+
+        Ema(int period) {
+            this.period = period;
+            this.state = new EmaState(period);
+        }
+
+        private Ema(int period, EmaState state) {
+            this.period = period;
+            this.state = state;
+        }
+
+        @Override
+        public String key() {
+            return "ema:" + period;
+        }
+
+        @Override
+        public String[] lines() {
+            return new String[]{"value"};
+        }
+
+        @Override
+        public int warmup() {
+            return period;
+        }
+
+        @Override
+        public void update(CandleSeries series, int index, double[][] out) {
+            out[0][index] = state.next(series.closeAt(index));
+        }
+
+        @Override
+        public TechnicalIndicator copy() {
+            return new Ema(period, state.copy());
+        }
+    }
+
+    /**
+     * RSI (Wilder 평활)
+     */
+    final class Rsi implements TechnicalIndicator {
+        private final int period;
+        private double avgGain;
+        private double avgLoss;
+
+        Rsi(int period) {
+            this.period = period;
+        }
+
+        @Override
+        public String key() {
+            return "rsi:" + period;
+        }
+
+        @Override
+        public String[] lines() {
+            return new String[]{"value"};
+        }
+
+        @Override
+        public int warmup() {
+            return period + 1;
+        }
+
+        @Override
+        public void update(CandleSeries series, int index, double[][] out) {
+            if (index == 0) {
+                out[0][index] = Double.NaN;
+                return;
+            }
+            int change = series.closeAt(index) - series.closeAt(index - 1);
+            double gain = Math.max(change, 0);
+            double loss = Math.max(-change, 0);
+
+            if (index <= period) {
+                // 처음 period개 변화량은 단순 평균
+                avgGain += gain / period;
+                avgLoss += loss / period;
+                if (index < period) {
+                    out[0][index] = Double.NaN;
+                    return;
+                }
+            } else {
+                avgGain = (avgGain * (period - 1) + gain) / period;
+                avgLoss = (avgLoss * (period - 1) + loss) / period;
+            }
+            out[0][index] = avgLoss == 0 ? (avgGain == 0 ? 50.0 : 100.0) : 100.0 - 100.0 / (1.0 + avgGain / avgLoss);
+        }
+
+        @Override
+        public TechnicalIndicator copy() {
+            Rsi copy = new Rsi(period);
+            copy.avgGain = avgGain;
+            copy.avgLoss = avgLoss;
+            return copy;
+        }
+    }
+
+    /**
+     * MACD (빠른 EMA - 느린 EMA, 시그널은 MACD의 EMA)
+     */
+    final class Macd implements TechnicalIndicator {
+        private final int fast;
+        private final int slow;
+        private final int signal;
+        private final EmaState fastEma;
+        private final EmaState slowEma;
+        private final EmaState signalEma;
+
+        Macd(int fast, int slow, int signal) {
+            this(fast, slow, signal, new EmaState(fast), new EmaState(slow), new EmaState(signal));
+            if (fast >= slow) {
+                throw new IllegalArgumentException("MACD 빠른 기간은 느린 기간보다 짧아야 합니다");
+            }
+        }
+
+        private Macd(int fast, int slow, int signal, EmaState fastEma, EmaState slowEma, EmaState signalEma) {
+            this.fast = fast;
+            this.slow = slow;
+            this.signal = signal;
+            this.fastEma = fastEma;
+            this.slowEma = slowEma;
+            this.signalEma = signalEma;
+        }
+
+        @Override
+        public String key() {
+            return "macd:" + fast + ":" + slow + ":" + signal;
+        }
+
+        @Override
+        public String[] lines() {
+            return new String[]{"macd", "signal", "histogram"};
+        }
+
+        @Override
+        public int warmup() {
+            return slow + signal - 1;
+        }
+
+        @Override
+        public void update(CandleSeries series, int index, double[][] out) {
+            int close = series.closeAt(index);
+            double fastValue = fastEma.next(close);
+            double slowValue = slowEma.next(close);
+            if (Double.isNaN(slowValue)) {
+                out[0][index] = Double.NaN;
+                out[1][index] = Double.NaN;
+                out[2][index] = Double.NaN;
+                return;
+            }
+            double macd = fastValue - slowValue;
+            double signalValue = signalEma.next(macd);
+            out[0][index] = macd;
+            out[1][index] = signalValue;
+            out[2][index] = Double.isNaN(signalValue) ? Double.NaN : macd - signalValue;
+        }
+
+        @Override
+        public TechnicalIndicator copy() {
+            return new Macd(fast, slow, signal, fastEma.copy(), slowEma.copy(), signalEma.copy());
+        }
+    }
+
+    /**
+     * 볼린저 밴드 (중심선 SMA, 상/하단 = 중심 ± multiplier × 표준편차)
+     */
+    final class Bollinger implements TechnicalIndicator {
+        private final int period;
+        private final double multiplier;
+        private long sum;
+        private long sumSquares;
+
+        Bollinger(int period, double multiplier) {
+            this.period = period;
+            this.multiplier = multiplier;
+        }
+
+        @Override
+        public String key() {
+            return "bb:" + period + ":" + multiplier;
+        }
+
+        @Override
+        public String[] lines() {
+            return new String[]{"middle", "upper", "lower"};
+        }
+
+        @Override
+        public int warmup() {
+            return period;
+        }
+
+        @Override
+        public void update(CandleSeries series, int index, double[][] out) {
+            long close = series.closeAt(index);
+            sum += close;
+            sumSquares += close * close;
+            if (index >= period) {
+                long old = series.closeAt(index - period);
+                sum -= old;
+                sumSquares -= old * old;
+            }
+            if (index < period - 1) {
+                out[0][index] = Double.NaN;
+                out[1][index] = Double.NaN;
+                out[2][index] = Double.NaN;
+                return;
+            }
+            double mean = (double) sum / period;
+            double variance = Math.max(0.0, (double) sumSquares / period - mean * mean);
+            double band = multiplier * Math.sqrt(variance);
+            out[0][index] = mean;
+            out[1][index] = mean + band;
+            out[2][index] = mean - band;
+        }
+
+        @Override
+        public TechnicalIndicator copy() {
+            Bollinger copy = new Bollinger(period, multiplier);
+            copy.sum = sum;
+            copy.sumSquares = sumSquares;
+            return copy;
+        }
+    }
+
+    /**
+     * 기간 VWAP (대표가 (고+저+종)/3 을 거래량으로 가중 평균)
+     * - (고+저+종) × 거래량을 long으로 누적하고 마지막에 3으로 나눠 더하고 빼도 오차가 쌓이지 않음
+     *   (가격 수백만 원 × 거래량 10억 주 × 500일이어도 long 범위 안)
+     */
+    final class Vwap implements TechnicalIndicator {
+        private final int period;
+        private long priceVolume;   // Σ (고+저+종) × 거래량
+        private long volume;
+
+        Vwap(int period) {
+            this.period = period;
+        }
+
+        private static long typicalPriceVolume(CandleSeries series, int index) {
+            long typicalTimesThree = (long) series.highAt(index) + series.lowAt(index) + series.closeAt(index);
+            return typicalTimesThree * series.volumeAt(index);
+        }
+
+        @Override
+        public String key() {
+            return "vwap:" + period;
+        }
+
+        @Override
+        public String[] lines() {
+            return new String[]{"value"};
+        }
+
+        @Override
+        public int warmup() {
+            return period;
+        }
+
+        @Override
+        public void update(CandleSeries series, int index, double[][] out) {
+            priceVolume += typicalPriceVolume(series, index);
+            volume += series.volumeAt(index);
+            if (index >= period) {
+                priceVolume -= typicalPriceVolume(series, index - period);
+                volume -= series.volumeAt(index - period);
+            }
+            out[0][index] = index >= period - 1 && volume > 0 ? priceVolume / 3.0 / volume : Double.NaN;
+        }
+
+        @Override
+        public TechnicalIndicator copy() {
+            Vwap copy = new Vwap(period);
+            copy.priceVolume = priceVolume;
+            copy.volume = volume;
+            return copy;
+        }
+    }
+
+    /**
+     * EMA 계산 상태 (period건 모일 때까지는 합계, 이후 지수 평활)
+     */
+    final class EmaState {
+        private final int period;
+        private final double alpha;
+        private int count;
+        private double value;
+
+        EmaState(int period) {
+            this.period = period;
+            this.alpha = 2.0 / (period + 1);
+        }
+
+        double next(double x) {
+            count++;
+            if (count < period) {
+                value += x;
+                return Double.NaN;
+            }
+            if (count == period) {
+                value = (value + x) / period;
+                return value;
+            }
+            value = x * alpha + value * (1 - alpha);
+            return value;
+        }
+
+        EmaState copy() {
+            EmaState copy = new EmaState(period);
+            copy.count = count;
+            copy.value = value;
+            return copy;
+        }
+    }
+}
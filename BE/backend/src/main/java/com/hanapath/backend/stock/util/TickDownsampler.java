@@ -0,0 +1,236 @@
+package com.hanapath.backend.stock.util;
+
+import com.hanapath.backend.stock.dto.CandleDto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 체결 스트림 다운샘플링 (입력은 시간 오름차순이어야 함, 전체 체결을 메모리에 올리지 않음)
+ * - Lttb: 가격 선용, 시간 구간마다 삼각형 면적이 가장 큰 체결 1건 선택
+ * - Ohlc: 봉용, 시간 구간마다 시가/고가/저가/종가/거래량
+ */
+public final class TickDownsampler {
+
+    private TickDownsampler() {
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets (구간은 건수가 아닌 시간으로 나눔)
+     * - 처음 maxPoints건은 그대로 보관하다가 넘치면 샘플링 시작 (적은 구간은 원본 그대로)
+     * - 면적은 후보 점 좌표에 대한 1차식이라 최댓값은 구간 점들의 볼록 껍질 위에 있음
+     *   → 구간마다 볼록 껍질만 유지하고 다음 구간 평균이 정해지면 선택
+     */
+    public static final class Lttb<T> {
+        private final int maxPoints;
+        private final long start;
+        private final double bucketWidth;
+        private final int bucketCount;
+
+        private final List<T> result = new ArrayList<>();
+        private List<Point<T>> head = new ArrayList<>();
+        private Point<T> selected;   // 직전에 선택한 점 (A)
+        private Bucket<T> pending;   // 다음 구간 평균(C)을 기다리는 구간
+        private Bucket<T> current;
+        private Point<T> last;
+
+        public Lttb(long startMs, long endMs, int maxPoints) {
+            this.maxPoints = Math.max(maxPoints, 3);
+            this.start = startMs;
+            this.bucketCount = this.maxPoints - 2;
+            this.bucketWidth = Math.max(1.0, (double) (endMs - startMs) / bucketCount);
+        }
+
+        public void add(long x, double y, T item) {
+            Point<T> point = new Point<>(x, y, item);
+            if (head != null) {
+                head.add(point);
+                if (head.size() <= maxPoints) {
+                    return;
+                }
+                List<Point<T>> buffered = head;
+                head = null;
+                buffered.forEach(this::sample);
+                return;
+            }
+            sample(point);
+        }
+
+        public List<T> finish() {
+            if (head != null) {
+                head.forEach(point -> result.add(point.item));
+                return result;
+            }
+            if (pending != null) {
+                emit(pending.select(selected, current.avgX(), current.avgY()));
+            }
+            if (current != null) {
+                Point<T> choice = current.select(selected, last.x, last.y);
+                if (choice != last) {
+                    emit(choice);
+                }
+                emit(last);
+            }
+            return result;
+        }
+
+        private void sample(Point<T> point) {
+            if (selected == null) {
+                emit(point);
+                return;
+            }
+            int index = (int) Math.min(bucketCount - 1, Math.max(0, (point.x - start) / bucketWidth));
+            if (current == null) {
+                current = new Bucket<>(index);
+            } else if (index != current.index) {
+                if (pending != null) {
+                    emit(pending.select(selected, current.avgX(), current.avgY()));
+                }
+                pending = current;
+                current = new Bucket<>(index);
+            }
+            current.add(point);
+            last = point;
+        }
+
+        private void emit(Point<T> point) {
+            selected = point;
+            result.add(point.item);
+        }
+    }
+
+    /**
+     * 시간 구간별 OHLCV (구간 폭은 최소 1초, 체결이 없는 구간은 봉을 만들지 않음)
+     */
+    public static final class Ohlc {
+        private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+        private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HHmmss");
+
+        private final String ticker;
+        private final ZoneId zone;
+        private final long start;
+        private final long width;
+        private final List<CandleDto> result = new ArrayList<>();
+
+        private long currentIndex = -1;
+        private int open;
+        private int high;
+        private int low;
+        private int close;
+        private long volume;
+
+        public Ohlc(String ticker, ZoneId zone, long startMs, long endMs, int maxPoints) {
+            this.ticker = ticker;
+            this.zone = zone;
+            this.start = startMs;
+            long range = Math.max(1, endMs - startMs);
+            this.width = Math.max(1000L, (range + maxPoints - 1) / Math.max(maxPoints, 1));
+        }
+
+        public void add(long time, int price, long tradeVolume) {
+            long index = Math.max(0, (time - start) / width);
+            if (index != currentIndex) {
+                flush();
+                currentIndex = index;
+                open = price;
+                high = price;
+                low = price;
+                volume = 0;
+            }
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+            close = price;
+            volume += tradeVolume;
+        }
+
+        public List<CandleDto> finish() {
+            flush();
+            return result;
+        }
+
+        private void flush() {
+            if (currentIndex < 0) {
+                return;
+            }
+            LocalDateTime bucketStart = LocalDateTime.ofInstant(Instant.ofEpochMilli(start + currentIndex * width), zone);
+            result.add(CandleDto.builder()
+                    .date(bucketStart.format(DATE_FORMATTER))
+                    .time(bucketStart.format(TIME_FORMATTER))
+                    .open(open)
+                    .high(high)
+                    .low(low)
+                    .close(close)
+                    .volume(volume)
+                    .ticker(ticker)
+                    .build());
+        }
+    }
+
+    private record Point<T>(long x, double y, T item) {
+    }
+
+    /**
+     * LTTB 구간 1개 (평균 계산용 합계와 상/하단 볼록 껍질)
+     */
+    private static final class Bucket<T> {
+        private final int index;
+        private final List<Point<T>> lower = new ArrayList<>();
+        private final List<Point<T>> upper = new ArrayList<>();
+        private double sumX;
+        private double sumY;
+        private int count;
+
+        private Bucket(int index) {
+            this.index = index;
+        }
+
+        private void add(Point<T> point) {
+            sumX += point.x;
+            sumY += point.y;
+            count++;
+            // x 오름차순 입력이므로 monotone chain으로 껍질 갱신
+            while (lower.size() >= 2 && cross(lower.get(lower.size() - 2), lower.get(lower.size() - 1), point) <= 0) {
+                lower.remove(lower.size() - 1);
+            }
+            lower.add(point);
+            while (upper.size() >= 2 && cross(upper.get(upper.size() - 2), upper.get(upper.size() - 1), point) >= 0) {
+                upper.remove(upper.size() - 1);
+            }
+            upper.add(point);
+        }
+
+        private double avgX() {
+            return sumX / count;
+        }
+
+        private double avgY() {
+            return sumY / count;
+        }
+
+        /**
+         * A(직전 선택)와 C(다음 구간 평균)로 만드는 삼각형 면적이 가장 큰 점
+         */
+        private Point<T> select(Point<T> a, double cx, double cy) {
+            Point<T> best = lower.get(0);
+            double bestArea = -1;
+            for (List<Point<T>> hull : List.of(lower, upper)) {
+                for (Point<T> b : hull) {
+                    double area = Math.abs((a.x - cx) * (b.y - a.y) - (a.x - b.x) * (cy - a.y));
+                    if (area > bestArea) {
+                        bestArea = area;
+                        best = b;
+                    }
+                }
+            }
+            return best;
+        }
+
+        private static double cross(Point<?> o, Point<?> a, Point<?> b) {
+            return (double) (a.x - o.x) * (b.y - o.y) - (a.y - o.y) * (double) (b.x - o.x);
+        }
+    }
+}
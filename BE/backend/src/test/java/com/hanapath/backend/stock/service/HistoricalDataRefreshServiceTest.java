@@ -0,0 +1,107 @@
+package com.hanapath.backend.stock.service;
+
+import com.hanapath.backend.stock.dto.CandleDto;
+import com.hanapath.backend.stock.entity.StockMaster;
+import com.hanapath.backend.stock.repository.StockHistoricalDataRepository;
+import com.hanapath.backend.stock.repository.StockMasterRepository;
+import com.hanapath.backend.stock.util.MarketCalendar;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 과거 데이터 빈 날짜 보충 시 KIS 누락 일자 기록/제외 검증
+ */
+class HistoricalDataRefreshServiceTest {
+
+    private static final String TICKER = "005930";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final LocalDate TARGET = LocalDate.of(2025, 6, 13);
+    private static final String HOLIDAY = "20250611";
+    private static final String FROM_DATE = TARGET.minusDays(60).format(DATE_FORMATTER);
+    private static final String TO_DATE = TARGET.format(DATE_FORMATTER);
+
+    private final StockChartService stockChartService = mock(StockChartService.class);
+    private final StockHistoricalDataService historicalDataService = mock(StockHistoricalDataService.class);
+    private final StockHistoricalDataRepository historicalDataRepository = mock(StockHistoricalDataRepository.class);
+    private final StockMasterRepository stockMasterRepository = mock(StockMasterRepository.class);
+    private HistoricalDataRefreshService service;
+
+    @BeforeEach
+    void setUp() {
+        MarketCalendar marketCalendar = spy(new MarketCalendar(List.of()));
+        doReturn(TARGET).when(marketCalendar).lastClosedTradingDay();
+        service = new HistoricalDataRefreshService(stockChartService, historicalDataService,
+                historicalDataRepository, stockMasterRepository, marketCalendar);
+        ReflectionTestUtils.setField(service, "gapLookbackDays", 60);
+
+        // 기준일까지 저장되어 있고, DB에는 달력상 거래일 중 HOLIDAY만 빠져 있음
+        when(historicalDataService.getCachedDailyTickers()).thenReturn(Set.of(TICKER));
+        when(historicalDataService.getLastStoredDate(TICKER)).thenReturn(TO_DATE);
+        when(stockMasterRepository.findByTicker(TICKER)).thenReturn(Optional.of(mock(StockMaster.class)));
+        List<String> stored = new ArrayList<>();
+        for (LocalDate day : marketCalendar.tradingDaysAfter(TARGET.minusDays(61), TARGET)) {
+            String date = day.format(DATE_FORMATTER);
+            if (!date.equals(HOLIDAY)) {
+                stored.add(date);
+            }
+        }
+        when(historicalDataRepository.findDatesByTickerAndDateBetween(TICKER, FROM_DATE, TO_DATE)).thenReturn(stored);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void recordsDateMissingFromKisInRedis() {
+        List<CandleDto> around = List.of(candle("20250610"), candle("20250612"), candle(TO_DATE));
+        when(historicalDataService.getAbsentDailyDates(TICKER, FROM_DATE, TO_DATE)).thenReturn(Set.of());
+        when(historicalDataService.getDailyDataBetween(TICKER, HOLIDAY, TO_DATE)).thenReturn(around);
+        when(stockChartService.refreshDailyTail(eq(TICKER), anyInt())).thenReturn(around);
+
+        Map<String, Object> result = service.refreshAll();
+
+        assertThat(result.get("failedTickers")).isEqualTo(0);
+        verify(historicalDataService).addAbsentDailyDates(TICKER, Set.of(HOLIDAY), FROM_DATE, 60L);
+    }
+
+    @Test
+    void skipsDateRecordedAsMissingFromKis() {
+        // 재시작 후에도 Redis에 남은 기록으로 KIS를 다시 조회하지 않음
+        when(historicalDataService.getAbsentDailyDates(TICKER, FROM_DATE, TO_DATE)).thenReturn(Set.of(HOLIDAY));
+
+        Map<String, Object> result = service.refreshAll();
+
+        assertThat(result.get("failedTickers")).isEqualTo(0);
+        verify(stockChartService, never()).refreshDailyTail(anyString(), anyInt());
+        verify(historicalDataService, never()).getDailyDataBetween(anyString(), anyString(), anyString());
+        verify(historicalDataRepository, never()).saveAll(anyList());
+    }
+
+    private static CandleDto candle(String date) {
+        return CandleDto.builder().date(date).open(100).high(110).low(90).close(105).volume(1000).ticker(TICKER).build();
+    }
+}
@@ -0,0 +1,183 @@
+package com.hanapath.backend.stock.service;
+
+import com.hanapath.backend.stock.dto.CandleSeries;
+import com.hanapath.backend.stock.dto.IndicatorSeriesDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 이어서 계산한 보조지표가 처음부터 다시 계산한 값과 정확히 같은지 검증
+ */
+class IndicatorServiceTest {
+
+    private static final String TICKER = "005930";
+    private static final List<String> SPECS = List.of(
+            "sma:20", "ema:12", "rsi:14", "macd:12:26:9", "bb:20:2", "vma:20", "vwap:20");
+
+    private final StockHistoricalDataService historicalDataService = mock(StockHistoricalDataService.class);
+    private final IndicatorService incremental =
+            new IndicatorService(historicalDataService, mock(StockChartService.class), 64L << 20);
+
+    @Test
+    void appendedCandlesMatchFullRecompute() {
+        Columns columns = Columns.random(320, 1);
+
+        IndicatorSeriesDto first = compute(incremental, columns.series(300));
+        assertThat(first.getIndicators()).isEqualTo(fullRecompute(columns.series(300)).getIndicators());
+
+        IndicatorSeriesDto appended = compute(incremental, columns.series(320));
+        assertThat(appended.getIndicators()).isEqualTo(fullRecompute(columns.series(320)).getIndicators());
+    }
+
+    @Test
+    void singleAppendsWithRevisedLastCandleMatchFullRecompute() {
+        Columns columns = Columns.random(300, 2);
+        Random random = new Random(3);
+
+        for (int size = 200; size <= 300; size++) {
+            CandleSeries series = columns.series(size);
+            assertThat(compute(incremental, series).getIndicators())
+                    .isEqualTo(fullRecompute(series).getIndicators());
+
+            // 장중에 마지막 캔들이 바뀌는 경우
+            columns.revise(size - 1, random);
+            CandleSeries revised = columns.series(size);
+            assertThat(compute(incremental, revised).getIndicators())
+                    .isEqualTo(fullRecompute(revised).getIndicators());
+        }
+    }
+
+    @Test
+    void revisedConfirmedCandleTriggersFullRecompute() {
+        Columns columns = Columns.random(300, 4);
+        compute(incremental, columns.series(290));
+
+        // 확정 구간의 마지막 캔들(장중 값으로 확정된 뒤 종가로 바뀐 경우)
+        columns.revise(288, new Random(5));
+        CandleSeries series = columns.series(300);
+        assertThat(compute(incremental, series).getIndicators())
+                .isEqualTo(fullRecompute(series).getIndicators());
+    }
+
+    @Test
+    void shiftedStartTriggersFullRecompute() {
+        Columns columns = Columns.random(300, 6);
+        compute(incremental, columns.series(250));
+
+        CandleSeries shifted = columns.series(10, 300);
+        assertThat(compute(incremental, shifted).getIndicators())
+                .isEqualTo(fullRecompute(shifted).getIndicators());
+    }
+
+    @Test
+    void vwapMatchesDirectWindowSum() {
+        Columns columns = Columns.random(300, 7);
+        CandleSeries series = columns.series(300);
+        List<Double> vwap = fullRecompute(series).getIndicators().get("vwap:20").get("value");
+
+        for (int end = 19; end < series.size(); end++) {
+            double priceVolume = 0;
+            long volume = 0;
+            for (int i = end - 19; i <= end; i++) {
+                priceVolume += (series.highAt(i) + series.lowAt(i) + series.closeAt(i)) / 3.0 * series.volumeAt(i);
+                volume += series.volumeAt(i);
+            }
+            assertThat(vwap.get(end)).isCloseTo(priceVolume / volume, within(1e-6));
+        }
+        assertThat(vwap.get(18)).isNull();
+    }
+
+    private IndicatorSeriesDto compute(IndicatorService service, CandleSeries series) {
+        when(historicalDataService.getDailySeries(eq(TICKER), anyInt())).thenReturn(series);
+        return service.getIndicators(TICKER, SPECS, series.size());
+    }
+
+    private IndicatorSeriesDto fullRecompute(CandleSeries series) {
+        StockHistoricalDataService source = mock(StockHistoricalDataService.class);
+        when(source.getDailySeries(eq(TICKER), anyInt())).thenReturn(series);
+        IndicatorService fresh = new IndicatorService(source, mock(StockChartService.class), 64L << 20);
+        IndicatorSeriesDto result = fresh.getIndicators(TICKER, SPECS, series.size());
+        assertThat(result.getIndicators()).hasSize(SPECS.size());
+        for (Map<String, List<Double>> lines : result.getIndicators().values()) {
+            lines.values().forEach(values -> assertThat(values).hasSize(series.size()));
+        }
+        return result;
+    }
+
+    /**
+     * 무작위 일봉 컬럼 (가격은 이전 종가 근처에서 움직임)
+     */
+    private static final class Columns {
+        private final int[] dates;
+        private final int[] opens;
+        private final int[] highs;
+        private final int[] lows;
+        private final int[] closes;
+        private final long[] volumes;
+
+        private Columns(int size) {
+            dates = new int[size];
+            opens = new int[size];
+            highs = new int[size];
+            lows = new int[size];
+            closes = new int[size];
+            volumes = new long[size];
+        }
+
+        private static Columns random(int size, long seed) {
+            Random random = new Random(seed);
+            Columns columns = new Columns(size);
+            LocalDate date = LocalDate.of(2020, 1, 2);
+            int close = 70_000;
+            for (int i = 0; i < size; i++) {
+                columns.dates[i] = Integer.parseInt(date.format(DateTimeFormatter.BASIC_ISO_DATE));
+                date = date.plusDays(1);
+                close = Math.max(1_000, close + (random.nextInt(41) - 20) * 100);
+                columns.closes[i] = close;
+                columns.set(i, random);
+            }
+            return columns;
+        }
+
+        private void revise(int index, Random random) {
+            closes[index] = Math.max(1_000, closes[index] + (random.nextInt(11) - 5) * 100);
+            set(index, random);
+        }
+
+        private void set(int index, Random random) {
+            int close = closes[index];
+            opens[index] = close + (random.nextInt(21) - 10) * 100;
+            highs[index] = Math.max(opens[index], close) + random.nextInt(10) * 100;
+            lows[index] = Math.min(opens[index], close) - random.nextInt(10) * 100;
+            volumes[index] = 5_000_000L + random.nextInt(20_000_000);
+        }
+
+        private CandleSeries series(int size) {
+            return series(0, size);
+        }
+
+        private CandleSeries series(int from, int to) {
+            return CandleSeries.of(TICKER,
+                    Arrays.copyOfRange(dates, from, to),
+                    Arrays.copyOfRange(opens, from, to),
+                    Arrays.copyOfRange(highs, from, to),
+                    Arrays.copyOfRange(lows, from, to),
+                    Arrays.copyOfRange(closes, from, to),
+                    Arrays.copyOfRange(volumes, from, to),
+                    to - from);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.hanapath.backend.stock.service;
+
+import com.hanapath.backend.stock.dto.CandleDto;
+import com.hanapath.backend.stock.dto.StockInfoDto;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * KisChartClient를 로컬 스텁 HTTP 서버(녹화한 KIS 응답 재생)에 붙여 검증
+ */
+class KisChartClientTest {
+
+    private static final String TOKEN_PATH = "/oauth2/tokenP";
+    private static final String CHART_PATH = "/uapi/domestic-stock/v1/quotations/inquire-daily-itemchartprice";
+    private static final String PRICE_PATH = "/uapi/domestic-stock/v1/quotations/inquire-price";
+
+    private HttpServer server;
+    private KisChartClient client;
+
+    // 경로별 재생할 응답 (앞에서부터 하나씩 사용)
+    private final Map<String, Deque<StubResponse>> responses = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> queries = new ConcurrentHashMap<>();
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(TOKEN_PATH, exchange -> {
+            tokenRequests.incrementAndGet();
+            respond(exchange, 200, recorded("token.json"));
+        });
+        server.createContext(CHART_PATH, this::replay);
+        server.createContext(PRICE_PATH, this::replay);
+        server.start();
+
+        KisRateLimiter rateLimiter = new KisRateLimiter("live", 1000, 0);
+        client = new KisChartClient(rateLimiter, "mock", "test-app-key", "test-app-secret", 3000, 9000,
+                "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void fetchCandlesPagesBackwardsUntilShortPage() {
+        enqueue(CHART_PATH, 200, recorded("daily-005930-page1.json"));
+        enqueue(CHART_PATH, 200, recorded("daily-005930-page2.json"));
+
+        List<CandleDto> candles = client.fetchCandles("005930", "D",
+                LocalDate.of(2024, 12, 1), LocalDate.of(2025, 6, 27)).block();
+
+        assertThat(candles).hasSize(140);
+        assertThat(candles.get(0).getDate()).isEqualTo("20241216");
+        assertThat(candles.get(candles.size() - 1).getDate()).isEqualTo("20250627");
+        assertThat(candles).isSortedAccordingTo((a, b) -> a.getDate().compareTo(b.getDate()));
+
+        CandleDto latest = candles.get(candles.size() - 1);
+        assertThat(latest.getTicker()).isEqualTo("005930");
+        assertThat(latest.getClose()).isEqualTo(71500);
+        assertThat(latest.getVolume()).isPositive();
+
+        // 두 번째 페이지는 첫 페이지의 가장 오래된 날짜 전날까지 요청
+        List<String> chartQueries = queries.get(CHART_PATH);
+        assertThat(chartQueries).hasSize(2);
+        assertThat(chartQueries.get(0)).contains("fid_input_date_1=20241201", "fid_input_date_2=20250627");
+        assertThat(chartQueries.get(1)).contains("fid_input_date_2=20250209");
+    }
+
+    @Test
+    void errorResponseMidPagingKeepsFetchedPages() {
+        enqueue(CHART_PATH, 200, recorded("daily-005930-page1.json"));
+        enqueue(CHART_PATH, 200, recorded("rate-limited.json"));
+
+        List<CandleDto> candles = client.fetchCandles("005930", "D",
+                LocalDate.of(2024, 12, 1), LocalDate.of(2025, 6, 27)).block();
+
+        assertThat(candles).hasSize(100);
+        assertThat(candles.get(0).getDate()).isEqualTo("20250210");
+        assertThat(candles.get(candles.size() - 1).getDate()).isEqualTo("20250627");
+    }
+
+    @Test
+    void httpFailureMidPagingKeepsFetchedPages() {
+        enqueue(CHART_PATH, 200, recorded("daily-005930-page1.json"));
+        enqueue(CHART_PATH, 500, "{}");
+
+        List<CandleDto> candles = client.fetchCandles("005930", "D",
+                LocalDate.of(2024, 12, 1), LocalDate.of(2025, 6, 27)).block();
+
+        assertThat(candles).hasSize(100);
+    }
+
+    @Test
+    void pagingPastChartTimeoutKeepsFetchedPages() {
+        // 페이지마다는 요청 제한(3초) 안에 오지만 전체 페이징이 chartTimeout을 넘김
+        KisChartClient shortDeadline = new KisChartClient(new KisRateLimiter("live", 1000, 0), "mock",
+                "test-app-key", "test-app-secret", 3000, 500, "http://127.0.0.1:" + server.getAddress().getPort());
+        enqueue(CHART_PATH, 200, recorded("daily-005930-page1.json"));
+        enqueue(CHART_PATH, 200, recorded("daily-005930-page2.json"), 1500);
+
+        List<CandleDto> candles = shortDeadline.fetchCandles("005930", "D",
+                LocalDate.of(2024, 12, 1), LocalDate.of(2025, 6, 27)).block();
+
+        assertThat(candles).hasSize(100);
+        assertThat(candles.get(0).getDate()).isEqualTo("20250210");
+    }
+
+    @Test
+    void errorResponseOnFirstPageReturnsEmpty() {
+        enqueue(CHART_PATH, 200, recorded("rate-limited.json"));
+
+        List<CandleDto> candles = client.fetchCandles("005930", "D",
+                LocalDate.of(2024, 12, 1), LocalDate.of(2025, 6, 27)).block();
+
+        assertThat(candles).isEmpty();
+    }
+
+    @Test
+    void accessTokenIsIssuedOnceAndReused() {
+        enqueue(CHART_PATH, 200, recorded("daily-005930-page2.json"));
+        enqueue(PRICE_PATH, 200, recorded("inquire-price-005930.json"));
+
+        client.fetchCandles("005930", "D", LocalDate.of(2024, 12, 1), LocalDate.of(2025, 2, 7)).block();
+        client.getStockInfo("005930");
+
+        assertThat(tokenRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getStockInfoParsesInquirePrice() {
+        enqueue(PRICE_PATH, 200, recorded("inquire-price-005930.json"));
+
+        StockInfoDto info = client.getStockInfo("005930");
+
+        assertThat(info).isNotNull();
+        assertThat(info.getName()).isEqualTo("삼성전자");
+        assertThat(info.getCurrentPrice()).isEqualTo(71500);
+        assertThat(info.getChangeRate()).isEqualTo(0.42);
+        assertThat(info.getVolume()).isEqualTo(12_345_678L);
+        assertThat(info.getMarketCap()).isEqualTo(4_268_412L * 1_000_000L);
+        assertThat(info.getEps()).isEqualTo(4993);
+        assertThat(info.getSector()).isEqualTo("전기·전자");
+        assertThat(queries.get(PRICE_PATH).get(0)).contains("fid_input_iscd=005930");
+    }
+
+    @Test
+    void getStockInfoReturnsNullOnErrorResponse() {
+        enqueue(PRICE_PATH, 200, recorded("rate-limited.json"));
+
+        assertThat(client.getStockInfo("005930")).isNull();
+    }
+
+    private void replay(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        queries.computeIfAbsent(path, k -> Collections.synchronizedList(new ArrayList<>()))
+                .add(exchange.getRequestURI().getRawQuery());
+        Deque<StubResponse> queue = responses.get(path);
+        StubResponse response = queue != null ? queue.pollFirst() : null;
+        if (response == null) {
+            respond(exchange, 404, "{}");
+            return;
+        }
+        if (response.delayMs() > 0) {
+            try {
+                Thread.sleep(response.delayMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        respond(exchange, response.status(), response.body());
+    }
+
+    private void enqueue(String path, int status, String body) {
+        enqueue(path, status, body, 0);
+    }
+
+    private void enqueue(String path, int status, String body, long delayMs) {
+        responses.computeIfAbsent(path, k -> new ConcurrentLinkedDeque<>()).addLast(new StubResponse(status, body, delayMs));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String recorded(String name) {
+        try (InputStream in = KisChartClientTest.class.getResourceAsStream("/kis/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("녹화 응답 없음: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record StubResponse(int status, String body, long delayMs) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.hanapath.backend.stock.service;
+
+import com.hanapath.backend.notification.dto.NotificationDto;
+import com.hanapath.backend.notification.service.NotificationService;
+import com.hanapath.backend.stock.dto.PriceAlertDto;
+import com.hanapath.backend.stock.dto.TradeExecutionDto;
+import com.hanapath.backend.stock.entity.PriceAlert;
+import com.hanapath.backend.stock.publisher.StockRealtimePublisher;
+import com.hanapath.backend.stock.repository.PriceAlertRepository;
+import com.hanapath.backend.users.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 가격 알림 발생 처리가 알림 수와 상관없이 UPDATE/저장을 묶어서 하는지 검증
+ */
+class PriceAlertServiceTest {
+
+    private static final String TICKER = "005930";
+
+    private final PriceAlertRepository priceAlertRepository = mock(PriceAlertRepository.class);
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final StockRealtimePublisher publisher = mock(StockRealtimePublisher.class);
+    private final PriceAlertService service = new PriceAlertService(priceAlertRepository, mock(UserRepository.class),
+            notificationService, publisher, mock(StockSearchService.class), mock(StockInfoService.class), 50);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void firedAlertsAreMarkedAndSavedInOneBatch() {
+        load(2500);
+        when(priceAlertRepository.markTriggered(anyCollection(), eq(71000), any()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).size());
+        stubNotifications();
+
+        service.onExecution(execution(71000));
+
+        // 1000건씩 3번
+        verify(priceAlertRepository, timeout(2000).times(3)).markTriggered(anyCollection(), eq(71000), any());
+        verify(notificationService, timeout(2000).times(3)).createNotifications(anyList());
+        verify(publisher, timeout(2000).times(2500)).sendAlert(anyLong(), any(PriceAlertDto.Triggered.class));
+        verify(priceAlertRepository, never()).findIdsTriggeredAt(anyCollection(), any());
+    }
+
+    @Test
+    void onlyAlertsStillActiveAreDelivered() {
+        load(3);
+        when(priceAlertRepository.markTriggered(anyCollection(), eq(71000), any())).thenReturn(2);
+        // 2번 알림은 fire 이후 삭제됨
+        when(priceAlertRepository.findIdsTriggeredAt(anyCollection(), any())).thenReturn(List.of(1L, 3L));
+        stubNotifications();
+
+        service.onExecution(execution(71000));
+
+        ArgumentCaptor<PriceAlertDto.Triggered> sent = ArgumentCaptor.forClass(PriceAlertDto.Triggered.class);
+        verify(publisher, timeout(2000).times(2)).sendAlert(anyLong(), sent.capture());
+        assertThat(sent.getAllValues()).extracting(PriceAlertDto.Triggered::getAlertId).containsExactly(1L, 3L);
+        assertThat(sent.getAllValues()).extracting(PriceAlertDto.Triggered::getNotificationId)
+                .containsExactly(1001L, 1003L);
+        verify(priceAlertRepository, times(1)).markTriggered(anyCollection(), eq(71000), any());
+    }
+
+    private void load(int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            rows.add(new Object[]{id, 100 + id, TICKER, PriceAlert.Direction.ABOVE, 70000});
+        }
+        when(priceAlertRepository.findActiveAlertRows()).thenReturn(rows);
+        service.loadActiveAlerts();
+    }
+
+    private void stubNotifications() {
+        when(notificationService.priceAlertNotification(anyLong(), anyLong(), anyString(), anyString(),
+                anyBoolean(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> NotificationDto.CreateDto.builder()
+                        .userId(invocation.getArgument(0))
+                        .relatedData(String.valueOf(invocation.<Long>getArgument(1)))
+                        .build());
+        when(notificationService.createNotifications(anyList())).thenAnswer(invocation ->
+                invocation.<List<NotificationDto.CreateDto>>getArgument(0).stream()
+                        .map(dto -> NotificationDto.ResponseDto.builder()
+                                .id(1000 + Long.parseLong(dto.getRelatedData()))
+                                .build())
+                        .collect(Collectors.toList()));
+    }
+
+    private static TradeExecutionDto execution(int price) {
+        return TradeExecutionDto.builder()
+                .ticker(TICKER)
+                .price(price)
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.hanapath.backend.stock.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hanapath.backend.stock.publisher.StockRealtimePublisher;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 실시간 배치 응답(ackSeq) 검증
+ */
+class RealtimeIngestServiceTest {
+
+    private final RealtimeIngestService service = new RealtimeIngestService(mock(StockRealtimePublisher.class),
+            mock(ActiveSubscriptionService.class), mock(StockTickStoreService.class),
+            mock(IntradayBarAggregator.class), mock(MarketSnapshotService.class), mock(StockRankingService.class),
+            mock(PriceAlertService.class), new ObjectMapper());
+
+    @Test
+    void ackSeqCoversAllEventsWhenNoneRejected() {
+        Map<String, Object> ack = service.ingestBatch(String.join("\n",
+                summary(1), summary(2), summary(3)));
+
+        assertThat(ack.get("ackSeq")).isEqualTo(3L);
+        assertThat(ack.get("accepted")).isEqualTo(3);
+        assertThat(ack.get("rejectedSeqs")).isEqualTo(List.of());
+    }
+
+    @Test
+    void ackSeqStopsBeforeFirstRejectedEvent() {
+        Map<String, Object> ack = service.ingestBatch(String.join("\n",
+                summary(1), summary(2), "{\"seq\":3,\"type\":\"unknown\",\"data\":{}}", summary(4),
+                "{\"seq\":5,\"type\":\"summary\"}", summary(6)));
+
+        // 거절 이후 이벤트도 처리하지만 ackSeq는 2에서 멈춤
+        assertThat(ack.get("ackSeq")).isEqualTo(2L);
+        assertThat(ack.get("accepted")).isEqualTo(4);
+        assertThat(ack.get("rejected")).isEqualTo(2);
+        assertThat(ack.get("rejectedSeqs")).isEqualTo(List.of(3L, 5L));
+    }
+
+    @Test
+    void firstEventRejectedLeavesNothingAcked() {
+        Map<String, Object> ack = service.ingestBatch(
+                "[{\"seq\":7,\"type\":\"detail\"}," + summary(8) + "]");
+
+        assertThat(ack.get("ackSeq")).isEqualTo(-1L);
+        assertThat(ack.get("accepted")).isEqualTo(1);
+        assertThat(ack.get("rejectedSeqs")).isEqualTo(List.of(7L));
+    }
+
+    private static String summary(long seq) {
+        return "{\"seq\":" + seq + ",\"type\":\"summary\",\"data\":{\"ticker\":\"005930\",\"price\":71500}}";
+    }
+}
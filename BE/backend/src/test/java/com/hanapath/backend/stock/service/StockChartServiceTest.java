@@ -0,0 +1,144 @@
+package com.hanapath.backend.stock.service;
+
+import com.hanapath.backend.stock.dto.CandleDto;
+import com.hanapath.backend.stock.util.CandleResampler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 같은 종목 공유 조회(fetchShared) 검증
+ */
+class StockChartServiceTest {
+
+    private static final String TICKER = "005930";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final StockHistoricalDataService historicalDataService = mock(StockHistoricalDataService.class);
+    private final KisChartClient kisChartClient = mock(KisChartClient.class);
+    private StockChartService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StockChartService(historicalDataService, mock(KisChartWorkerPool.class), kisChartClient,
+                mock(CandleResampler.class), mock(KisRateLimiter.class), mock(StockPopularityService.class),
+                mock(StockInfoService.class));
+        ReflectionTestUtils.setField(service, "fetchWaitMs", 5000L);
+        when(kisChartClient.isConfigured()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void longerRequestWaitingOnShortRefreshFetchesAfterIt() throws Exception {
+        // 캐시는 30건뿐이고 마지막 캔들이 어제 → 30일 조회는 7일 백그라운드 갱신을 시작
+        List<CandleDto> cached = candles(30);
+        when(historicalDataService.getDailyData(TICKER, 30)).thenReturn(cached);
+        when(historicalDataService.getDailyData(TICKER, 365)).thenReturn(cached);
+
+        CountDownLatch releaseShort = new CountDownLatch(1);
+        when(kisChartClient.getChartData(eq(TICKER), eq("daily"), eq(7))).thenAnswer(invocation -> {
+            releaseShort.await(5, TimeUnit.SECONDS);
+            return candles(7);
+        });
+        List<CandleDto> year = candles(250);
+        when(kisChartClient.getChartData(eq(TICKER), eq("daily"), eq(365))).thenReturn(year);
+
+        assertThat(service.getDailyChart(TICKER, 30)).hasSize(30);
+        verify(kisChartClient, timeout(1000)).getChartData(TICKER, "daily", 7);
+
+        // 7일 조회가 진행 중일 때 1년 조회가 들어와 그 뒤에 이어짐
+        CompletableFuture<List<CandleDto>> longRequest =
+                CompletableFuture.supplyAsync(() -> service.getDailyChart(TICKER, 365));
+        verify(historicalDataService, timeout(1000)).getDailyData(TICKER, 365);
+        Thread.sleep(100);
+        releaseShort.countDown();
+
+        assertThat(longRequest.get(5, TimeUnit.SECONDS)).isEqualTo(year);
+        verify(kisChartClient, timeout(1000)).getChartData(TICKER, "daily", 365);
+    }
+
+    @Test
+    void concurrentRequestsWithinPeriodShareOneFetch() throws Exception {
+        when(historicalDataService.getDailyData(eq(TICKER), anyInt()))
+                .thenReturn(List.of());
+        CountDownLatch release = new CountDownLatch(1);
+        List<CandleDto> year = candles(250);
+        when(kisChartClient.getChartData(anyString(), eq("daily"), eq(365))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return year;
+        });
+
+        CompletableFuture<List<CandleDto>> first =
+                CompletableFuture.supplyAsync(() -> service.getDailyChart(TICKER, 365));
+        verify(kisChartClient, timeout(1000)).getChartData(TICKER, "daily", 365);
+        CompletableFuture<List<CandleDto>> second =
+                CompletableFuture.supplyAsync(() -> service.getDailyChart(TICKER, 200));
+        verify(historicalDataService, timeout(1000)).getDailyData(TICKER, 200);
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(year);
+        assertThat(second.get(5, TimeUnit.SECONDS)).hasSize(200);
+        verify(kisChartClient, timeout(1000).times(1)).getChartData(TICKER, "daily", 365);
+    }
+
+    @Test
+    void prefetchSkipsTickerCachedForCalendarPeriod() {
+        // 3년(1095일)은 거래일로 약 740건
+        when(historicalDataService.getDailyData(TICKER, 1095)).thenReturn(candles(740));
+
+        CompletableFuture<List<CandleDto>> future = service.prefetchDaily(TICKER, 1095);
+
+        assertThat(future).isCompleted();
+        verify(kisChartClient, never()).getChartData(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    void prefetchFetchesWhenCacheIsShort() {
+        when(historicalDataService.getDailyData(TICKER, 1095)).thenReturn(candles(100));
+        when(kisChartClient.getChartData(TICKER, "daily", 1095)).thenReturn(candles(740));
+
+        assertThat(service.prefetchDaily(TICKER, 1095).join()).hasSize(740);
+    }
+
+    private static List<CandleDto> candles(int count) {
+        LocalDate yesterday = LocalDate.now(ZoneId.of("Asia/Seoul")).minusDays(1);
+        List<CandleDto> candles = new ArrayList<>();
+        for (int i = count - 1; i >= 0; i--) {
+            candles.add(CandleDto.builder()
+                    .ticker(TICKER)
+                    .date(yesterday.minusDays(i).format(DATE_FORMATTER))
+                    .open(70000)
+                    .high(70500)
+                    .low(69500)
+                    .close(70000)
+                    .volume(1000L)
+                    .build());
+        }
+        return candles;
+    }
+}
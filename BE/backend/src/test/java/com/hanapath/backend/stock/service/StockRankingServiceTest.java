@@ -0,0 +1,72 @@
+package com.hanapath.backend.stock.service;
+
+import com.hanapath.backend.stock.dto.RealtimeStockDto;
+import com.hanapath.backend.stock.dto.StockRankingItemDto;
+import com.hanapath.backend.stock.publisher.StockRealtimePublisher;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 거래대금 순위의 누적 거래대금 계산 검증
+ */
+class StockRankingServiceTest {
+
+    private final StockRankingService service =
+            new StockRankingService(mock(StockRealtimePublisher.class), mock(StockSearchService.class), 30);
+
+    @Test
+    void usesReportedTradingValue() {
+        service.update(quote("005930", 70000, 1_000L, 71_234_000L));
+        service.update(quote("005930", 72000, 1_500L, 107_500_000L));
+
+        assertThat(value("005930").getTradingValue()).isEqualTo(107_500_000L);
+    }
+
+    @Test
+    void estimatesTradingValueFromVolumeIncrements() {
+        service.update(quote("005930", 70000, 1_000L, null));
+        service.update(quote("005930", 72000, 1_500L, null));
+        service.update(quote("005930", 71000, 1_600L, null));
+
+        // 70000 × 1000 + 72000 × 500 + 71000 × 100
+        assertThat(value("005930").getTradingValue()).isEqualTo(113_100_000L);
+        assertThat(value("005930").getVolume()).isEqualTo(1_600L);
+    }
+
+    @Test
+    void orderbookUpdateWithoutVolumeKeepsAccumulatedValues() {
+        service.update(quote("005930", 70000, 1_000L, null));
+        service.update(quote("005930", 70100, 0L, null));
+
+        StockRankingItemDto item = value("005930");
+        assertThat(item.getVolume()).isEqualTo(1_000L);
+        assertThat(item.getTradingValue()).isEqualTo(70_000_000L);
+    }
+
+    @Test
+    void restartsEstimateWhenVolumeResets() {
+        service.update(quote("005930", 70000, 5_000L, null));
+        service.update(quote("005930", 71000, 10L, null));
+
+        assertThat(value("005930").getTradingValue()).isEqualTo(710_000L);
+    }
+
+    private StockRankingItemDto value(String ticker) {
+        return service.getRanking("value", 10).getItems().stream()
+                .filter(item -> ticker.equals(item.getTicker()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static RealtimeStockDto quote(String ticker, int price, long volume, Long tradingValue) {
+        return RealtimeStockDto.builder()
+                .ticker(ticker)
+                .stockName("삼성전자")
+                .price(price)
+                .volume(volume)
+                .tradingValue(tradingValue)
+                .build();
+    }
+}
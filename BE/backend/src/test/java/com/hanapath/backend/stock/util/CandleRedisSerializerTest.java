@@ -0,0 +1,175 @@
+package com.hanapath.backend.stock.util;
+
+import com.hanapath.backend.stock.dto.CandleDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 캔들 바이너리 인코딩 왕복 및 잘못된 입력 처리 검증
+ */
+class CandleRedisSerializerTest {
+
+    private final CandleRedisSerializer serializer = new CandleRedisSerializer();
+
+    @Test
+    void roundTripsDailyCandle() {
+        CandleDto candle = candle("20250627", null, 71000, 72300, 70800, 71500, 12_345_678L);
+
+        CandleDto restored = roundTrip(candle);
+
+        assertSameCandle(restored, candle);
+        assertThat(restored.getTime()).isEmpty();
+        assertThat(restored.getTicker()).isNull();
+    }
+
+    @Test
+    void roundTripsMinuteCandleKeepingLeadingZeros() {
+        CandleDto candle = candle("20250627", "090100", 71000, 71100, 70900, 71050, 3_000L);
+
+        assertThat(roundTrip(candle).getTime()).isEqualTo("090100");
+        assertSameCandle(roundTrip(candle), candle);
+    }
+
+    @Test
+    void roundTripsEdgeVolumes() {
+        for (long volume : List.of(0L, 1L, -1L, -12_345L, Long.MAX_VALUE, Long.MIN_VALUE)) {
+            CandleDto candle = candle("20250627", null, 100, 110, 90, 105, volume);
+            assertThat(roundTrip(candle).getVolume()).as("volume %d", volume).isEqualTo(volume);
+        }
+    }
+
+    @Test
+    void roundTripsExtremePrices() {
+        CandleDto wide = candle("20250627", "153000",
+                Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE, 1L);
+        assertSameCandle(roundTrip(wide), wide);
+
+        CandleDto negative = candle("20250627", null, -500, 0, -1_000, -750, 10L);
+        assertSameCandle(roundTrip(negative), negative);
+
+        CandleDto zero = candle("20250627", null, 0, 0, 0, 0, 0L);
+        assertSameCandle(roundTrip(zero), zero);
+    }
+
+    @Test
+    void roundTripsDatesBeforeEpoch() {
+        CandleDto candle = candle("19691231", null, 1, 1, 1, 1, 1L);
+        assertThat(roundTrip(candle).getDate()).isEqualTo("19691231");
+    }
+
+    @Test
+    void roundTripsSeries() {
+        List<CandleDto> series = List.of(
+                candle("20250625", null, 70000, 70500, 69500, 70200, 10_000_000L),
+                candle("20250626", null, 70200, 71200, 70100, 71000, 11_000_000L),
+                candle("20250627", null, 71000, 72300, 70800, 71500, 12_345_678L));
+
+        List<CandleDto> restored = series.stream().map(this::roundTrip).toList();
+
+        assertThat(restored).hasSameSizeAs(series);
+        for (int i = 0; i < series.size(); i++) {
+            assertSameCandle(restored.get(i), series.get(i));
+        }
+        assertThat(List.<CandleDto>of().stream().map(this::roundTrip).toList()).isEmpty();
+    }
+
+    @Test
+    void binaryIsSmallerThanJson() {
+        CandleDto candle = candle("20250627", "090100", 71000, 72300, 70800, 71500, 12_345_678L);
+
+        byte[] json = new GenericJackson2JsonRedisSerializer().serialize(candle);
+
+        assertThat(serializer.serialize(candle).length).isLessThan(json.length / 4);
+    }
+
+    @Test
+    void rejectsMalformedDate() {
+        for (String date : List.of("2025-06-27", "20251327", "2025062")) {
+            assertThatThrownBy(() -> serializer.serialize(candle(date, null, 1, 1, 1, 1, 1L)))
+                    .as(date)
+                    .isInstanceOf(SerializationException.class);
+        }
+    }
+
+    @Test
+    void nullAndEmptyInput() {
+        assertThat(serializer.serialize(null)).isEmpty();
+        assertThat(serializer.deserialize(null)).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+    }
+
+    @Test
+    void readsLegacyJsonMember() {
+        byte[] json = ("{\"date\":\"20250627\",\"time\":\"\",\"open\":71000,\"high\":72300,"
+                + "\"low\":70800,\"close\":71500,\"volume\":12345678,\"ticker\":\"005930\"}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        CandleDto restored = serializer.deserialize(json);
+
+        assertSameCandle(restored, candle("20250627", "", 71000, 72300, 70800, 71500, 12_345_678L));
+        assertThat(restored.getTicker()).isEqualTo("005930");
+    }
+
+    @Test
+    void rejectsMalformedLegacyJson() {
+        assertThatThrownBy(() -> serializer.deserialize("{\"date\":".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] encoded = serializer.serialize(candle("20250627", null, 1, 1, 1, 1, 1L));
+        encoded[0] = 2;
+
+        assertThatThrownBy(() -> serializer.deserialize(encoded))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void rejectsTruncatedInput() {
+        byte[] encoded = serializer.serialize(candle("20250627", "090100", 71000, 72300, 70800, 71500, 12_345_678L));
+
+        for (int length = 1; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThatThrownBy(() -> serializer.deserialize(truncated))
+                    .as("length %d", length)
+                    .isInstanceOf(SerializationException.class);
+        }
+    }
+
+    private CandleDto roundTrip(CandleDto candle) {
+        return serializer.deserialize(serializer.serialize(candle));
+    }
+
+    private static void assertSameCandle(CandleDto actual, CandleDto expected) {
+        assertThat(actual.getDate()).isEqualTo(expected.getDate());
+        assertThat(actual.getOpen()).isEqualTo(expected.getOpen());
+        assertThat(actual.getHigh()).isEqualTo(expected.getHigh());
+        assertThat(actual.getLow()).isEqualTo(expected.getLow());
+        assertThat(actual.getClose()).isEqualTo(expected.getClose());
+        assertThat(actual.getVolume()).isEqualTo(expected.getVolume());
+        if (expected.getTime() != null && !expected.getTime().isEmpty()) {
+            assertThat(actual.getTime()).isEqualTo(expected.getTime());
+        }
+    }
+
+    private static CandleDto candle(String date, String time, int open, int high, int low, int close, long volume) {
+        return CandleDto.builder()
+                .date(date)
+                .time(time)
+                .open(open)
+                .high(high)
+                .low(low)
+                .close(close)
+                .volume(volume)
+                .build();
+    }
+}
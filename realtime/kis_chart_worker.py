@@ -0,0 +1,59 @@
+import sys
+import json
+
+# 백엔드 워커 풀과 통신하는 채널(stdout)을 따로 보관하고,
+# kis_chart_api 모듈의 print 로그는 stderr로 보낸다
+_protocol_out = sys.stdout
+sys.stdout = sys.stderr
+
+from kis_chart_api import get_chart_data, get_stock_info
+
+
+def write_response(request_id, ok, data=None, error=None):
+    """요청 ID와 함께 한 줄 JSON 응답 출력"""
+    response = {"id": request_id, "ok": ok, "data": data}
+    if error:
+        response["error"] = error
+    _protocol_out.write(json.dumps(response, ensure_ascii=False) + "\n")
+    _protocol_out.flush()
+
+
+def handle_request(request):
+    op = request.get("op")
+
+    if op == "ping":
+        return "pong"
+    if op == "info":
+        return get_stock_info(request["ticker"])
+    if op == "chart":
+        return get_chart_data(request["ticker"], request.get("chartType", "daily"), int(request.get("period", 30)))
+
+    raise ValueError(f"지원하지 않는 요청: {op}")
+
+
+def main():
+    """
+    상주형 차트 워커
+    - stdin으로 한 줄에 하나씩 JSON 요청을 받고 stdout으로 한 줄 JSON 응답을 돌려준다
+    - 토큰과 조회 캐시는 프로세스가 살아있는 동안 재사용된다
+    """
+    print("KIS 차트 워커 시작")
+    for line in sys.stdin:
+        line = line.strip()
+        if not line:
+            continue
+
+        request_id = None
+        try:
+            request = json.loads(line)
+            request_id = request.get("id")
+            write_response(request_id, True, handle_request(request))
+        except Exception as e:
+            print(f"워커 요청 처리 오류: {e}")
+            write_response(request_id, False, error=str(e))
+
+    print("KIS 차트 워커 종료")
+
+
+if __name__ == "__main__":
+    main()
@@ -2,6 +2,8 @@ import os
 import json
 import time
 import threading
+import itertools
+from collections import deque
 import requests
 import websocket
 from dotenv import load_dotenv
@@ -21,6 +23,11 @@ KIS_ENV = os.getenv("KIS_ENV", "mock").lower()
 # Spring API URLs
 SPRING_POST_URL = os.getenv("SPRING_POST_URL")
 SPRING_EXECUTION_URL = os.getenv("SPRING_EXECUTION_URL")
+# 배치 전송 URL (예: http://localhost:8080/api/stock/realtime/batch), 없으면 건별 전송
+SPRING_BATCH_URL = os.getenv("SPRING_BATCH_URL")
+BATCH_FLUSH_MS = int(os.getenv("SPRING_BATCH_FLUSH_MS", "5"))
+BATCH_MAX_EVENTS = int(os.getenv("SPRING_BATCH_MAX_EVENTS", "500"))
+BATCH_QUEUE_LIMIT = int(os.getenv("SPRING_BATCH_QUEUE_LIMIT", "20000"))
 tickers_env = os.getenv("TICKERS")
 SUBSCRIBED_TICKERS = [t.strip() for t in tickers_env.split(",") if t.strip()]
 
@@ -329,6 +336,13 @@ def safe_int(value, default=0):
     except:
         return default
 
+def safe_long(value, default=0):
+    """안전한 정수 변환 (거래대금처럼 int 범위를 넘는 값용)"""
+    try:
+        return int(str(value).strip())
+    except (TypeError, ValueError):
+        return default
+
 def parse_current_price_data(data_fields, account_type):
     """현재가 데이터 파싱"""
     try:
@@ -339,11 +353,13 @@ def parse_current_price_data(data_fields, account_type):
         ticker = data_fields[0]
         price = safe_int(data_fields[2])
         volume = safe_int(data_fields[13])
+        trading_value = safe_long(data_fields[14])  # 누적 거래대금 (ACML_TR_PBMN)
 
         result = {
             "ticker": ticker,
             "price": price,
             "volume": volume,
+            "tradingValue": trading_value,
             "askPrices": [0] * 10,
             "bidPrices": [0] * 10,
             "timestamp": int(datetime.now().timestamp() * 1000)
@@ -482,6 +498,11 @@ def create_timestamp_from_kis_time(time_str):
 
 def send_to_spring(result, url):
     """Spring 백엔드로 데이터 전송 (항상 전송 - 백엔드에서 필터링)"""
+    if SPRING_BATCH_URL:
+        event_type = "execution" if url == SPRING_EXECUTION_URL else "detail"
+        batch_sender.enqueue(event_type, result)
+        return
+
     try:
         current_time = datetime.now().strftime("%H:%M:%S.%f")[:-3]
         response = requests.post(url, json=result, timeout=5)
@@ -496,6 +517,62 @@ def send_to_spring(result, url):
     except Exception as e:
         print(f"Spring 오류: {result['ticker']} - {str(e)}")
 
+class SpringBatchSender:
+    """이벤트를 모아 몇 ms마다 NDJSON 한 번으로 전송 (keep-alive 세션 재사용)"""
+
+    def __init__(self, url, flush_ms, max_events, queue_limit):
+        self.url = url
+        self.flush_interval = flush_ms / 1000.0
+        self.max_events = max_events
+        self.queue = deque(maxlen=queue_limit)  # 백엔드가 멈추면 오래된 이벤트부터 버림
+        self.seq = itertools.count(1)
+        self.session = requests.Session()
+        self.wakeup = threading.Event()
+        self.last_ack = 0
+
+    def enqueue(self, event_type, data):
+        self.queue.append({"seq": next(self.seq), "type": event_type, "data": data})
+        if len(self.queue) >= self.max_events:
+            self.wakeup.set()
+
+    def run(self):
+        while True:
+            self.wakeup.wait(self.flush_interval)
+            self.wakeup.clear()
+            while self.queue:
+                batch = []
+                while self.queue and len(batch) < self.max_events:
+                    batch.append(self.queue.popleft())
+                self.flush(batch)
+
+    def flush(self, batch):
+        body = "\n".join(json.dumps(event, ensure_ascii=False) for event in batch)
+        for attempt in range(3):
+            try:
+                response = self.session.post(
+                    self.url,
+                    data=body.encode("utf-8"),
+                    headers={"Content-Type": "application/x-ndjson"},
+                    timeout=5,
+                )
+                if response.status_code == 200:
+                    ack = response.json()
+                    # 첫 이벤트부터 거절되면 ackSeq가 -1이므로 이전 값보다 내려가지 않게 함
+                    self.last_ack = max(self.last_ack, ack.get("ackSeq", -1))
+                    if ack.get("rejected"):
+                        print(f"Spring 배치 일부 거절: {ack.get('rejected')}건 "
+                              f"(ackSeq: {self.last_ack}, 거절 seq: {ack.get('rejectedSeqs', [])})")
+                    return
+                print(f"Spring 배치 실패: {len(batch)}건 - {response.status_code}")
+            except requests.exceptions.ConnectionError:
+                print(f"Spring 연결 불가: 배치 {len(batch)}건 - 백엔드 실행 확인 필요")
+            except Exception as e:
+                print(f"Spring 배치 오류: {len(batch)}건 - {str(e)}")
+            time.sleep(0.2 * (attempt + 1))
+        print(f"Spring 배치 {len(batch)}건 전송 포기 (seq {batch[0]['seq']}~{batch[-1]['seq']})")
+
+batch_sender = SpringBatchSender(SPRING_BATCH_URL, BATCH_FLUSH_MS, BATCH_MAX_EVENTS, BATCH_QUEUE_LIMIT) if SPRING_BATCH_URL else None
+
 def on_error_mock(ws, error):
     print("모의 계좌 WebSocket 에러:", error)
 
@@ -533,12 +610,16 @@ def start_websockets():
 
     # WebSocket과 API 서버를 별도 스레드에서 실행
     threading.Thread(target=run_mock, daemon=True).start()
+    if batch_sender:
+        threading.Thread(target=batch_sender.run, daemon=True).start()
     threading.Thread(target=run_api_server, daemon=True).start()
 
 if __name__ == "__main__":
     print("KIS 동적 구독 시스템 시작")
     print("=" * 60)
     print(f"Spring 백엔드: {SPRING_POST_URL}")  
+    if SPRING_BATCH_URL:
+        print(f"Spring 배치 전송: {SPRING_BATCH_URL} ({BATCH_FLUSH_MS}ms 간격)")
     print(f"Python API")
     print(f"KIS Key: {APP_KEY[:10]}...")
     print("동적 구독: 종목 클릭 시에만 구독")